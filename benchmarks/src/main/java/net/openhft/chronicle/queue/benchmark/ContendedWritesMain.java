@@ -0,0 +1,76 @@
+package net.openhft.chronicle.queue.benchmark;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.core.util.Histogram;
+import net.openhft.chronicle.core.util.Time;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import net.openhft.chronicle.queue.impl.single.StagingAppender;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static net.openhft.chronicle.queue.benchmark.Main.*;
+
+/**
+ * Many threads writing to the same queue, either each with its own appender contending on the write lock,
+ * or via the shared {@link StagingAppender} when run with -Dstaged=true
+ */
+public class ContendedWritesMain {
+    static final boolean STAGED = Jvm.getBoolean("staged");
+    static final long STAGING_CAPACITY = Long.getLong("stagingCapacity", 16L << 20);
+
+    public static void main(String[] args) {
+        System.out.println("Testing with " +
+                "-Dtime=" + time + " " +
+                "-Dthreads=" + threads + " " +
+                "-Dsize=" + size + " " +
+                "-Dpath=" + path + " " +
+                "-Dstaged=" + STAGED + " " +
+                "-DstagingCapacity=" + STAGING_CAPACITY);
+
+        String base = path + "/delete-" + Time.uniqueId() + ".me";
+        SingleChronicleQueueBuilder builder = SingleChronicleQueueBuilder.binary(base);
+        if (STAGED)
+            builder.stagingBufferCapacity(STAGING_CAPACITY);
+
+        AtomicLong count = new AtomicLong();
+        long time1;
+        try (SingleChronicleQueue q = builder.build()) {
+            StagingAppender staging = STAGED ? q.stagingAppender() : null;
+            long start = System.nanoTime();
+            IntStream.range(0, threads).parallel().forEach(i -> {
+                BytesStore<?, Void> nbs = BytesStore.nativeStoreWithFixedCapacity(size);
+                Histogram h = new Histogram();
+                long count2 = 0;
+                ExcerptAppender appender = STAGED ? null : q.acquireAppender();
+                long end = start + (long) (time * 1e9);
+                for (long now = System.nanoTime(); now < end; count2++) {
+                    if (STAGED)
+                        staging.writeBytes(nbs);
+                    else
+                        appender.writeBytes(nbs);
+                    long now2 = System.nanoTime();
+                    h.sampleNanos(now2 - now);
+                    now = now2;
+                }
+                nbs.releaseLast();
+                count.addAndGet(count2);
+                System.out.println("thread " + i + " write latency us: " + h.toMicrosFormat());
+            });
+            if (staging != null)
+                staging.flush();
+            time1 = System.nanoTime() - start;
+        }
+
+        System.out.printf("Writing %,d messages from %d threads took %.3f seconds, at a rate of %,d per second%n",
+                count.longValue(), threads, time1 / 1e9, 1000 * (long) (1e6 * count.get() / time1));
+
+        Jvm.pause(200);
+        System.gc(); // make sure its cleaned up for windows to delete.
+        IOTools.deleteDirWithFiles(base, 2);
+    }
+}
@@ -32,6 +32,7 @@ public class Main {
     static final String path = System.getProperty("path", OS.TMP);
     static final int throughput = Integer.getInteger("throughput", 100_000);
     static final int threads = Integer.getInteger("threads", 1);
+    static final int batch = Integer.getInteger("batch", 0);
 
     static final boolean fullWrite = Jvm.getBoolean("fullWrite");
     static final boolean SAMPLING = Jvm.getBoolean("sampling");
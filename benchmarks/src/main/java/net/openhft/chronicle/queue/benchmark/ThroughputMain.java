@@ -15,6 +15,7 @@ import net.openhft.chronicle.queue.RollCycles;
 import net.openhft.chronicle.wire.DocumentContext;
 import net.openhft.chronicle.wire.Wire;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 
@@ -32,7 +33,8 @@ public class ThroughputMain {
                 "-Dthreads=" + threads + " " +
                 "-Dsize=" + size + " " +
                 "-Dpath=" + path + " " +
-                "-DfullWrite=" + fullWrite);
+                "-DfullWrite=" + fullWrite + " " +
+                "-Dbatch=" + batch);
 
         long start = System.nanoTime();
         String base = path + "/delete-" + Time.uniqueId() + ".me.";
@@ -47,6 +49,8 @@ public class ThroughputMain {
         IntStream.range(0, threads).parallel().forEach(i -> {
             long count2 = 0;
             BytesStore<?, Void> nbs = BytesStore.nativeStoreWithFixedCapacity(size);
+            BytesStore[] nbsBatch = new BytesStore[Math.max(1, batch)];
+            Arrays.fill(nbsBatch, nbs);
 
             try (ChronicleQueue q = ChronicleQueue.singleBuilder(base + i)
                     .rollCycle(RollCycles.LARGE_HOURLY_XSPARSE)
@@ -59,7 +63,12 @@ public class ThroughputMain {
                     int defaultIndexSpacing = q.rollCycle().defaultIndexSpacing();
                     Wire wire = appender.wire();
                     int writeCount = (int) (defaultIndexSpacing - (lastIndex & (defaultIndexSpacing - 1)) - 1);
-                    if (!fullWrite && wire != null && writeCount > 0) {
+                    if (batch > 0) {
+                        appender.writeBytes(nbsBatch, 0, batch);
+                        lastIndex = appender.lastIndexAppended();
+                        count2 += batch;
+
+                    } else if (!fullWrite && wire != null && writeCount > 0) {
                         MappedBytes bytes = (MappedBytes) wire.bytes();
                         long address = bytes.addressForWrite(bytes.writePosition());
                         long bstart = bytes.start();
@@ -0,0 +1,65 @@
+package net.openhft.chronicle.queue.benchmark.jmh;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.WireType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of appending one excerpt, as raw bytes or as a field of a document, by message size and wire type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppendBenchmark {
+    @Param({"16", "256", "4096"})
+    int size;
+
+    @Param({"BINARY_LIGHT", "DEFAULT_ZERO_BINARY"})
+    WireType wireType;
+
+    private File dir;
+    private SingleChronicleQueue queue;
+    private ExcerptAppender appender;
+    private BytesStore<?, Void> message;
+
+    @Setup
+    public void setup() {
+        dir = QueueDirectory.create("append");
+        queue = SingleChronicleQueueBuilder.builder(dir, wireType)
+                .rollCycle(RollCycles.LARGE_HOURLY_XSPARSE)
+                .build();
+        appender = queue.acquireAppender();
+        message = BytesStore.nativeStoreWithFixedCapacity(size);
+        message.zeroOut(0, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        queue.close();
+        message.releaseLast();
+        QueueDirectory.delete(dir);
+    }
+
+    @Benchmark
+    public void writeBytes() {
+        appender.writeBytes(message);
+    }
+
+    @Benchmark
+    public void writingDocument() {
+        try (DocumentContext dc = appender.writingDocument()) {
+            dc.wire().write("message").bytes(message);
+        }
+    }
+}
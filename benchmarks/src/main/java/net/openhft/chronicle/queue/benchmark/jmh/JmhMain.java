@@ -0,0 +1,42 @@
+package net.openhft.chronicle.queue.benchmark.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks in this package with the GC profiler, which reports the allocation rate per operation.
+ * <p>
+ * Any JMH command line options can be passed, e.g. a regex to select the benchmarks, {@code -p size=256} or {@code -prof stack}
+ * <pre>
+ * java -cp target/chronicle-queue-benchmarks-5.22ea0-SNAPSHOT.jar net.openhft.chronicle.queue.benchmark.jmh.JmhMain MoveToIndex -rf json
+ * </pre>
+ */
+public class JmhMain {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        final List<String> jvmArgs = new ArrayList<>(commandLine.getJvmArgsAppend().orElse(Collections.emptyList()));
+        jvmArgs.add("-Djvm.resource.tracing=false");
+        jvmArgs.add("-Dcheck.thread.safety=false");
+        // the forked JVMs write their queues to the same place
+        final String path = System.getProperty("path");
+        if (path != null)
+            jvmArgs.add("-Dpath=" + path);
+
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend(jvmArgs.toArray(new String[0]));
+        if (commandLine.getIncludes().isEmpty())
+            options.include(JmhMain.class.getPackage().getName() + ".*");
+        new Runner(options.build()).run();
+    }
+}
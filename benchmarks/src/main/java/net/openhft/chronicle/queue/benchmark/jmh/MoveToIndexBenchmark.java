@@ -0,0 +1,93 @@
+package net.openhft.chronicle.queue.benchmark.jmh;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of {@code moveToIndex}, by how far the tailer moves from the index it was last moved to.
+ * <ul>
+ *     <li>SAME moves to the same index again, which reuses the last move.</li>
+ *     <li>NEAR moves a few excerpts ahead, which scans forward from the last move with {@code SCQIndexing.linearScan}.</li>
+ *     <li>FAR moves anywhere in the queue, which looks up the index and then scans up to {@code indexSpacing} excerpts.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoveToIndexBenchmark {
+    static final int MESSAGES = 1 << 20;
+    static final int NEAR = 16;
+
+    @Param({"SAME", "NEAR", "FAR"})
+    Distance distance;
+
+    @Param({"16", "256"})
+    int indexSpacing;
+
+    private File dir;
+    private SingleChronicleQueue queue;
+    private ExcerptTailer tailer;
+    private long firstIndex;
+    private long offset;
+    private long random = 1;
+
+    @Setup
+    public void setup() {
+        dir = QueueDirectory.create("moveToIndex");
+        queue = SingleChronicleQueueBuilder.binary(dir)
+                .rollCycle(RollCycles.LARGE_HOURLY_XSPARSE)
+                .indexSpacing(indexSpacing)
+                .build();
+        final BytesStore<?, Void> message = BytesStore.nativeStoreWithFixedCapacity(64);
+        message.zeroOut(0, 64);
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (int i = 0; i < MESSAGES; i++)
+            appender.writeBytes(message);
+        message.releaseLast();
+
+        tailer = queue.createTailer();
+        firstIndex = queue.firstIndex();
+    }
+
+    @TearDown
+    public void tearDown() {
+        queue.close();
+        QueueDirectory.delete(dir);
+    }
+
+    @Benchmark
+    public boolean moveToIndex() {
+        switch (distance) {
+            case SAME:
+                break;
+            case NEAR:
+                offset += NEAR;
+                if (offset >= MESSAGES)
+                    offset = 0;
+                break;
+            case FAR:
+                // xorshift so every move is to an unrelated part of the queue
+                random ^= random << 13;
+                random ^= random >>> 7;
+                random ^= random << 17;
+                offset = random & (MESSAGES - 1);
+                break;
+        }
+        return tailer.moveToIndex(firstIndex + offset);
+    }
+
+    public enum Distance {
+        SAME, NEAR, FAR
+    }
+}
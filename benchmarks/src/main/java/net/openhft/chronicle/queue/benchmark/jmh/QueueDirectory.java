@@ -0,0 +1,25 @@
+package net.openhft.chronicle.queue.benchmark.jmh;
+
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.core.util.Time;
+
+import java.io.File;
+
+/**
+ * A temporary queue directory under {@code -Dpath}, deleted after the benchmark.
+ */
+final class QueueDirectory {
+    private static final String PATH = System.getProperty("path", OS.TMP);
+
+    private QueueDirectory() {
+    }
+
+    static File create(String name) {
+        return new File(PATH, "jmh-" + name + "-" + Time.uniqueId());
+    }
+
+    static void delete(File dir) {
+        IOTools.deleteDirWithFiles(dir);
+    }
+}
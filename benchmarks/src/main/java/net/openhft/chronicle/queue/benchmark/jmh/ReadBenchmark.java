@@ -0,0 +1,78 @@
+package net.openhft.chronicle.queue.benchmark.jmh;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.TailerDirection;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of reading one excerpt with {@code readingDocument}, forwards or backwards through a queue of {@link #MESSAGES} excerpts.
+ * When the tailer reaches the end it is moved back to the other end, which is amortised over the whole queue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadBenchmark {
+    static final int MESSAGES = 1_000_000;
+
+    @Param({"16", "256"})
+    int size;
+
+    @Param({"FORWARD", "BACKWARD"})
+    TailerDirection direction;
+
+    private File dir;
+    private SingleChronicleQueue queue;
+    private ExcerptTailer tailer;
+
+    @Setup
+    public void setup() {
+        dir = QueueDirectory.create("read");
+        queue = SingleChronicleQueueBuilder.binary(dir)
+                .rollCycle(RollCycles.LARGE_HOURLY_XSPARSE)
+                .build();
+        final BytesStore<?, Void> message = BytesStore.nativeStoreWithFixedCapacity(size);
+        message.zeroOut(0, size);
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (int i = 0; i < MESSAGES; i++)
+            appender.writeBytes(message);
+        message.releaseLast();
+
+        tailer = queue.createTailer().direction(direction);
+        rewind();
+    }
+
+    private void rewind() {
+        if (direction == TailerDirection.FORWARD)
+            tailer.toStart();
+        else
+            tailer.toEnd();
+    }
+
+    @TearDown
+    public void tearDown() {
+        queue.close();
+        QueueDirectory.delete(dir);
+    }
+
+    @Benchmark
+    public long readingDocument() {
+        try (DocumentContext dc = tailer.readingDocument()) {
+            if (dc.isPresent())
+                return dc.wire().bytes().readRemaining();
+        }
+        rewind();
+        return -1;
+    }
+}
@@ -0,0 +1,69 @@
+package net.openhft.chronicle.queue.benchmark.jmh;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of the first append to a new cycle, which writes the EOF to the previous cycle and creates the next cycle file.
+ * <p>
+ * Each operation moves a {@link SetTimeProvider} on by a cycle and appends one excerpt.
+ * The queue is recreated for each iteration to bound the number of cycle files.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = RollBenchmark.ROLLS)
+@Measurement(iterations = 20, batchSize = RollBenchmark.ROLLS)
+@Fork(1)
+public class RollBenchmark {
+    static final int ROLLS = 100;
+
+    @Param({"65536", "67108864"})
+    long blockSize;
+
+    private final BytesStore<?, Void> message = BytesStore.nativeStoreWithFixedCapacity(64);
+    private SetTimeProvider timeProvider;
+    private File dir;
+    private SingleChronicleQueue queue;
+    private ExcerptAppender appender;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        message.zeroOut(0, 64);
+        timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        dir = QueueDirectory.create("roll");
+        queue = SingleChronicleQueueBuilder.binary(dir)
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .blockSize(blockSize)
+                .timeProvider(timeProvider)
+                .build();
+        appender = queue.acquireAppender();
+        appender.writeBytes(message);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        queue.close();
+        QueueDirectory.delete(dir);
+    }
+
+    @TearDown(Level.Trial)
+    public void releaseMessage() {
+        message.releaseLast();
+    }
+
+    @Benchmark
+    public long roll() {
+        timeProvider.advanceMillis(1000);
+        appender.writeBytes(message);
+        return appender.lastIndexAppended();
+    }
+}
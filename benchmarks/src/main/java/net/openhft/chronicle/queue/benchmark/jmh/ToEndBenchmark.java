@@ -0,0 +1,68 @@
+package net.openhft.chronicle.queue.benchmark.jmh;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.TailerDirection;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of {@code toEnd()} on a queue with many excerpts after the last index entry.
+ * A FORWARD tailer uses the optimised path from the write position, a BACKWARD tailer uses the original path via {@code moveToIndex}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToEndBenchmark {
+    static final int MESSAGES = 100_000;
+
+    @Param({"FORWARD", "BACKWARD"})
+    TailerDirection direction;
+
+    @Param({"256", "4096"})
+    int indexSpacing;
+
+    private File dir;
+    private SingleChronicleQueue queue;
+    private ExcerptTailer tailer;
+
+    @Setup
+    public void setup() {
+        dir = QueueDirectory.create("toEnd");
+        queue = SingleChronicleQueueBuilder.binary(dir)
+                .rollCycle(RollCycles.LARGE_HOURLY_XSPARSE)
+                .indexSpacing(indexSpacing)
+                .build();
+        final BytesStore<?, Void> message = BytesStore.nativeStoreWithFixedCapacity(64);
+        message.zeroOut(0, 64);
+        final ExcerptAppender appender = queue.acquireAppender();
+        // end just before the next index entry, so the original toEnd() has the longest scan
+        final int messages = MESSAGES / indexSpacing * indexSpacing + indexSpacing - 1;
+        for (int i = 0; i < messages; i++)
+            appender.writeBytes(message);
+        message.releaseLast();
+
+        tailer = queue.createTailer().direction(direction);
+    }
+
+    @TearDown
+    public void tearDown() {
+        queue.close();
+        QueueDirectory.delete(dir);
+    }
+
+    @Benchmark
+    public long toEnd() {
+        tailer.toStart();
+        return tailer.toEnd().index();
+    }
+}
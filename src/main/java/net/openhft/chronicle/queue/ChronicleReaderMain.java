@@ -26,7 +26,11 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.PrintWriter;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.function.Consumer;
 
 import static java.util.Arrays.stream;
@@ -118,6 +122,12 @@ public class ChronicleReaderMain {
         if (commandLine.hasOption('e')) {
             stream(commandLine.getOptionValues('e')).forEach(chronicleReader::withExclusionRegex);
         }
+        if (commandLine.hasOption('F')) {
+            stream(commandLine.getOptionValues('F')).forEach(chronicleReader::withFieldFilter);
+        }
+        if (commandLine.hasOption('c')) {
+            stream(commandLine.getOptionValues('c')).forEach(chronicleReader::withRawInclusion);
+        }
         if (commandLine.hasOption('f')) {
             chronicleReader.tail();
         }
@@ -127,6 +137,10 @@ public class ChronicleReaderMain {
         if (commandLine.hasOption('n')) {
             chronicleReader.withStartIndex(Long.decode(commandLine.getOptionValue('n')));
         }
+        if (commandLine.hasOption('t')) {
+            final ZoneId zoneId = commandLine.hasOption('z') ? ZoneId.systemDefault() : ZoneOffset.UTC;
+            chronicleReader.withStartTime(parseEpochNanos(commandLine.getOptionValue('t'), zoneId));
+        }
         if (commandLine.hasOption('r')) {
             final String r = commandLine.getOptionValue('r');
             chronicleReader.asMethodReader(r.equals("null") ? null : r);
@@ -154,6 +168,20 @@ public class ChronicleReaderMain {
         if (commandLine.hasOption('x')) {
             chronicleReader.withMatchLimit(Long.parseLong(commandLine.getOptionValue('x')));
         }
+        if (commandLine.hasOption('P')) {
+            chronicleReader.withParallelism(Integer.parseInt(commandLine.getOptionValue('P')));
+        }
+        if (commandLine.hasOption('u')) {
+            chronicleReader.withUnorderedOutput();
+        }
+    }
+
+    static long parseEpochNanos(@NotNull String time, @NotNull ZoneId zoneId) {
+        if (time.chars().allMatch(Character::isDigit))
+            return Long.parseLong(time);
+        final TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.withZone(zoneId).parse(time);
+        final Instant instant = Instant.from(parsed);
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
     }
 
     @NotNull
@@ -163,9 +191,12 @@ public class ChronicleReaderMain {
         addOption(options, "d", "directory", true, "Directory containing chronicle queue files", true);
         addOption(options, "i", "include-regex", true, "Display records containing this regular expression", false);
         addOption(options, "e", "exclude-regex", true, "Do not display records containing this regular expression", false);
+        addOption(options, "F", "field-filter", true, "Display records where this field predicate holds, checked on the wire before converting to text e.g. 'newOrder.price > 100'", false);
+        addOption(options, "c", "raw-contains", true, "Display records containing this text in their raw bytes, checked before converting to text", false);
         addOption(options, "f", "follow", false, "Tail behaviour - wait for new records to arrive", false);
         addOption(options, "m", "max-history", true, "Show this many records from the end of the data set", false);
         addOption(options, "n", "from-index", true, "Start reading from this index (e.g. 0x123ABE)", false);
+        addOption(options, "t", "from-time", true, "Start reading from this time using the time index, in epoch nanos or ISO format e.g. 2021-10-18T14:03:12.5 (UTC unless -z)", false);
         addOption(options, "b", "binary-search", true, "Use this class as a comparator to binary search", false);
         addOption(options, "a", "binary-arg", true, "Argument to pass to binary search class", false);
         addOption(options, "r", "as-method-reader", true, "Use when reading from a queue generated using a MethodWriter", false);
@@ -177,6 +208,8 @@ public class ChronicleReaderMain {
         addOption(options, "k", "reverse", false, "Read the queue in reverse", false);
         addOption(options, "h", "help-message", false, "Print this help and exit", false);
         addOption(options, "x", "max-results", true, "Limit the number of results to output", false);
+        addOption(options, "P", "parallelism", true, "Read with this many threads, splitting the queue by cycle and index", false);
+        addOption(options, "u", "unordered", false, "When reading in parallel, output results as they are found rather than in index order", false);
         return options;
     }
 }
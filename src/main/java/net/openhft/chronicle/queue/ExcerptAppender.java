@@ -26,6 +26,8 @@ import net.openhft.chronicle.wire.Wire;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * <p>The component that facilitates sequentially writing data to a {@link ChronicleQueue}.</p>
  * <p><b>NOTE:</b> Appenders are NOT thread-safe, sharing the Appender between threads will lead to errors and unpredictable behaviour.</p>
@@ -50,6 +52,23 @@ public interface ExcerptAppender extends ExcerptCommon<ExcerptAppender>, Marshal
         writeBytes((BytesStore) bytes);
     }
 
+    /**
+     * Writes (i.e. appends) {@code length} excerpts from {@code batch}, starting at {@code offset}, to the queue.
+     * <p>
+     * Implementations may acquire the write lock once for the whole batch, and publish the batch
+     * with a single update of the write position, which is significantly cheaper than calling
+     * {@link #writeBytes(BytesStore)} for each small excerpt.
+     *
+     * @param batch  of excerpts to write, one excerpt per element.
+     * @param offset of the first element in {@code batch} to write.
+     * @param length the number of elements to write.
+     * @throws UnrecoverableTimeoutException if the operation times out.
+     */
+    default void writeBytes(@NotNull BytesStore[] batch, int offset, int length) {
+        for (int i = offset; i < offset + length; i++)
+            writeBytes(batch[i]);
+    }
+
     /**
      * Returns the index last written.
      * <p>
@@ -145,4 +164,30 @@ public interface ExcerptAppender extends ExcerptCommon<ExcerptAppender>, Marshal
      * Can also be used on any appender, but this is not currently done automatically
      */
     default void normaliseEOFs() {}
+
+    /**
+     * Blocks until everything this appender has written is synced to disk, asking for it to be synced now rather than when the queue's
+     * durability policy next would.
+     *
+     * @throws UnsupportedOperationException if this appender doesn't support syncing.
+     * @throws IllegalStateException         if the queue has no durability policy, or is closed before the sync.
+     */
+    default void sync() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Parks until the excerpt at {@code index}, and everything appended before it by this process, is synced to disk by the queue's
+     * durability policy, e.g. to acknowledge a request once it has been recorded durably.
+     *
+     * @param index   of the excerpt, e.g. {@link #lastIndexAppended()}.
+     * @param timeout to wait for at most.
+     * @param unit    of the timeout.
+     * @return false if the timeout passed first.
+     * @throws UnsupportedOperationException if this appender doesn't support syncing.
+     * @throws IllegalStateException         if the queue has no durability policy.
+     */
+    default boolean awaitDurable(long index, long timeout, @NotNull TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -24,6 +24,8 @@ import net.openhft.chronicle.wire.ReadMarshallable;
 import net.openhft.chronicle.wire.SourceContext;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * The component that facilitates sequentially reading data from a {@link ChronicleQueue}.
  *
@@ -133,6 +135,79 @@ public interface ExcerptTailer extends ExcerptCommon<ExcerptTailer>, Marshallabl
      */
     boolean moveToCycle(int cycle);
 
+    /**
+     * Tries to move the index for this Tailer to the excerpts appended at or after {@code epochNanos}, using the time index
+     * enabled with {@code SingleChronicleQueueBuilder.timeIndex(true)}.
+     * <p>
+     * As the time index is sparse, this moves to the last indexed excerpt appended at or before {@code epochNanos}, so no excerpt
+     * appended from then on is skipped but up to an index spacing of earlier excerpts may be read first.
+     * If every indexed excerpt was appended after {@code epochNanos} this moves to the start.
+     *
+     * @param epochNanos the wall clock time to move to.
+     * @return false if there is no time index, including when this tailer doesn't support one.
+     */
+    default boolean moveToTime(long epochNanos) {
+        return false;
+    }
+
+    /**
+     * Tries to move the index for this Tailer to the excerpt with the provided {@code key} in the {@code keyIndex}.
+     * <p>
+     * This uses the index rather than scanning the queue, so the excerpts don't need to be sorted by the key.
+     *
+     * @param keyIndex to look up the key in.
+     * @param key      to move to.
+     * @return if an excerpt with this key was found.
+     */
+    default boolean moveToKey(@NotNull KeyIndex keyIndex, long key) {
+        final long index = keyIndex.indexOf(key);
+        return index != -1 && moveToIndex(index);
+    }
+
+    /**
+     * Writes the index of a named tailer to the queue's metadata now, where it is otherwise only written every so many excerpts
+     * as set by {@code SingleChronicleQueueBuilder.namedTailerCheckpointEvery(int)}.
+     */
+    default void commit() {
+    }
+
+    /**
+     * Parks until an excerpt may have been appended since this Tailer last tried to read one, so a Tailer which has read everything
+     * can block rather than poll.
+     * <p>
+     * Appenders only wake waiting Tailers when notifications are enabled with {@code SingleChronicleQueueBuilder.appendNotifications(true)},
+     * otherwise this parks for at most a millisecond.
+     *
+     * @param timeout to wait for at most.
+     * @param unit    of the timeout.
+     * @return false if the timeout passed without anything being appended.
+     * @throws UnsupportedOperationException if this tailer doesn't support waiting.
+     */
+    default boolean awaitNext(long timeout, @NotNull TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the {@link DocumentContext} for the next excerpt, waiting with {@link #awaitNext(long, TimeUnit)} for up to the
+     * timeout if there isn't one yet.
+     *
+     * @param timeout to wait for at most.
+     * @param unit    of the timeout.
+     * @return the document context, which isn't present if the timeout passed.
+     */
+    @NotNull
+    default DocumentContext readingDocument(long timeout, @NotNull TimeUnit unit) {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (; ; ) {
+            final DocumentContext dc = readingDocument();
+            final long remaining = deadline - System.nanoTime();
+            if (dc.isPresent() || remaining <= 0)
+                return dc;
+            dc.close();
+            awaitNext(remaining, TimeUnit.NANOSECONDS);
+        }
+    }
+
     /**
      * Moves the index for this Tailer to the first existing excerpt in the queue.
      *
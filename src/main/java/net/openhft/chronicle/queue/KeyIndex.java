@@ -0,0 +1,47 @@
+package net.openhft.chronicle.queue;
+
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.wire.Wire;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A persistent secondary index from a key, extracted from each excerpt by a {@link KeyExtractor}, to the index of the excerpt.
+ * <p>
+ * Unlike {@link net.openhft.chronicle.queue.impl.single.BinarySearch}, the excerpts don't need to be sorted by the key.
+ * Use {@link ExcerptTailer#moveToKey(KeyIndex, long)} to move a tailer to the excerpt for a key.
+ */
+public interface KeyIndex extends Closeable {
+
+    /**
+     * Returns the index of the first excerpt with this {@code key}, in the latest cycle which has one.
+     * <p>
+     * Any excerpts appended since the last lookup are indexed first.
+     *
+     * @param key to look up.
+     * @return the index of the excerpt or -1 if no excerpt has this key.
+     */
+    long indexOf(long key);
+
+    /**
+     * Indexes any excerpts appended since the last call.
+     *
+     * @return the number of excerpts indexed.
+     */
+    long update();
+
+    @FunctionalInterface
+    interface KeyExtractor {
+        /**
+         * Returned by {@link #extractKey(Wire)} for an excerpt which should not be indexed.
+         */
+        long NO_KEY = Long.MIN_VALUE;
+
+        /**
+         * Extracts the key from an excerpt. Keys should be unique, or at least unique within a cycle.
+         *
+         * @param wire positioned at the start of the excerpt.
+         * @return the key or {@link #NO_KEY}
+         */
+        long extractKey(@NotNull Wire wire);
+    }
+}
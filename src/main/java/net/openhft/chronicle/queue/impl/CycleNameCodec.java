@@ -0,0 +1,178 @@
+package net.openhft.chronicle.queue.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Formats and parses the names of cycle files with arithmetic, for the {@link net.openhft.chronicle.queue.RollCycle#format() formats}
+ * made of {@code yyyy}, {@code MM}, {@code dd}, {@code HH}, {@code mm}, {@code ss} and literals, in UTC.
+ * <p>
+ * The results are the same as a {@link java.time.format.DateTimeFormatter} for the years 1 to 9999. Outside that range, or for a name
+ * which isn't a valid date, the methods return a value which tells the caller to use a {@code DateTimeFormatter} instead.
+ */
+final class CycleNameCodec {
+    static final long NOT_PARSED = Long.MIN_VALUE;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int DAYS_0000_TO_1970 = 719_468;
+
+    // the name with the literals filled in
+    private final char[] template;
+    private final boolean[] literal;
+    private final int yearAt, monthAt, dayAt, hourAt, minuteAt, secondAt;
+
+    private CycleNameCodec(char[] template, boolean[] literal, int yearAt, int monthAt, int dayAt, int hourAt, int minuteAt, int secondAt) {
+        this.template = template;
+        this.literal = literal;
+        this.yearAt = yearAt;
+        this.monthAt = monthAt;
+        this.dayAt = dayAt;
+        this.hourAt = hourAt;
+        this.minuteAt = minuteAt;
+        this.secondAt = secondAt;
+    }
+
+    /**
+     * @return the codec for this pattern, or null if it uses anything other than the supported fields and quoted literals.
+     */
+    @Nullable
+    static CycleNameCodec forFormat(@NotNull String format) {
+        final StringBuilder template = new StringBuilder();
+        final StringBuilder literals = new StringBuilder();
+        final int[] at = {-1, -1, -1, -1, -1, -1};
+        for (int i = 0; i < format.length(); ) {
+            final char ch = format.charAt(i);
+            if (ch == '\'') {
+                final int end = format.indexOf('\'', i + 1);
+                // '' is an escaped quote
+                if (end <= i + 1)
+                    return null;
+                final String text = format.substring(i + 1, end);
+                template.append(text);
+                for (int j = 0; j < text.length(); j++)
+                    literals.append('L');
+                i = end + 1;
+            } else if (Character.isLetter(ch)) {
+                int run = 1;
+                while (i + run < format.length() && format.charAt(i + run) == ch)
+                    run++;
+                final int field = "yMdHms".indexOf(ch);
+                if (field < 0 || run != (field == 0 ? 4 : 2) || at[field] >= 0)
+                    return null;
+                at[field] = template.length();
+                for (int j = 0; j < run; j++) {
+                    template.append('0');
+                    literals.append('F');
+                }
+                i += run;
+            } else if ("[]{}#".indexOf(ch) >= 0) {
+                // optional sections and reserved characters
+                return null;
+            } else {
+                template.append(ch);
+                literals.append('L');
+                i++;
+            }
+        }
+        // a date is needed, and a time field without the larger ones isn't supported
+        if (at[0] < 0 || at[1] < 0 || at[2] < 0
+                || (at[4] >= 0 && at[3] < 0) || (at[5] >= 0 && at[4] < 0))
+            return null;
+        final boolean[] literal = new boolean[literals.length()];
+        for (int i = 0; i < literal.length; i++)
+            literal[i] = literals.charAt(i) == 'L';
+        return new CycleNameCodec(template.toString().toCharArray(), literal, at[0], at[1], at[2], at[3], at[4], at[5]);
+    }
+
+    /**
+     * @return the name for this time, or null if the year is out of range.
+     */
+    @Nullable
+    String format(long epochMillis) {
+        final long days = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        final int secondOfDay = (int) (Math.floorMod(epochMillis, MILLIS_PER_DAY) / 1000);
+
+        // the civil date from the days since 1970-01-01, with years starting in March
+        final long z = days + DAYS_0000_TO_1970;
+        final long era = Math.floorDiv(z, 146_097L);
+        final int dayOfEra = (int) (z - era * 146_097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146_096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp < 10 ? mp + 3 : mp - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 1 || year > 9999)
+            return null;
+
+        final char[] chars = template.clone();
+        put(chars, yearAt, (int) year, 4);
+        put(chars, monthAt, month, 2);
+        put(chars, dayAt, day, 2);
+        if (hourAt >= 0)
+            put(chars, hourAt, secondOfDay / 3600, 2);
+        if (minuteAt >= 0)
+            put(chars, minuteAt, secondOfDay / 60 % 60, 2);
+        if (secondAt >= 0)
+            put(chars, secondAt, secondOfDay % 60, 2);
+        return new String(chars);
+    }
+
+    /**
+     * @return the time this name is for, or {@link #NOT_PARSED} if it isn't in this format or isn't a valid date.
+     */
+    long parse(@NotNull CharSequence name) {
+        if (name.length() != template.length)
+            return NOT_PARSED;
+        for (int i = 0; i < template.length; i++) {
+            final char ch = name.charAt(i);
+            if (literal[i] ? ch != template[i] : ch < '0' || ch > '9')
+                return NOT_PARSED;
+        }
+        final int year = get(name, yearAt, 4);
+        final int month = get(name, monthAt, 2);
+        final int day = get(name, dayAt, 2);
+        final int hour = hourAt < 0 ? 0 : get(name, hourAt, 2);
+        final int minute = minuteAt < 0 ? 0 : get(name, minuteAt, 2);
+        final int second = secondAt < 0 ? 0 : get(name, secondAt, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59)
+            return NOT_PARSED;
+
+        // the days since 1970-01-01 from the civil date, with years starting in March
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = y / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        final long days = era * 146_097L + dayOfEra - DAYS_0000_TO_1970;
+        return days * MILLIS_PER_DAY + (hour * 3600 + minute * 60 + second) * 1000L;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static void put(char[] chars, int at, int value, int digits) {
+        for (int i = at + digits - 1; i >= at; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int get(CharSequence name, int at, int digits) {
+        int value = 0;
+        for (int i = at; i < at + digits; i++)
+            value = value * 10 + name.charAt(i) - '0';
+        return value;
+    }
+}
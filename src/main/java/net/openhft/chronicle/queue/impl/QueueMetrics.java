@@ -0,0 +1,202 @@
+package net.openhft.chronicle.queue.impl;
+
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.util.Histogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link QueueMetricsListener} which keeps a histogram of each latency, and counts of the bytes, per thread.
+ * As appenders are per thread, these are the metrics of each appender.
+ * <p>
+ * Each thread only writes to its own histograms, so recording doesn't contend or allocate.
+ * {@link #summary()} reads them from another thread, so it may be slightly out of date.
+ * {@link #reset()} doesn't touch them either, each thread clears its own the next time it records.
+ * The metrics of threads which have died are dropped on the next reset, or when another thread starts recording.
+ */
+public class QueueMetrics implements QueueMetricsListener {
+    private static final MoveToIndexPath[] PATHS = MoveToIndexPath.values();
+
+    private final List<ThreadMetrics> threads = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadMetrics> threadMetrics = ThreadLocal.withInitial(this::newThreadMetrics);
+    private volatile int resetGeneration;
+    private volatile long startNanos = System.nanoTime();
+    private volatile long[] pageFaultsAtStart = pageFaults();
+
+    /**
+     * @return the minor and major page faults of this process, or null if not available.
+     */
+    static long[] pageFaults() {
+        if (!OS.isLinux())
+            return null;
+        try {
+            final String stat = new String(Files.readAllBytes(Paths.get("/proc/self/stat")), StandardCharsets.ISO_8859_1);
+            // the command may contain spaces, the fields after it don't.
+            final String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return new long[]{Long.parseLong(fields[7]), Long.parseLong(fields[9])};
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private ThreadMetrics newThreadMetrics() {
+        removeDeadThreads();
+        final ThreadMetrics metrics = new ThreadMetrics(Thread.currentThread(), resetGeneration);
+        threads.add(metrics);
+        return metrics;
+    }
+
+    private void removeDeadThreads() {
+        threads.removeIf(metrics -> !metrics.thread.isAlive());
+    }
+
+    private ThreadMetrics metrics() {
+        final ThreadMetrics metrics = threadMetrics.get();
+        final int generation = resetGeneration;
+        if (metrics.generation != generation)
+            metrics.reset(generation);
+        return metrics;
+    }
+
+    @Override
+    public void onWriteLockAcquired(long waitNanos) {
+        metrics().writeLockWait.sample(waitNanos);
+    }
+
+    @Override
+    public void onWritten(long bytes, long nanos) {
+        final ThreadMetrics metrics = metrics();
+        metrics.write.sample(nanos);
+        metrics.bytesWritten += bytes;
+    }
+
+    @Override
+    public void onRoll(int cycle, long nanos) {
+        metrics().roll.sample(nanos);
+    }
+
+    @Override
+    public void onIndexWritten(long nanos) {
+        metrics().indexWrite.sample(nanos);
+    }
+
+    @Override
+    public void onRead(long bytes, long nanos) {
+        final ThreadMetrics metrics = metrics();
+        metrics.read.sample(nanos);
+        metrics.bytesRead += bytes;
+    }
+
+    @Override
+    public void onMoveToIndex(MoveToIndexPath path, long nanos) {
+        metrics().moveToIndex[path.ordinal()].sample(nanos);
+    }
+
+    /**
+     * Clears the metrics of every thread, and drops those of threads which have died.
+     */
+    public synchronized void reset() {
+        removeDeadThreads();
+        resetGeneration++;
+        startNanos = System.nanoTime();
+        pageFaultsAtStart = pageFaults();
+    }
+
+    /**
+     * @return the percentiles in microseconds of each latency recorded and the bytes per second, by thread, since this was created or reset.
+     */
+    @NotNull
+    public String summary() {
+        final double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+        final int generation = resetGeneration;
+        final StringBuilder sb = new StringBuilder();
+        for (ThreadMetrics metrics : threads) {
+            // not recorded anything since the last reset
+            if (metrics.generation != generation)
+                continue;
+            sb.append(metrics.name).append('\n');
+            metrics.writeLockWait.appendTo(sb, "writeLockWait");
+            metrics.write.appendTo(sb, "write");
+            metrics.roll.appendTo(sb, "roll");
+            metrics.indexWrite.appendTo(sb, "indexWrite");
+            metrics.read.appendTo(sb, "read");
+            for (MoveToIndexPath path : PATHS)
+                metrics.moveToIndex[path.ordinal()].appendTo(sb, "moveToIndex " + path);
+            if (metrics.bytesWritten > 0)
+                sb.append("\twritten ").append((long) (metrics.bytesWritten / seconds)).append(" bytes/s\n");
+            if (metrics.bytesRead > 0)
+                sb.append("\tread ").append((long) (metrics.bytesRead / seconds)).append(" bytes/s\n");
+        }
+        final long[] start = pageFaultsAtStart;
+        final long[] now = pageFaults();
+        if (start != null && now != null)
+            sb.append("page faults, minor: ").append(now[0] - start[0]).append(", major: ").append(now[1] - start[1]).append('\n');
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    static final class Timer {
+        private Histogram histogram = new Histogram();
+        private long count;
+
+        void sample(long nanos) {
+            histogram.sampleNanos(nanos);
+            count++;
+        }
+
+        void appendTo(StringBuilder sb, String name) {
+            if (count > 0)
+                sb.append('\t').append(name).append(" count: ").append(count).append(", us: ").append(histogram.toMicrosFormat()).append('\n');
+        }
+
+        void reset() {
+            histogram = new Histogram();
+            count = 0;
+        }
+    }
+
+    static final class ThreadMetrics {
+        final Thread thread;
+        final String name;
+        final Timer writeLockWait = new Timer();
+        final Timer write = new Timer();
+        final Timer roll = new Timer();
+        final Timer indexWrite = new Timer();
+        final Timer read = new Timer();
+        final Timer[] moveToIndex = new Timer[PATHS.length];
+        long bytesWritten;
+        long bytesRead;
+        volatile int generation;
+
+        ThreadMetrics(Thread thread, int generation) {
+            this.thread = thread;
+            this.name = thread.getName();
+            this.generation = generation;
+            for (int i = 0; i < moveToIndex.length; i++)
+                moveToIndex[i] = new Timer();
+        }
+
+        void reset(int generation) {
+            writeLockWait.reset();
+            write.reset();
+            roll.reset();
+            indexWrite.reset();
+            read.reset();
+            for (Timer timer : moveToIndex)
+                timer.reset();
+            bytesWritten = 0;
+            bytesRead = 0;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package net.openhft.chronicle.queue.impl;
+
+/**
+ * Receives the latencies of the operations of every appender and tailer of a queue, see
+ * {@link net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder#metricsListener(QueueMetricsListener)}.
+ * <p>
+ * Each method is called on the thread which did the operation, so an implementation should be allocation free and
+ * either thread safe or keep its state per thread, as {@link QueueMetrics} does.
+ * Nothing is timed unless a listener is set.
+ */
+public interface QueueMetricsListener {
+
+    QueueMetricsListener NO_OP = new QueueMetricsListener() {
+    };
+
+    /**
+     * @param waitNanos the time taken to acquire the write lock.
+     */
+    default void onWriteLockAcquired(long waitNanos) {
+    }
+
+    /**
+     * @param bytes the length of the excerpt
+     * @param nanos the time from acquiring the write lock to releasing it, i.e. from {@code writingDocument()} to {@code close()}
+     */
+    default void onWritten(long bytes, long nanos) {
+    }
+
+    /**
+     * @param cycle the cycle rolled to
+     * @param nanos the time taken to write the EOF and acquire the next cycle
+     */
+    default void onRoll(int cycle, long nanos) {
+    }
+
+    /**
+     * @param nanos the time taken to add an excerpt to the index, called every {@code indexSpacing} excerpts.
+     */
+    default void onIndexWritten(long nanos) {
+    }
+
+    /**
+     * @param bytes the length of the excerpt
+     * @param nanos the time taken by {@code readingDocument()} to find an excerpt
+     */
+    default void onRead(long bytes, long nanos) {
+    }
+
+    /**
+     * @param path  how the tailer found the index
+     * @param nanos the time taken by {@code moveToIndex}
+     */
+    default void onMoveToIndex(MoveToIndexPath path, long nanos) {
+    }
+
+    enum MoveToIndexPath {
+        /**
+         * The tailer was already at the index.
+         */
+        REUSE,
+        /**
+         * The tailer scanned forward from the index it last moved to.
+         */
+        LINEAR_SCAN,
+        /**
+         * The tailer looked up the nearest index entry and scanned forward from there.
+         */
+        INDEX_LOOKUP
+    }
+}
@@ -20,6 +20,7 @@ package net.openhft.chronicle.queue.impl;
 import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.queue.RollCycle;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.time.Instant;
@@ -28,14 +29,12 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 public class RollingResourcesCache {
     public static final ParseCount NO_PARSE_COUNT = new ParseCount("", Integer.MIN_VALUE);
     private static final int CACHE_SIZE = Integer.getInteger("chronicle.queue.rollingResourceCache.size", 128);
-    private static final int ONE_DAY_IN_MILLIS = 86400000;
+    private static final long ONE_DAY_IN_MILLIS = 86400000L;
     private static final int MAX_TIMESTAMP_CACHE_SIZE = 32;
 
     @NotNull
@@ -48,8 +47,10 @@ public class RollingResourcesCache {
     @NotNull
     private final Function<File, String> fileToName;
     private final String format;
-    private final ConcurrentMap<File, Long> filenameToTimestampCache =
-            new ConcurrentHashMap<>(MAX_TIMESTAMP_CACHE_SIZE);
+    @Nullable
+    private final CycleNameCodec codec;
+    // direct mapped, so a miss only replaces the one entry
+    private final TimestampEntry[] filenameToTimestampCache = new TimestampEntry[MAX_TIMESTAMP_CACHE_SIZE];
     private final long epoch;
     private ParseCount lastParseCount = NO_PARSE_COUNT;
 
@@ -72,6 +73,7 @@ public class RollingResourcesCache {
 
         this.format = format;
         this.formatter = DateTimeFormatter.ofPattern(this.format).withZone(ZoneId.of("UTC"));
+        this.codec = CycleNameCodec.forFormat(format);
         this.fileFactory = nameToFile;
 
     }
@@ -88,8 +90,9 @@ public class RollingResourcesCache {
         int hash = Maths.hash32(millisSinceBeginningOfEpoch) & (CACHE_SIZE - 1);
         Resource dv = values[hash];
         if (dv == null || dv.millis != millisSinceBeginningOfEpoch) {
-            final Instant instant = Instant.ofEpochMilli(millisSinceBeginningOfEpoch + epoch);
-            @NotNull String text = formatter.format(instant);
+            String text = codec == null ? null : codec.format(millisSinceBeginningOfEpoch + epoch);
+            if (text == null)
+                text = formatter.format(Instant.ofEpochMilli(millisSinceBeginningOfEpoch + epoch));
             values[hash] = dv = new Resource(millisSinceBeginningOfEpoch, text, fileFactory.apply(text));
         }
         return dv;
@@ -105,6 +108,9 @@ public class RollingResourcesCache {
     }
 
     private int parseCount0(@NotNull String name) {
+        final long millis = codec == null ? CycleNameCodec.NOT_PARSED : codec.parse(name);
+        if (millis != CycleNameCodec.NOT_PARSED)
+            return Maths.toInt32((Math.floorDiv(millis, 1000L) - ((epoch) / 1000)) / (length / 1000));
         try {
             TemporalAccessor parse = formatter.parse(name);
 
@@ -120,29 +126,51 @@ public class RollingResourcesCache {
     }
 
     public Long toLong(File file) {
-        final Long cachedValue = filenameToTimestampCache.get(file);
-        if (cachedValue != null) {
-            return cachedValue;
+        final int slot = file.hashCode() & (MAX_TIMESTAMP_CACHE_SIZE - 1);
+        final TimestampEntry cached = filenameToTimestampCache[slot];
+        if (cached != null && cached.file.equals(file)) {
+            return cached.value;
         }
 
-        final TemporalAccessor parse = formatter.parse(fileToName.apply(file));
+        final String name = fileToName.apply(file);
+        final long millis = codec == null ? CycleNameCodec.NOT_PARSED : codec.parse(name);
         final long value;
-        if (length == ONE_DAY_IN_MILLIS) {
-            value = parse.getLong(ChronoField.EPOCH_DAY);
-        } else if (length < ONE_DAY_IN_MILLIS) {
-            value = Instant.from(parse).toEpochMilli() / length;
+        if (millis != CycleNameCodec.NOT_PARSED) {
+            final long daysSinceEpoch = Math.floorDiv(millis, ONE_DAY_IN_MILLIS);
+            if (length == ONE_DAY_IN_MILLIS) {
+                value = daysSinceEpoch;
+            } else if (length < ONE_DAY_IN_MILLIS) {
+                value = millis / length;
+            } else {
+                long adjShift = daysSinceEpoch < 0 ? -1 : 0;
+                value = adjShift + ((daysSinceEpoch * 86400) / (length / 1000));
+            }
         } else {
-            long daysSinceEpoch = parse.getLong(ChronoField.EPOCH_DAY);
-            long adjShift = daysSinceEpoch < 0 ? -1 : 0;
-            value = adjShift + ((daysSinceEpoch * 86400) / (length / 1000));
+            final TemporalAccessor parse = formatter.parse(name);
+            if (length == ONE_DAY_IN_MILLIS) {
+                value = parse.getLong(ChronoField.EPOCH_DAY);
+            } else if (length < ONE_DAY_IN_MILLIS) {
+                value = Instant.from(parse).toEpochMilli() / length;
+            } else {
+                long daysSinceEpoch = parse.getLong(ChronoField.EPOCH_DAY);
+                long adjShift = daysSinceEpoch < 0 ? -1 : 0;
+                value = adjShift + ((daysSinceEpoch * 86400) / (length / 1000));
+            }
         }
 
-        if (filenameToTimestampCache.size() >= MAX_TIMESTAMP_CACHE_SIZE) {
-            filenameToTimestampCache.clear();
-        }
-        filenameToTimestampCache.put(file, value);
+        final TimestampEntry entry = new TimestampEntry(file, value);
+        filenameToTimestampCache[slot] = entry;
+        return entry.value;
+    }
 
-        return value;
+    private static final class TimestampEntry {
+        final File file;
+        final Long value;
+
+        TimestampEntry(File file, long value) {
+            this.file = file;
+            this.value = value;
+        }
     }
 
     static final class ParseCount {
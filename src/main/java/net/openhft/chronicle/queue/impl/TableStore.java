@@ -1,6 +1,7 @@
 package net.openhft.chronicle.queue.impl;
 
 import net.openhft.chronicle.core.io.ManagedCloseable;
+import net.openhft.chronicle.core.values.LongArrayValues;
 import net.openhft.chronicle.core.values.LongValue;
 import net.openhft.chronicle.queue.impl.table.Metadata;
 import net.openhft.chronicle.queue.impl.table.TableStoreIterator;
@@ -32,6 +33,31 @@ public interface TableStore<T extends Metadata> extends CommonStore, ManagedClos
 
     LongValue acquireValueFor(CharSequence key, long defaultValue);
 
+    /**
+     * As {@link #acquireValueFor(CharSequence, long)}, but when the value is created its record is padded to the end of a cache line,
+     * so a value which is written often doesn't share a cache line with the values created after it.
+     *
+     * @param key          the key of the value
+     * @param defaultValue the value it is created with
+     * @return {@link LongValue} object pointing to particular location in mapped underlying file
+     */
+    default LongValue acquirePaddedValueFor(CharSequence key, long defaultValue) {
+        return acquireValueFor(key, defaultValue);
+    }
+
+    /**
+     * Acquire an array of {@code capacity} longs held in a single record, for values which would otherwise each need a record of their own.
+     * If the array isn't found, it is created filled with zeros. As with {@link #acquireValueFor(CharSequence, long)}, this should be
+     * called within {@link #doWithExclusiveLock(Function)}.
+     *
+     * @param key      the key of the array
+     * @param capacity the number of values it is created with, it should fit in a page
+     * @return {@link LongArrayValues} pointing to the array in the underlying file
+     */
+    default LongArrayValues acquireArrayFor(CharSequence key, int capacity) {
+        throw new UnsupportedOperationException(getClass().getName());
+    }
+
     <A> void forEachKey(A accumulator, TableStoreIterator<A> tsIterator);
 
     /**
@@ -71,6 +71,15 @@ public class WireStorePool extends SimpleCloseable {
         BackgroundResourceReleaser.run(() -> storeFileListener.onReleased(store.cycle(), store.file()));
     }
 
+    /**
+     * Closes the pool's hold on a cycle which is about to be removed, rather than waiting for the queue to be closed.
+     *
+     * @param cycle the cycle being removed
+     */
+    public void closeStore(int cycle) {
+        supplier.closeStore(cycle);
+    }
+
     /**
      * list cycles between ( inclusive )
      *
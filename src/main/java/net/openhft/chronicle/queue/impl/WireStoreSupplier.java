@@ -46,4 +46,12 @@ public interface WireStoreSupplier {
      * @return the cycles between a range, inclusive
      */
     NavigableSet<Long> cycles(int lowerCycle, int upperCycle) throws ParseException;
+
+    /**
+     * Stops holding the mapping of a cycle's file, which is about to be removed, so it is unmapped once the stores using it are closed.
+     *
+     * @param cycle the cycle
+     */
+    default void closeStore(int cycle) {
+    }
 }
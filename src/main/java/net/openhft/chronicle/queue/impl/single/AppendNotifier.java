@@ -0,0 +1,140 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.values.LongValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A word in the queue's metadata which appenders increment after each commit, so tailers can park until something is appended
+ * rather than polling the queue.
+ * <p>
+ * Threads of this process waiting on the queue are unparked directly by its appenders. Appends by other processes are seen through
+ * the word, which one of the waiting threads polls then unparks the rest, so however many tailers are idle only one thread per process
+ * wakes up. It polls every {@code AppendNotifier.pollNanos}, 100 µs by default, doubling the interval each time nothing has been
+ * appended up to {@code AppendNotifier.maxPollNanos}, 10 ms by default, so an idle queue costs about a hundred wakeups a second
+ * and an append by another process after a quiet spell is seen within that long.
+ * <p>
+ * Every process appending to the queue has to have notifications enabled for tailers in other processes to be woken promptly.
+ */
+final class AppendNotifier implements Closeable {
+    static final String KEY = "chronicle.appendNotifier";
+    private static final long POLL_NANOS = Long.getLong("AppendNotifier.pollNanos", 100_000);
+    private static final long MAX_POLL_NANOS = Math.max(POLL_NANOS, Long.getLong("AppendNotifier.maxPollNanos", 10_000_000));
+
+    @Nullable
+    private final LongValue word;
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    // the waiting thread which polls for appends by other processes
+    private final AtomicReference<Thread> poller = new AtomicReference<>();
+    // backs off while nothing is appended
+    private volatile long pollNanos = POLL_NANOS;
+    private volatile long localSequence;
+    private volatile boolean closed;
+
+    AppendNotifier(@NotNull SingleChronicleQueue queue) {
+        LongValue word = null;
+        try {
+            word = queue.metaStore.doWithExclusiveLock(ts -> ts.acquirePaddedValueFor(KEY, 0L));
+        } catch (Exception e) {
+            // e.g. a read only queue which no appender has enabled notifications for
+            Jvm.debug().on(getClass(), "Unable to acquire " + KEY + ", only appends by this process will be seen, file=" + queue.file(), e);
+        }
+        this.word = word;
+    }
+
+    /**
+     * @return a value which changes whenever an excerpt is appended.
+     */
+    long sequence() {
+        return word == null || closed ? localSequence : word.getVolatileValue();
+    }
+
+    /**
+     * Called by an appender once an excerpt has been committed.
+     */
+    void notifyAppended() {
+        if (word == null || closed)
+            localSequence++;
+        else
+            word.addAtomicValue(1);
+        if (!waiters.isEmpty())
+            unparkAll();
+    }
+
+    /**
+     * Parks the calling thread until the {@link #sequence()} differs from {@code seen}, or the timeout passes.
+     *
+     * @return whether the sequence changed.
+     */
+    boolean await(long seen, long timeoutNanos) {
+        if (sequence() != seen)
+            return appended();
+        if (timeoutNanos <= 0)
+            return false;
+        final Thread thread = Thread.currentThread();
+        final long deadline = System.nanoTime() + timeoutNanos;
+        waiters.add(thread);
+        try {
+            for (long remaining = timeoutNanos; ; remaining = deadline - System.nanoTime()) {
+                if (sequence() != seen)
+                    return appended();
+                if (remaining <= 0 || thread.isInterrupted())
+                    return false;
+                if (poller.compareAndSet(null, thread)) {
+                    final long pollNanos = this.pollNanos;
+                    try {
+                        LockSupport.parkNanos(this, Math.min(remaining, pollNanos));
+                    } finally {
+                        poller.set(null);
+                    }
+                    if (sequence() != seen) {
+                        unparkAll();
+                        return appended();
+                    }
+                    this.pollNanos = Math.min(pollNanos * 2, MAX_POLL_NANOS);
+                } else {
+                    LockSupport.parkNanos(this, remaining);
+                }
+            }
+        } finally {
+            waiters.remove(thread);
+            // let another waiter take over polling
+            if (poller.get() == null) {
+                final Thread next = waiters.peek();
+                if (next != null)
+                    LockSupport.unpark(next);
+            }
+        }
+    }
+
+    // polls promptly again now the queue is being appended to
+    private boolean appended() {
+        if (pollNanos != POLL_NANOS)
+            pollNanos = POLL_NANOS;
+        return true;
+    }
+
+    private void unparkAll() {
+        for (Thread waiter : waiters)
+            LockSupport.unpark(waiter);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Closeable.closeQuietly(word);
+        unparkAll();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
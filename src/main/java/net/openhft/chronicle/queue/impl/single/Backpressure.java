@@ -0,0 +1,91 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.queue.RollCycle;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Measures how far the slowest named tailer is behind, for appenders to hold back when it is more than
+ * {@link SingleChronicleQueueBuilder#backpressureMaxLag()} excerpts.
+ * <p>
+ * A named tailer keeps its index in the queue's metadata table store under {@code index.<id>}, so the lag of every named tailer,
+ * in this process or another, is read from there. Appenders only measure it when they have used up the headroom they were
+ * given the last time, so the table store isn't read for each excerpt.
+ */
+final class Backpressure {
+    static final String NAMED_TAILER_PREFIX = "index.";
+
+    private final SingleChronicleQueue queue;
+    private final BackpressurePolicy policy;
+    private final long maxLag;
+
+    Backpressure(@NotNull SingleChronicleQueue queue, @NotNull BackpressurePolicy policy, long maxLag) {
+        this.queue = queue;
+        this.policy = policy;
+        this.maxLag = maxLag;
+    }
+
+    @NotNull
+    BackpressurePolicy policy() {
+        return policy;
+    }
+
+    long maxLag() {
+        return maxLag;
+    }
+
+    /**
+     * @param nextIndex the index the next excerpt will be appended at
+     * @return the number of excerpts which can be appended before the slowest named tailer is {@link #maxLag()} behind,
+     * negative if it is already further behind.
+     */
+    long headroom(long nextIndex) {
+        return maxLag - maxTailerLag(nextIndex);
+    }
+
+    private long maxTailerLag(long nextIndex) {
+        if (nextIndex < 0)
+            return 0;
+        final long[] maxLag = {0};
+        queue.metaStore.forEachKey(maxLag, (max, key, value) -> {
+            if (!startsWith(key, NAMED_TAILER_PREFIX))
+                return;
+            long index = value.int64();
+            // a tailer which hasn't moved yet is at the start
+            if (index <= 0)
+                index = queue.firstIndex();
+            max[0] = Math.max(max[0], excerptsBetween(queue, index, nextIndex));
+        });
+        return maxLag[0];
+    }
+
+    /**
+     * @return the number of excerpts from {@code fromIndex} up to, but not including, {@code toIndex}, going by the excerpt counts of
+     * the cycles in between.
+     */
+    static long excerptsBetween(@NotNull SingleChronicleQueue queue, long fromIndex, long toIndex) {
+        if (fromIndex >= toIndex)
+            return 0;
+        final RollCycle rollCycle = queue.rollCycle();
+        final int fromCycle = rollCycle.toCycle(fromIndex);
+        final int toCycle = rollCycle.toCycle(toIndex);
+        final long fromSequence = rollCycle.toSequenceNumber(fromIndex);
+        final long toSequence = rollCycle.toSequenceNumber(toIndex);
+        if (fromCycle == toCycle)
+            return toSequence - fromSequence;
+        final CycleExcerptCounts counts = queue.cycleExcerptCounts();
+        // counted from the file if it was rolled without recording its count, e.g. by the Pretoucher
+        final long fromCycleCount = counts.rolledCount(fromCycle);
+        return Math.max(0, fromCycleCount - fromSequence)
+                + counts.sumBetween(fromCycle, toCycle)
+                + toSequence;
+    }
+
+    private static boolean startsWith(CharSequence key, String prefix) {
+        if (key.length() <= prefix.length())
+            return false;
+        for (int i = 0; i < prefix.length(); i++)
+            if (key.charAt(i) != prefix.charAt(i))
+                return false;
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package net.openhft.chronicle.queue.impl.single;
+
+/**
+ * What an appender does when the slowest named tailer is further behind than
+ * {@link SingleChronicleQueueBuilder#backpressureMaxLag()} excerpts.
+ */
+public enum BackpressurePolicy {
+    /**
+     * Busy wait, yielding, until the tailers catch up.
+     */
+    SPIN,
+    /**
+     * Park for a millisecond at a time until the tailers catch up.
+     */
+    PARK,
+    /**
+     * Throw an {@link IllegalStateException}.
+     */
+    FAIL,
+    /**
+     * Discard the excerpt.
+     */
+    DROP
+}
@@ -0,0 +1,201 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The compressed archive of a cycle file which has been rolled. The queue doesn't read a compressed cycle, it is restored to its
+ * cycle file first.
+ * <p>
+ * The compressed copy sits next to the cycle file, e.g. {@code 20211018.cq4z} for {@code 20211018.cq4}, and is laid out as
+ * a header, a table of the offsets of each block and the blocks, each of which is {@code 1 << blockShift} bytes of the cycle file
+ * deflated independently of the others.
+ */
+final class CompressedCycle {
+    static final String SUFFIX = ".cq4z";
+    static final int DEFAULT_BLOCK_SHIFT = 16;
+    private static final int MAGIC = 0x43513478; // CQ4x
+    private static final int HEADER_SIZE = 32;
+
+    private final RandomAccessFile file;
+    private final int blockShift;
+    private final long rawLength;
+    private final long[] offsets;
+    private final Inflater inflater = new Inflater();
+    private byte[] compressed = {};
+
+    private CompressedCycle(RandomAccessFile file) throws IOException {
+        this.file = file;
+        if (file.readInt() != MAGIC)
+            throw new IOException("Not a compressed cycle file");
+        blockShift = file.readInt();
+        rawLength = file.readLong();
+        final int blocks = file.readInt();
+        offsets = new long[blocks + 1];
+        file.seek(HEADER_SIZE);
+        for (int i = 0; i <= blocks; i++)
+            offsets[i] = file.readLong();
+    }
+
+    @NotNull
+    static File fileFor(@NotNull File cycleFile) {
+        final String fileName = cycleFile.getName();
+        return new File(cycleFile.getParentFile(),
+                fileName.substring(0, fileName.length() - SingleChronicleQueue.SUFFIX.length()) + SUFFIX);
+    }
+
+    /**
+     * @return the name of the cycle file for a cycle file or its compressed copy, or null for any other file.
+     */
+    @Nullable
+    static String cycleFileName(@NotNull String fileName) {
+        if (fileName.endsWith(SingleChronicleQueue.SUFFIX))
+            return fileName;
+        if (fileName.endsWith(SUFFIX))
+            return fileName.substring(0, fileName.length() - SUFFIX.length()) + SingleChronicleQueue.SUFFIX;
+        return null;
+    }
+
+    @NotNull
+    private static CompressedCycle open(@NotNull File compressedFile) {
+        try {
+            final RandomAccessFile raf = new RandomAccessFile(compressedFile, "r");
+            try {
+                return new CompressedCycle(raf);
+            } catch (IOException e) {
+                raf.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes the compressed copy of a cycle file. The copy is written to a temporary file and renamed, so it is either complete or absent.
+     */
+    static void compress(@NotNull File cycleFile, int blockShift) {
+        final File compressedFile = fileFor(cycleFile);
+        final File tmp = new File(compressedFile.getPath() + ".tmp");
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            try (RandomAccessFile in = new RandomAccessFile(cycleFile, "r");
+                 RandomAccessFile out = new RandomAccessFile(tmp, "rw")) {
+                final long rawLength = in.length();
+                final int blockSize = 1 << blockShift;
+                final int blocks = (int) ((rawLength + blockSize - 1) >>> blockShift);
+                final long[] offsets = new long[blocks + 1];
+                final byte[] raw = new byte[blockSize];
+                final byte[] buffer = new byte[blockSize + (blockSize >>> 4) + 64];
+
+                long offset = HEADER_SIZE + 8L * (blocks + 1);
+                out.seek(offset);
+                for (int i = 0; i < blocks; i++) {
+                    offsets[i] = offset;
+                    final int length = (int) Math.min(blockSize, rawLength - ((long) i << blockShift));
+                    in.readFully(raw, 0, length);
+                    deflater.reset();
+                    deflater.setInput(raw, 0, length);
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        final int n = deflater.deflate(buffer);
+                        out.write(buffer, 0, n);
+                        offset += n;
+                    }
+                }
+                offsets[blocks] = offset;
+
+                out.seek(0);
+                out.writeInt(MAGIC);
+                out.writeInt(blockShift);
+                out.writeLong(rawLength);
+                out.writeInt(blocks);
+                out.seek(HEADER_SIZE);
+                for (long o : offsets)
+                    out.writeLong(o);
+                out.getFD().sync();
+            }
+            Files.move(tmp.toPath(), compressedFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+            throw new IORuntimeException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Restores a cycle file from its compressed copy, if it has one and the cycle file doesn't exist.
+     */
+    static void restore(@NotNull File cycleFile) {
+        final File compressedFile = fileFor(cycleFile);
+        if (cycleFile.exists() || !compressedFile.exists())
+            return;
+        final File tmp;
+        try {
+            tmp = File.createTempFile(cycleFile.getName(), ".tmp", cycleFile.getParentFile());
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        final CompressedCycle compressed = open(compressedFile);
+        try {
+            try (RandomAccessFile out = new RandomAccessFile(tmp, "rw")) {
+                out.setLength(compressed.rawLength);
+                final byte[] block = new byte[1 << compressed.blockShift];
+                for (int i = 0; i < compressed.offsets.length - 1; i++)
+                    out.write(block, 0, compressed.inflate(i, block));
+            }
+            // another thread or process may have restored it already, with the same contents
+            Files.move(tmp.toPath(), cycleFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        } finally {
+            compressed.close();
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+        }
+    }
+
+    // @return the length of the block
+    private int inflate(int index, byte[] block) {
+        try {
+            final int length = (int) (offsets[index + 1] - offsets[index]);
+            if (compressed.length < length)
+                compressed = new byte[length];
+            file.seek(offsets[index]);
+            file.readFully(compressed, 0, length);
+            inflater.reset();
+            inflater.setInput(compressed, 0, length);
+            int blockLength = 0;
+            while (!inflater.finished() && blockLength < block.length) {
+                final int n = inflater.inflate(block, blockLength, block.length - blockLength);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new IOException("Truncated block " + index);
+                blockLength += n;
+            }
+            return blockLength;
+        } catch (IOException | DataFormatException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private void close() {
+        inflater.end();
+        try {
+            file.close();
+        } catch (IOException ignored) {
+            // nothing to do
+        }
+    }
+}
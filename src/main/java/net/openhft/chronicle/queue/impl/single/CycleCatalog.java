@@ -0,0 +1,361 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.values.LongArrayValues;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * The cycles a writable queue has, so it can be opened and its cycles listed without listing and parsing the directory.
+ * <p>
+ * The cycles are held as runs of consecutive cycles in a single record of the queue's metadata table store, {@code chronicle.cycles},
+ * so the table store doesn't grow with each cycle. A cycle is added when its file is created and removed when it is deleted. Cycles
+ * deleted by other means are found when the directory is next listed, on a forced refresh of the directory listing. If the cycles
+ * need more than {@link #RUNS} runs, the catalog is marked as overflowed and the directory is listed instead until a listing fits.
+ * <p>
+ * A cycle has been rolled once a later cycle exists or it was rolled without one being created. The size of a rolled cycle is that
+ * of its file in whichever tier holds it and its final sequence comes from its recorded {@link CycleExcerptCounts excerpt count}.
+ */
+final class CycleCatalog {
+    static final String KEY = "chronicle.cycles";
+    static final int RUNS = 128;
+    static final int UNKNOWN = 0;
+    static final int CREATED = 1;
+    static final int ROLLED = 2;
+    // odd while being written, so readers in other processes retry
+    private static final int MOD_COUNT = 0;
+    // the latest cycle rolled, plus one so none is 0
+    private static final int LAST_ROLLED = 1;
+    // the number of runs or -1 once overflowed
+    private static final int RUN_COUNT = 2;
+    private static final int HEADER = 3;
+    private static final int OVERFLOWED = -1;
+
+    private final SingleChronicleQueue queue;
+    @Nullable
+    private LongArrayValues array;
+    private long modCount = -1;
+    // the first and last cycle of each run, in order
+    private int[] runs = {};
+    private int lastRolled = Integer.MIN_VALUE;
+    private boolean overflowed;
+
+    CycleCatalog(@NotNull SingleChronicleQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * @return whether no cycles are available from the catalog, e.g. the queue was last written by a version without a catalog or it
+     * overflowed.
+     */
+    synchronized boolean isEmpty() {
+        loadIfNeeded();
+        return runs.length == 0;
+    }
+
+    /**
+     * @return the first cycle in the catalog, or {@link Integer#MAX_VALUE} if it is empty.
+     */
+    synchronized int firstCycle() {
+        loadIfNeeded();
+        return runs.length == 0 ? Integer.MAX_VALUE : runs[0];
+    }
+
+    /**
+     * @return the last cycle in the catalog, or {@link Integer#MIN_VALUE} if it is empty.
+     */
+    synchronized int lastCycle() {
+        loadIfNeeded();
+        return runs.length == 0 ? Integer.MIN_VALUE : runs[runs.length - 1];
+    }
+
+    synchronized boolean contains(int cycle) {
+        loadIfNeeded();
+        return indexOf(runs, cycle) >= 0;
+    }
+
+    /**
+     * @return the cycle in the catalog after this one, or before it if not {@code forward}, or -1 if there is none.
+     */
+    synchronized int nextCycle(int cycle, boolean forward) {
+        loadIfNeeded();
+        if (forward) {
+            for (int i = 0; i < runs.length; i += 2) {
+                if (cycle < runs[i])
+                    return runs[i];
+                if (cycle < runs[i + 1])
+                    return cycle + 1;
+            }
+        } else {
+            for (int i = runs.length - 2; i >= 0; i -= 2) {
+                if (cycle > runs[i + 1])
+                    return runs[i + 1];
+                if (cycle > runs[i])
+                    return cycle - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the cycles in the catalog from {@code lowerCycle} to {@code upperCycle} inclusive, in order.
+     */
+    @NotNull
+    synchronized NavigableSet<Integer> cycles(int lowerCycle, int upperCycle) {
+        loadIfNeeded();
+        final NavigableSet<Integer> cycles = new TreeSet<>();
+        for (int i = 0; i < runs.length && runs[i] <= upperCycle; i += 2) {
+            final int last = Math.min(runs[i + 1], upperCycle);
+            // stops before overflowing at Integer.MAX_VALUE
+            for (int cycle = Math.max(runs[i], lowerCycle); cycle <= last && cycle >= lowerCycle; cycle++)
+                cycles.add(cycle);
+        }
+        return cycles;
+    }
+
+    /**
+     * @return one of {@link #CREATED}, {@link #ROLLED} or {@link #UNKNOWN} if the cycle isn't in the catalog.
+     */
+    synchronized int state(int cycle) {
+        loadIfNeeded();
+        if (indexOf(runs, cycle) < 0)
+            return UNKNOWN;
+        return cycle <= lastRolled || cycle < runs[runs.length - 1] ? ROLLED : CREATED;
+    }
+
+    /**
+     * @return the size of the file of a rolled cycle in the tier which holds it, or -1 if it hasn't been rolled.
+     */
+    long size(int cycle) {
+        if (state(cycle) != ROLLED)
+            return -1;
+        final File file = queue.storageTiers().locate(queue.fileForCycle(cycle));
+        return file.length();
+    }
+
+    /**
+     * @return the sequence number of the last excerpt in a rolled cycle, or -1 if it hasn't been rolled or is empty.
+     */
+    long finalSequence(int cycle) {
+        final long count = state(cycle) == ROLLED ? queue.cycleExcerptCounts().count(cycle) : -1;
+        return count <= 0 ? -1 : count - 1;
+    }
+
+    synchronized void onCreated(int cycle) {
+        update(() -> !overflowed && indexOf(runs, cycle) < 0 && set(add(runs, cycle), lastRolled));
+    }
+
+    synchronized void onRolled(int cycle) {
+        update(() -> cycle > lastRolled && set(overflowed || indexOf(runs, cycle) >= 0 ? runs : add(runs, cycle), cycle));
+    }
+
+    synchronized void onDeleted(int cycle) {
+        update(() -> !overflowed && indexOf(runs, cycle) >= 0 && set(remove(runs, cycle), lastRolled));
+    }
+
+    /**
+     * Replaces the catalog with the cycles in a listing of the directories.
+     *
+     * @param fileNames       the names of the files in the queue's directories
+     * @param fileNameToCycle to parse the names of cycle files
+     */
+    synchronized void reconcile(@Nullable String[] fileNames, @NotNull ToIntFunction<String> fileNameToCycle) {
+        if (fileNames == null)
+            return;
+        loadIfNeeded();
+        final int[] cycles = new int[fileNames.length];
+        int count = 0;
+        for (String fileName : fileNames) {
+            if (fileName.endsWith(SingleChronicleQueue.SUFFIX))
+                cycles[count++] = fileNameToCycle.applyAsInt(fileName);
+        }
+        Arrays.sort(cycles, 0, count);
+        int[] runs = {};
+        int lastRolled = this.lastRolled;
+        for (int i = 0; i < count; i++) {
+            final int cycle = cycles[i];
+            if (i > 0 && cycle == cycles[i - 1])
+                continue;
+            runs = add(runs, cycle);
+            if (cycle > lastRolled && queue.cycleExcerptCounts().count(cycle) >= 0)
+                lastRolled = cycle;
+        }
+        final int[] listed = runs;
+        final int listedLastRolled = lastRolled;
+        update(() -> {
+            overflowed = false;
+            return set(listed, Math.max(lastRolled, listedLastRolled));
+        });
+    }
+
+    /**
+     * Picks up cycles recorded by other processes, if there have been any changes.
+     */
+    synchronized void reload() {
+        final LongArrayValues array = array();
+        if (array == null)
+            return;
+        // gives up on a process which died part way through an update, until the next one
+        for (int tries = 0; tries < 1000; tries++) {
+            final long modCount = array.getVolatileValueAt(MOD_COUNT);
+            if (modCount == this.modCount)
+                return;
+            if ((modCount & 1) != 0) {
+                Jvm.nanoPause();
+                continue;
+            }
+            final long lastRolled = array.getVolatileValueAt(LAST_ROLLED);
+            final int runCount = (int) array.getVolatileValueAt(RUN_COUNT);
+            final int[] runs = new int[Math.max(0, Math.min(runCount, RUNS)) * 2];
+            for (int i = 0; i < runs.length; i++)
+                runs[i] = (int) array.getVolatileValueAt(HEADER + i);
+            // changed while it was read
+            if (array.getVolatileValueAt(MOD_COUNT) != modCount)
+                continue;
+            this.modCount = modCount;
+            this.lastRolled = lastRolled == 0 ? Integer.MIN_VALUE : (int) (lastRolled - 1);
+            this.overflowed = runCount == OVERFLOWED;
+            this.runs = runs;
+            return;
+        }
+        if (this.modCount == -1)
+            this.modCount = 0;
+    }
+
+    private void loadIfNeeded() {
+        if (modCount == -1)
+            reload();
+    }
+
+    // applies a change under the table store's lock, to the latest cycles as other processes may have changed them
+    private void update(@NotNull BooleanSupplier change) {
+        final LongArrayValues array = queue.isReadOnly() ? null : array();
+        if (array == null) {
+            loadIfNeeded();
+            change.getAsBoolean();
+            return;
+        }
+        try {
+            queue.metaStore.doWithExclusiveLock(ts -> {
+                reload();
+                if (!change.getAsBoolean())
+                    return null;
+                final long modCount = array.getVolatileValueAt(MOD_COUNT) | 1;
+                array.setOrderedValueAt(MOD_COUNT, modCount);
+                array.setOrderedValueAt(LAST_ROLLED, lastRolled == Integer.MIN_VALUE ? 0 : lastRolled + 1L);
+                array.setOrderedValueAt(RUN_COUNT, overflowed ? OVERFLOWED : runs.length / 2);
+                for (int i = 0; i < runs.length; i++)
+                    array.setOrderedValueAt(HEADER + i, runs[i]);
+                array.setOrderedValueAt(MOD_COUNT, modCount + 1);
+                this.modCount = modCount + 1;
+                return null;
+            });
+        } catch (Exception e) {
+            Jvm.warn().on(getClass(), "Unable to update the cycle catalog, file=" + queue.file(), e);
+        }
+    }
+
+    // @return true as it is always a change
+    private boolean set(int[] runs, int lastRolled) {
+        if (!overflowed && runs.length > 2 * RUNS) {
+            Jvm.warn().on(getClass(), "More than " + RUNS + " runs of cycles, listing the directory instead, file=" + queue.file());
+            overflowed = true;
+        }
+        this.runs = overflowed ? new int[0] : runs;
+        this.lastRolled = lastRolled;
+        return true;
+    }
+
+    // acquired once, so an update is a few ordered writes rather than a search of the table store
+    @Nullable
+    private LongArrayValues array() {
+        if (array != null)
+            return array;
+        try {
+            if (queue.isReadOnly()) {
+                final LongArrayValues[] found = {null};
+                queue.metaStore.forEachKey(found, (array, key, value) -> {
+                    if (array[0] == null && KEY.contentEquals(key)) {
+                        array[0] = queue.wireType().newLongArrayReference().get();
+                        value.int64array(array[0], array, (o1, o2) -> {
+                        });
+                    }
+                });
+                array = found[0];
+            } else {
+                array = queue.metaStore.doWithExclusiveLock(ts -> ts.acquireArrayFor(KEY, HEADER + 2 * RUNS));
+            }
+        } catch (Exception e) {
+            Jvm.warn().on(getClass(), "Unable to acquire the cycle catalog, file=" + queue.file(), e);
+        }
+        return array;
+    }
+
+    // the index of the run holding this cycle or -1
+    private static int indexOf(int[] runs, int cycle) {
+        for (int i = 0; i < runs.length; i += 2)
+            if (cycle >= runs[i] && cycle <= runs[i + 1])
+                return i;
+        return -1;
+    }
+
+    private static int[] add(int[] runs, int cycle) {
+        int i = 0;
+        while (i < runs.length && runs[i + 1] < cycle)
+            i += 2;
+        final boolean extendsPrevious = i > 0 && runs[i - 1] == cycle - 1;
+        final boolean extendsNext = i < runs.length && runs[i] == cycle + 1;
+        if (extendsPrevious && extendsNext) {
+            // joins two runs
+            final int[] joined = new int[runs.length - 2];
+            System.arraycopy(runs, 0, joined, 0, i - 1);
+            System.arraycopy(runs, i + 1, joined, i - 1, runs.length - i - 1);
+            return joined;
+        }
+        if (extendsPrevious || extendsNext) {
+            final int[] extended = runs.clone();
+            extended[extendsPrevious ? i - 1 : i] = cycle;
+            return extended;
+        }
+        final int[] inserted = new int[runs.length + 2];
+        System.arraycopy(runs, 0, inserted, 0, i);
+        inserted[i] = cycle;
+        inserted[i + 1] = cycle;
+        System.arraycopy(runs, i, inserted, i + 2, runs.length - i);
+        return inserted;
+    }
+
+    private static int[] remove(int[] runs, int cycle) {
+        final int i = indexOf(runs, cycle);
+        final int first = runs[i];
+        final int last = runs[i + 1];
+        if (first == last) {
+            final int[] removed = new int[runs.length - 2];
+            System.arraycopy(runs, 0, removed, 0, i);
+            System.arraycopy(runs, i + 2, removed, i, runs.length - i - 2);
+            return removed;
+        }
+        if (cycle == first || cycle == last) {
+            final int[] shrunk = runs.clone();
+            if (cycle == first)
+                shrunk[i] = cycle + 1;
+            else
+                shrunk[i + 1] = cycle - 1;
+            return shrunk;
+        }
+        // splits the run
+        final int[] split = new int[runs.length + 2];
+        System.arraycopy(runs, 0, split, 0, i + 1);
+        split[i + 1] = cycle - 1;
+        split[i + 2] = cycle + 1;
+        System.arraycopy(runs, i + 1, split, i + 3, runs.length - i - 1);
+        return split;
+    }
+}
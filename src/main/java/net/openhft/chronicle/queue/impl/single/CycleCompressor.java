@@ -0,0 +1,113 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.function.ToIntFunction;
+
+/**
+ * Archives the files of cycles which have been rolled as a {@link CompressedCycle}, from the queue's {@link Housekeeper}.
+ * <p>
+ * A cycle is compressed once its EOF has been written, which is when its excerpt count is recorded, and it ended more than
+ * {@code maxAgeMs} ago, unless a named tailer or consumer group still has to read it. The cycle file is deleted once the compressed
+ * copy is complete, and the cycle is then removed from the queue as it is by the {@link RetentionManager}. A cycle which has been
+ * {@link SingleChronicleQueue#restoreCompressedCycle(int) restored} is left as it is.
+ */
+final class CycleCompressor extends AbstractCloseable implements EventHandler {
+    private static final long CHECK_INTERVAL_MS = 1000;
+
+    private final SingleChronicleQueue queue;
+    private final long maxAgeMs;
+    private final int blockShift;
+    private long nextCheckMS;
+
+    CycleCompressor(@NotNull SingleChronicleQueue queue, long maxAgeMs, int blockShift) {
+        this.queue = queue;
+        this.maxAgeMs = maxAgeMs;
+        this.blockShift = blockShift;
+        queue.addCloseListener(this);
+        disableThreadSafetyCheck(true);
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        synchronized (this) {
+            if (isClosing())
+                throw new InvalidEventHandlerException("closed");
+            final long now = System.currentTimeMillis();
+            if (now < nextCheckMS)
+                return false;
+            nextCheckMS = now + CHECK_INTERVAL_MS;
+            return compressRolledCycles() > 0;
+        }
+    }
+
+    /**
+     * @return the number of cycles compressed.
+     */
+    synchronized int compressRolledCycles() {
+        int compressed = 0;
+        for (File path : queue.storageTiers().paths()) {
+            final File[] files = path.listFiles((d, n) -> n.endsWith(SingleChronicleQueue.SUFFIX));
+            if (files != null)
+                compressed += compressRolledCycles(files);
+        }
+        if (compressed > 0)
+            queue.refreshDirectoryListing();
+        return compressed;
+    }
+
+    private int compressRolledCycles(File[] files) {
+        final int lastCycle = queue.lastCycle();
+        final int neededCycle = RetentionManager.firstCycleNeededByTailers(queue);
+        final CycleExcerptCounts counts = queue.cycleExcerptCounts();
+        counts.reload();
+        final ToIntFunction<String> fileNameToCycle = queue.fileNameToCycleFunction();
+        final long lengthInMillis = queue.rollCycle().lengthInMillis();
+        final long now = queue.time().currentTimeMillis();
+        int compressed = 0;
+        for (File file : files) {
+            if (isClosing())
+                break;
+            final int cycle = fileNameToCycle.applyAsInt(file.getName());
+            final long cycleEndMS = queue.epoch() + (cycle + 1L) * lengthInMillis;
+            if (cycle >= lastCycle || cycle >= neededCycle || now - cycleEndMS < maxAgeMs || counts.rolledCount(cycle) < 0)
+                continue;
+            // restored to be read again
+            if (CompressedCycle.fileFor(file).exists())
+                continue;
+            try {
+                CompressedCycle.compress(file, blockShift);
+                // so the mapping is released once the tailers reading it have moved on, rather than when the queue is closed
+                queue.pool.closeStore(cycle);
+                if (!file.delete()) {
+                    // e.g. still mapped on Windows, compressed again on the next check rather than taken for a restored copy
+                    //noinspection ResultOfMethodCallIgnored
+                    CompressedCycle.fileFor(file).delete();
+                    continue;
+                }
+                queue.cycleCatalog().onDeleted(cycle);
+                queue.cycleExcerptCounts().remove(cycle);
+                compressed++;
+            } catch (Exception e) {
+                Jvm.warn().on(getClass(), "Unable to compress " + file, e);
+            }
+        }
+        return compressed;
+    }
+
+    @Override
+    public @NotNull HandlerPriority priority() {
+        return HandlerPriority.MONITOR;
+    }
+
+    @Override
+    protected void performClose() {
+        // nothing held open between checks
+    }
+}
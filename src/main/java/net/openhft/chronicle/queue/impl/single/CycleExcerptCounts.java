@@ -0,0 +1,254 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.values.LongArrayValues;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+
+/**
+ * The number of excerpts in each cycle which has been rolled, so counts across many cycles don't need to read the cycle files.
+ * <p>
+ * The count is recorded when the appender rolls, and the counts of the latest {@link #SLOTS} cycles are persisted in a single
+ * record of the queue's metadata table store, {@code chronicle.excerptCounts}, so they are available to other processes and
+ * when the queue is reopened without the table store growing with each cycle. Each slot holds a cycle, plus one so an empty slot
+ * is 0, and its count. The count of a rolled cycle which wasn't recorded, e.g. one rolled by the {@link Pretoucher}, written
+ * before counts were recorded or older than the slots, is counted from its file the first time it is needed.
+ * <p>
+ * The counts are held in memory with their prefix sums, so the total for a range of cycles is two binary searches.
+ */
+final class CycleExcerptCounts {
+    static final String KEY = "chronicle.excerptCounts";
+    static final int SLOTS = 128;
+
+    private final SingleChronicleQueue queue;
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    @Nullable
+    private LongArrayValues slots;
+    private int[] cycles = {};
+    // sums[i] is the total of the counts for cycles[0 .. i)
+    private long[] sums = {0};
+    private boolean rebuild;
+    private boolean loaded;
+
+    CycleExcerptCounts(@NotNull SingleChronicleQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * @return the recorded count for this cycle or -1 if there isn't one.
+     */
+    synchronized long count(int cycle) {
+        loadIfNeeded();
+        final Long count = counts.get(cycle);
+        return count == null ? -1 : count;
+    }
+
+    /**
+     * @return the count for this cycle, counting it if it has been rolled, as a later cycle exists, and it wasn't recorded, or -1 if it
+     * hasn't been rolled or doesn't exist.
+     */
+    long rolledCount(int cycle) {
+        long count = count(cycle);
+        if (count >= 0 || cycle >= queue.lastCycle())
+            return count;
+        // rolled by another process
+        reload();
+        count = count(cycle);
+        if (count >= 0)
+            return count;
+        count = queue.exactExcerptsInCycle(cycle);
+        record(cycle, count);
+        return count;
+    }
+
+    /**
+     * Records the number of excerpts in a cycle which won't be written to again.
+     */
+    synchronized void record(int cycle, long count) {
+        if (count < 0)
+            return;
+        loadIfNeeded();
+        final Long previous = counts.put(cycle, count);
+        if (previous != null && previous == count)
+            return;
+        if (previous == null && cycles.length > 0 && cycle > cycles[cycles.length - 1] && !rebuild) {
+            // the usual case of the latest cycle being rolled
+            cycles = Arrays.copyOf(cycles, cycles.length + 1);
+            cycles[cycles.length - 1] = cycle;
+            sums = Arrays.copyOf(sums, sums.length + 1);
+            sums[sums.length - 1] = sums[sums.length - 2] + count;
+        } else {
+            rebuild = true;
+        }
+        persist(cycle, count);
+    }
+
+    /**
+     * Forgets the count of a cycle which has been deleted.
+     */
+    synchronized void remove(int cycle) {
+        loadIfNeeded();
+        if (counts.remove(cycle) == null)
+            return;
+        rebuild = true;
+        final LongArrayValues slots = slots();
+        final int slot = slot(cycle);
+        if (slots != null && !queue.isReadOnly())
+            slots.compareAndSet(slot, cycle + 1L, 0);
+    }
+
+    /**
+     * @return the number of cycles strictly between {@code lowerCycle} and {@code upperCycle} with a recorded count.
+     */
+    synchronized int cyclesBetween(int lowerCycle, int upperCycle) {
+        rebuildIfNeeded();
+        return fromIndex(upperCycle) - toIndex(lowerCycle);
+    }
+
+    /**
+     * @return the total of the counts of the cycles strictly between {@code lowerCycle} and {@code upperCycle}, counting those
+     * which weren't recorded.
+     */
+    long sumBetween(int lowerCycle, int upperCycle) {
+        if (upperCycle - lowerCycle > 1)
+            countUnrecorded(lowerCycle, upperCycle);
+        synchronized (this) {
+            rebuildIfNeeded();
+            final int from = toIndex(lowerCycle);
+            final int to = fromIndex(upperCycle);
+            return to <= from ? 0 : sums[to] - sums[from];
+        }
+    }
+
+    /**
+     * Picks up counts recorded by other processes.
+     */
+    synchronized void reload() {
+        loaded = false;
+        loadIfNeeded();
+        // removed by another process
+        final int firstCycle = queue.firstCycle();
+        if (firstCycle != Integer.MAX_VALUE)
+            counts.headMap(firstCycle).clear();
+    }
+
+    // counts the cycles in between which exist but weren't recorded, outside the lock as it reads their files
+    private void countUnrecorded(int lowerCycle, int upperCycle) {
+        // only those a later cycle exists after
+        final int upper = Math.min(upperCycle - 1, queue.lastCycle() - 1);
+        if (upper <= lowerCycle)
+            return;
+        final NavigableSet<Long> cycles;
+        try {
+            cycles = queue.listCyclesBetween(lowerCycle + 1, upper);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+        final List<Integer> missing = new ArrayList<>();
+        synchronized (this) {
+            loadIfNeeded();
+            for (Long cycle : cycles)
+                if (!counts.containsKey(cycle.intValue()))
+                    missing.add(cycle.intValue());
+        }
+        for (int cycle : missing)
+            rolledCount(cycle);
+    }
+
+    // the index of the first cycle after this one
+    private int toIndex(int cycle) {
+        final int i = Arrays.binarySearch(cycles, cycle);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    // the index of the first cycle at or after this one
+    private int fromIndex(int cycle) {
+        final int i = Arrays.binarySearch(cycles, cycle);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static int slot(int cycle) {
+        return 2 * Math.floorMod(cycle, SLOTS);
+    }
+
+    private void loadIfNeeded() {
+        if (loaded)
+            return;
+        loaded = true;
+        final LongArrayValues slots = slots();
+        if (slots != null) {
+            for (int i = 0; i < 2 * SLOTS; i += 2) {
+                final long cycle = slots.getVolatileValueAt(i);
+                final long count = slots.getVolatileValueAt(i + 1);
+                // changed while it was read
+                if (cycle == 0 || cycle != slots.getVolatileValueAt(i))
+                    continue;
+                counts.put((int) (cycle - 1), count);
+            }
+        }
+        rebuild = true;
+    }
+
+    private void rebuildIfNeeded() {
+        loadIfNeeded();
+        if (!rebuild)
+            return;
+        cycles = new int[counts.size()];
+        sums = new long[counts.size() + 1];
+        int i = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            cycles[i] = entry.getKey();
+            sums[i + 1] = sums[i] + entry.getValue();
+            i++;
+        }
+        rebuild = false;
+    }
+
+    // acquired once, so recording a count is a few ordered writes rather than a search of the table store
+    @Nullable
+    private LongArrayValues slots() {
+        if (slots != null)
+            return slots;
+        try {
+            if (queue.isReadOnly()) {
+                final LongArrayValues[] found = {null};
+                queue.metaStore.forEachKey(found, (array, key, value) -> {
+                    if (array[0] == null && KEY.contentEquals(key)) {
+                        array[0] = queue.wireType().newLongArrayReference().get();
+                        value.int64array(array[0], array, (o1, o2) -> {
+                        });
+                    }
+                });
+                slots = found[0];
+            } else {
+                slots = queue.metaStore.doWithExclusiveLock(ts -> ts.acquireArrayFor(KEY, 2 * SLOTS));
+            }
+        } catch (Exception e) {
+            Jvm.warn().on(getClass(), "Unable to acquire the excerpt counts, file=" + queue.file(), e);
+        }
+        return slots;
+    }
+
+    private void persist(int cycle, long count) {
+        if (queue.isReadOnly())
+            return;
+        final LongArrayValues slots = slots();
+        if (slots == null)
+            return;
+        final int slot = slot(cycle);
+        // a later cycle's count is kept over an earlier one's
+        if (slots.getVolatileValueAt(slot) > cycle + 1L)
+            return;
+        slots.setOrderedValueAt(slot, 0);
+        slots.setOrderedValueAt(slot + 1, count);
+        slots.setOrderedValueAt(slot, cycle + 1L);
+    }
+}
@@ -0,0 +1,271 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+import static net.openhft.chronicle.queue.impl.single.TableDirectoryListing.UNSET_MAX_CYCLE;
+import static net.openhft.chronicle.queue.impl.single.TableDirectoryListing.UNSET_MIN_CYCLE;
+
+/**
+ * The cycle files in every {@link StorageTiers tier}, kept up to date from file system events rather than by listing the directories.
+ * <p>
+ * The directories are listed once, then files created and deleted are applied as the {@link WatchService} reports them, which on
+ * Linux is from inotify. Pending events are drained only when the directory listing or the cycle tree is refreshed, by one thread at a
+ * time, so looking at the cycles costs nothing and applying an event costs no file system calls. A cycle is kept while any tier holds
+ * its file, so one moved to another tier isn't dropped.
+ * <p>
+ * The directories are listed again if the events overflowed, a watched directory went away or a tier directory which didn't exist
+ * has been created, which is checked at most once a second while one is missing, or when the last file of a cycle is deleted then.
+ * <p>
+ * Events are delivered asynchronously, so a file may be seen a moment after it is created.
+ */
+final class CycleWatcher extends AbstractCloseable {
+    private static final long TIER_CHECK_INTERVAL_MS = 1000;
+
+    private final StorageTiers tiers;
+    private final Function<File, Long> fileToKey;
+    private final ToIntFunction<String> fileNameToCycle;
+    private final WatchService watchService;
+    private final Lock lock = new ReentrantLock();
+    private final NavigableMap<Long, File> cycles = new ConcurrentSkipListMap<>();
+    // guarded by lock
+    private final Set<File> watched = new HashSet<>();
+    // the files in any tier which hold each cycle
+    private final Map<Long, Set<File>> files = new HashMap<>();
+    private long nextTierCheckMS;
+    private volatile long modCount;
+
+    CycleWatcher(@NotNull StorageTiers tiers, @NotNull Function<File, Long> fileToKey, @NotNull ToIntFunction<String> fileNameToCycle) {
+        this.tiers = tiers;
+        this.fileToKey = fileToKey;
+        this.fileNameToCycle = fileNameToCycle;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        rescan();
+        disableThreadSafetyCheck(true);
+    }
+
+    /**
+     * @return the cycle files by {@link RollingResourcesCache#toLong(File)}, as their path in the queue's directory.
+     * This is a live view, which changes as events are applied.
+     */
+    @NotNull
+    NavigableMap<Long, File> cycleTree() {
+        return cycles;
+    }
+
+    int minCycle() {
+        final Map.Entry<Long, File> entry = cycles.firstEntry();
+        return entry == null ? UNSET_MIN_CYCLE : fileNameToCycle.applyAsInt(entry.getValue().getName());
+    }
+
+    int maxCycle() {
+        final Map.Entry<Long, File> entry = cycles.lastEntry();
+        return entry == null ? UNSET_MAX_CYCLE : fileNameToCycle.applyAsInt(entry.getValue().getName());
+    }
+
+    /**
+     * @return a count which changes whenever a cycle file is added or removed.
+     */
+    long modCount() {
+        return modCount;
+    }
+
+    /**
+     * Adds a cycle file which is known to exist, but may not have been reported yet.
+     */
+    void onFileCreated(@NotNull File cycleFile) {
+        lock.lock();
+        try {
+            if (add(files, cycles, cycleFile))
+                modCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the events reported since the last refresh. If another thread is already applying them, this returns at once.
+     */
+    void refresh() {
+        if (isClosing() || !lock.tryLock())
+            return;
+        try {
+            boolean rescan = watchNewTiers();
+            boolean changed = false;
+            WatchKey key;
+            while (!rescan && (key = watchService.poll()) != null) {
+                final File dir = ((Path) key.watchable()).toFile();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        rescan = true;
+                        continue;
+                    }
+                    final File file = new File(dir, event.context().toString());
+                    if (event.kind() == ENTRY_CREATE)
+                        changed |= add(files, cycles, file);
+                    else if (nextTierCheckMS != Long.MAX_VALUE && isLastFile(file))
+                        // it may have been moved to a tier which isn't watched yet
+                        rescan = true;
+                    else
+                        changed |= remove(file);
+                }
+                if (!key.reset()) {
+                    // e.g. the directory was deleted, watched again once it is back
+                    watched.remove(dir);
+                    nextTierCheckMS = 0;
+                    rescan = true;
+                }
+            }
+            if (rescan)
+                rescan0();
+            else if (changed)
+                modCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lists the directories again, e.g. if events might have been missed.
+     */
+    void rescan() {
+        lock.lock();
+        try {
+            rescan0();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rescan0() {
+        throwExceptionIfClosed();
+        nextTierCheckMS = 0;
+        watchNewTiers();
+        // drop events which the listing includes
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            key.pollEvents();
+            if (!key.reset()) {
+                watched.remove(((Path) key.watchable()).toFile());
+                nextTierCheckMS = 0;
+            }
+        }
+
+        final Map<Long, Set<File>> listedFiles = new HashMap<>();
+        final NavigableMap<Long, File> listed = new TreeMap<>();
+        for (File path : tiers.paths()) {
+            final String[] fileNames = path.list();
+            if (fileNames != null)
+                for (String fileName : fileNames)
+                    add(listedFiles, listed, new File(path, fileName));
+        }
+        files.clear();
+        files.putAll(listedFiles);
+        cycles.keySet().retainAll(listed.keySet());
+        cycles.putAll(listed);
+        modCount++;
+    }
+
+    /**
+     * Watches the tier directories which weren't, as a cold tier or the queue's directory may be created after the queue is opened.
+     *
+     * @return whether any are newly watched.
+     */
+    private boolean watchNewTiers() {
+        final long now = System.currentTimeMillis();
+        if (now < nextTierCheckMS)
+            return false;
+        boolean added = false;
+        boolean missing = false;
+        for (File path : tiers.paths()) {
+            if (watched.contains(path))
+                continue;
+            if (!path.isDirectory()) {
+                missing = true;
+                continue;
+            }
+            try {
+                path.toPath().register(watchService, ENTRY_CREATE, ENTRY_DELETE);
+                watched.add(path);
+                added = true;
+            } catch (IOException e) {
+                Jvm.warn().on(getClass(), "Unable to watch " + path, e);
+                missing = true;
+            }
+        }
+        nextTierCheckMS = missing ? now + TIER_CHECK_INTERVAL_MS : Long.MAX_VALUE;
+        return added;
+    }
+
+    private boolean add(Map<Long, Set<File>> files, NavigableMap<Long, File> cycles, File file) {
+        final String cycleFileName = cycleFileName(file.getName());
+        if (cycleFileName == null)
+            return false;
+        final File cycleFile = new File(tiers.hotPath(), cycleFileName);
+        final Long key = fileToKey.apply(cycleFile);
+        files.computeIfAbsent(key, k -> new HashSet<>()).add(file.getAbsoluteFile());
+        return cycles.putIfAbsent(key, cycleFile) == null;
+    }
+
+    private boolean isLastFile(File file) {
+        final String cycleFileName = cycleFileName(file.getName());
+        if (cycleFileName == null)
+            return false;
+        final Set<File> held = files.get(fileToKey.apply(new File(tiers.hotPath(), cycleFileName)));
+        return held != null && held.size() == 1 && held.contains(file.getAbsoluteFile());
+    }
+
+    @Nullable
+    private static String cycleFileName(String name) {
+        return name.endsWith(SingleChronicleQueue.SUFFIX) ? name : null;
+    }
+
+    private boolean remove(File file) {
+        final String cycleFileName = cycleFileName(file.getName());
+        if (cycleFileName == null)
+            return false;
+        final Long key = fileToKey.apply(new File(tiers.hotPath(), cycleFileName));
+        final Set<File> held = files.get(key);
+        // it may have been moved to another tier first
+        if (held == null || !held.remove(file.getAbsoluteFile()) || !held.isEmpty())
+            return false;
+        files.remove(key);
+        return cycles.remove(key) != null;
+    }
+
+    @Override
+    protected void performClose() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Jvm.debug().on(getClass(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package net.openhft.chronicle.queue.impl.single;
+
+/**
+ * When excerpts appended by this process are synced to disk, rather than left in the OS page cache.
+ * Every policy other than {@link #NONE} also syncs when an appender calls {@link StoreAppender#sync()}.
+ * <p>
+ * A sync only writes back the pages appended through the queue's mappings on Linux. Elsewhere, e.g. on Windows, it may not.
+ */
+public enum DurabilityPolicy {
+    /**
+     * Leave writing back to the OS.
+     */
+    NONE,
+    /**
+     * Sync every {@link SingleChronicleQueueBuilder#syncIntervalMicros()}.
+     */
+    PERIODIC,
+    /**
+     * Sync once {@link SingleChronicleQueueBuilder#syncEveryMessages()} excerpts or
+     * {@link SingleChronicleQueueBuilder#syncEveryBytes()} bytes have been appended since the last sync.
+     */
+    EVERY_N,
+    /**
+     * Only sync when an appender asks to.
+     */
+    ON_DEMAND
+}
@@ -1,6 +1,7 @@
 package net.openhft.chronicle.queue.impl.single;
 
 import net.openhft.chronicle.core.io.SimpleCloseable;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.util.function.ToIntFunction;
@@ -8,15 +9,19 @@ import java.util.function.ToIntFunction;
 import static net.openhft.chronicle.queue.impl.single.TableDirectoryListing.*;
 
 final class FileSystemDirectoryListing extends SimpleCloseable implements DirectoryListing {
-    private final File queueDir;
+    private final StorageTiers tiers;
+    @Nullable
+    private final CycleWatcher watcher;
     private final ToIntFunction<String> fileNameToCycleFunction;
     private int minCreatedCycle = Integer.MAX_VALUE;
     private int maxCreatedCycle = Integer.MIN_VALUE;
     private long lastRefreshTimeMS;
 
-    FileSystemDirectoryListing(final File queueDir,
+    FileSystemDirectoryListing(final StorageTiers tiers,
+                               @Nullable final CycleWatcher watcher,
                                final ToIntFunction<String> fileNameToCycleFunction) {
-        this.queueDir = queueDir;
+        this.tiers = tiers;
+        this.watcher = watcher;
         this.fileNameToCycleFunction = fileNameToCycleFunction;
     }
 
@@ -29,7 +34,14 @@ final class FileSystemDirectoryListing extends SimpleCloseable implements Direct
     public void refresh(boolean force) {
         lastRefreshTimeMS = System.currentTimeMillis();
 
-        final String[] fileNamesList = queueDir.list();
+        if (watcher != null) {
+            watcher.refresh();
+            minCreatedCycle = watcher.minCycle();
+            maxCreatedCycle = watcher.maxCycle();
+            return;
+        }
+
+        final String[] fileNamesList = tiers.list();
         String minFilename = INITIAL_MIN_FILENAME;
         String maxFilename = INITIAL_MAX_FILENAME;
         if (fileNamesList != null) {
@@ -73,7 +85,7 @@ final class FileSystemDirectoryListing extends SimpleCloseable implements Direct
 
     @Override
     public long modCount() {
-        return -1;
+        return watcher == null ? -1 : watcher.modCount();
     }
 
     @Override
@@ -0,0 +1,173 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.values.LongValue;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycle;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.text.ParseException;
+import java.util.NavigableSet;
+
+import static net.openhft.chronicle.wire.NoDocumentContext.INSTANCE;
+
+/**
+ * A member of a consumer group, which reads the ranges of the queue it claims so each excerpt is read by one member of the group.
+ * <p>
+ * The group's next unclaimed index is a value in the queue's metadata table store, {@code group.<group>.next}, which members advance with a
+ * compare-and-swap to claim the next {@code rangeSize} excerpts of a cycle. A member moves to the start of its range with the index,
+ * so the excerpts claimed by other members are never read. A range ends early if its cycle is rolled before it is full, which it is
+ * once a later cycle exists.
+ * <p>
+ * Each member's range and its progress through it are kept under {@code group.<group>.<member>.}, and the progress is updated when the
+ * next excerpt is read, so a process which replaces a member with the same name finishes its range from the first excerpt which wasn't
+ * completely read. Excerpts are therefore read at least once: the last excerpt a member read before it stopped may be read again.
+ */
+public final class GroupTailer extends AbstractCloseable {
+    static final String KEY_PREFIX = "group.";
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final SingleChronicleQueue queue;
+    private final ExcerptTailer tailer;
+    private final RollCycle rollCycle;
+    private final int rangeSize;
+    // the group's next unclaimed index
+    private final LongValue next;
+    // this member's claimed range, [position, end)
+    private final LongValue position;
+    private final LongValue end;
+    private boolean seek = true;
+    private long readUpTo = UNSET;
+
+    GroupTailer(@NotNull SingleChronicleQueue queue, @NotNull String group, @NotNull String member, int rangeSize) {
+        if (rangeSize < 1)
+            throw new IllegalArgumentException("rangeSize: " + rangeSize);
+        this.queue = queue;
+        this.rollCycle = queue.rollCycle();
+        this.rangeSize = rangeSize;
+        final String prefix = KEY_PREFIX + group + '.';
+        this.next = queue.metaStore.doWithExclusiveLock(ts -> ts.acquireValueFor(prefix + "next", UNSET));
+        this.position = queue.metaStore.doWithExclusiveLock(ts -> ts.acquireValueFor(prefix + member + ".position", UNSET));
+        this.end = queue.metaStore.doWithExclusiveLock(ts -> ts.acquireValueFor(prefix + member + ".end", UNSET));
+        this.tailer = queue.createTailer();
+        disableThreadSafetyCheck(true);
+    }
+
+    /**
+     * Returns the next excerpt of this member's range, claiming another range once it has been read.
+     *
+     * @return the document context, which isn't present if there is nothing more to read yet.
+     */
+    @NotNull
+    public DocumentContext readingDocument() {
+        throwExceptionIfClosed();
+        commit();
+        for (; ; ) {
+            final long from = position.getVolatileValue();
+            final long to = end.getVolatileValue();
+            if (from == UNSET || from >= to) {
+                if (!claim())
+                    return INSTANCE;
+                continue;
+            }
+            if (seek) {
+                if (!tailer.moveToIndex(from)) {
+                    if (!rangeRolled(from))
+                        return INSTANCE;
+                    position.setOrderedValue(to);
+                    continue;
+                }
+                seek = false;
+            }
+            final DocumentContext dc = tailer.readingDocument();
+            if (!dc.isPresent())
+                return dc;
+            final long index = dc.index();
+            if (index < to && rollCycle.toCycle(index) == rollCycle.toCycle(from)) {
+                readUpTo = index + 1;
+                return dc;
+            }
+            // past the end of the range, e.g. into the next cycle
+            dc.rollbackOnClose();
+            dc.close();
+            position.setOrderedValue(to);
+            seek = true;
+        }
+    }
+
+    /**
+     * @return the index of the last excerpt this member read.
+     */
+    public long index() {
+        return readUpTo == UNSET ? -1 : readUpTo - 1;
+    }
+
+    // records that the excerpt last returned has been read
+    private void commit() {
+        if (readUpTo != UNSET && readUpTo > position.getVolatileValue())
+            position.setOrderedValue(readUpTo);
+        readUpTo = UNSET;
+    }
+
+    private boolean claim() {
+        for (; ; ) {
+            final long start = next.getVolatileValue();
+            if (start == UNSET) {
+                final long first = queue.firstIndex();
+                if (first == Long.MAX_VALUE)
+                    return false;
+                next.compareAndSwapValue(UNSET, first);
+                continue;
+            }
+            final int cycle = rollCycle.toCycle(start);
+            final long sequence = rollCycle.toSequenceNumber(start);
+            final long count = rolledCount(cycle);
+            if (count >= 0 && sequence >= count) {
+                // nothing more will be written to this cycle
+                final int nextCycle = nextCycle(cycle);
+                if (nextCycle < 0)
+                    return false;
+                next.compareAndSwapValue(start, rollCycle.toIndex(nextCycle, 0));
+                continue;
+            }
+            final long limit = count >= 0 ? count : rollCycle.maxMessagesPerCycle();
+            final long to = rollCycle.toIndex(cycle, Math.min(limit, sequence + rangeSize));
+            // recorded before it is claimed, so if this process dies the range is read again rather than not at all
+            position.setOrderedValue(start);
+            end.setOrderedValue(to);
+            if (next.compareAndSwapValue(start, to)) {
+                seek = true;
+                return true;
+            }
+        }
+    }
+
+    // whether the cycle was rolled before the rest of the range was written
+    private boolean rangeRolled(long from) {
+        final int cycle = rollCycle.toCycle(from);
+        final long count = rolledCount(cycle);
+        return count >= 0 && rollCycle.toSequenceNumber(from) >= count;
+    }
+
+    // the count of a cycle which has been rolled, as a later cycle exists, whether or not it was recorded, otherwise -1
+    private long rolledCount(int cycle) {
+        return queue.cycleExcerptCounts().rolledCount(cycle);
+    }
+
+    private int nextCycle(int cycle) {
+        try {
+            final NavigableSet<Long> cycles = queue.listCyclesBetween(cycle + 1, queue.lastCycle());
+            return cycles.isEmpty() ? -1 : cycles.first().intValue();
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected void performClose() {
+        commit();
+        Closeable.closeQuietly(tailer, next, position, end);
+    }
+}
@@ -0,0 +1,90 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import net.openhft.chronicle.threads.NamedThreadFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the queue's housekeeping, compressing, moving and removing the files of rolled cycles and indexing keys in the background,
+ * on a dedicated low priority thread. The queue's {@link SingleChronicleQueue#eventLoop()} busy spins and drains the staging buffer,
+ * so file work there would stall producers.
+ * <p>
+ * The thread is started with the first handler and calls each handler's {@link EventHandler#action()} in turn, parking when none
+ * had anything to do. A handler is dropped once it throws {@link InvalidEventHandlerException}.
+ */
+final class Housekeeper implements Closeable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final String name;
+    private final List<EventHandler> handlers = new CopyOnWriteArrayList<>();
+    @Nullable
+    private Thread thread;
+    private volatile boolean closed;
+
+    Housekeeper(@NotNull String name) {
+        this.name = name;
+    }
+
+    synchronized void addHandler(@NotNull EventHandler handler) {
+        if (closed)
+            throw new IllegalStateException("Closed, unable to add " + handler);
+        handlers.add(handler);
+        if (thread == null) {
+            thread = new NamedThreadFactory("queue-housekeeper~" + name, true).newThread(this::run);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            boolean busy = false;
+            for (EventHandler handler : handlers) {
+                if (closed)
+                    break;
+                try {
+                    busy |= handler.action();
+                } catch (InvalidEventHandlerException e) {
+                    handlers.remove(handler);
+                } catch (Exception e) {
+                    Jvm.warn().on(getClass(), "Housekeeping failed, handler=" + handler, e);
+                }
+            }
+            if (!busy)
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public void close() {
+        final Thread thread;
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+            thread = this.thread;
+        }
+        if (thread == null)
+            return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
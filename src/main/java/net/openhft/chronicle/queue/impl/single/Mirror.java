@@ -0,0 +1,294 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.threads.NamedThreadFactory;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToIntFunction;
+
+/**
+ * Copies every excerpt appended to a queue into a mirror queue at {@link SingleChronicleQueueBuilder#mirrorPath()}, usually on
+ * another disk, at the same index.
+ * <p>
+ * The excerpt is serialised once by the primary appender. Once it is committed, its bytes are copied from the primary's mapping
+ * into the mirror's, either by the appender before it returns when {@link SingleChronicleQueueBuilder#mirrorMaxLag()} is 0, or by
+ * a dedicated thread otherwise, with the appender only copying itself when the mirror is more than that many excerpts behind.
+ * Only data excerpts are copied, the mirror writes its own metadata and indexes. A failure to copy is logged rather than thrown to
+ * the appender, as the excerpts are already in the queue, and they are copied again by the next append or the thread, so even
+ * with no lag mirroring is best effort. A caller which needs an excerpt on both disks waits for it with {@link #awaitMirrored}.
+ * <p>
+ * When the queue is opened, the rolled cycles the mirror doesn't have, or may only have part of, are copied a whole file at a time
+ * before the mirror is opened, and only the current cycle is copied an excerpt at a time. If the mirror is ahead of the queue, the
+ * queue is refused until it has been restored from the mirror.
+ */
+final class Mirror implements Closeable {
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long FAILED_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long AWAIT_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SingleChronicleQueue queue;
+    private final long maxLag;
+    private final SingleChronicleQueue mirrorQueue;
+    private final ExcerptTailer tailer;
+    private final StoreAppender appender;
+    @Nullable
+    private final Thread thread;
+    private volatile long mirroredIndex;
+    private volatile boolean failing;
+    private volatile boolean closed;
+
+    Mirror(@NotNull SingleChronicleQueue queue, @NotNull File path, long maxLag) {
+        this.queue = queue;
+        this.maxLag = maxLag;
+        copyRolledCycles(queue, path);
+        this.mirrorQueue = SingleChronicleQueueBuilder.builder(path, queue.wireType())
+                .rollCycle(queue.rollCycle())
+                .blockSize(queue.blockSize())
+                .indexCount(queue.indexCount())
+                .indexSpacing(queue.indexSpacing())
+                .epoch(queue.epoch())
+                .timeProvider(queue.time())
+                .build();
+        try {
+            mirrorQueue.refreshDirectoryListing();
+            this.appender = ((StoreAppender) mirrorQueue.constructAppender()).disableThreadSafetyCheck(true);
+            this.tailer = queue.createTailer().disableThreadSafetyCheck(true);
+            final long lastIndex = mirrorQueue.lastIndex();
+            if (lastIndex >= 0) {
+                if (lastIndex > queue.lastIndex())
+                    throw new IllegalStateException("The mirror " + path + " is ahead of " + queue.file() + " at index "
+                            + Long.toHexString(lastIndex) + ", restore the queue from it first");
+                if (tailer.moveToIndex(lastIndex)) {
+                    try (DocumentContext dc = tailer.readingDocument()) {
+                        // skip what the mirror already has
+                        assert dc.isPresent();
+                    }
+                }
+            }
+            this.mirroredIndex = lastIndex;
+            // the rest of the current cycle
+            copyUpTo(Long.MAX_VALUE);
+        } catch (Throwable t) {
+            mirrorQueue.close();
+            throw t;
+        }
+        this.thread = maxLag > 0
+                ? new NamedThreadFactory("queue-mirror~" + queue.file().getName(), true).newThread(this::run)
+                : null;
+        if (thread != null)
+            thread.start();
+    }
+
+    // copies the rolled cycles the mirror doesn't have, or may be partway through, while it isn't open
+    private static void copyRolledCycles(@NotNull SingleChronicleQueue queue, @NotNull File path) {
+        final int firstCycle = queue.firstCycle();
+        final int lastCycle = queue.lastCycle();
+        if (firstCycle == Integer.MAX_VALUE || firstCycle >= lastCycle)
+            return;
+        final int mirrorLastCycle = lastCycle(queue, path);
+        try {
+            for (Long cycle : queue.listCyclesBetween(firstCycle, lastCycle - 1)) {
+                final File cycleFile = queue.fileForCycle(cycle.intValue());
+                final File target = new File(path, cycleFile.getName());
+                if (cycle < mirrorLastCycle && target.exists())
+                    continue;
+                final File source = queue.storageTiers().locate(cycleFile);
+                // removed since it was listed
+                if (!source.exists())
+                    continue;
+                copy(source, target);
+            }
+        } catch (ParseException | IOException e) {
+            throw new IllegalStateException("Unable to catch up the mirror " + path + " of " + queue.file(), e);
+        }
+    }
+
+    // the last cycle of the mirror, going by its files, or Integer.MIN_VALUE if it has none
+    private static int lastCycle(@NotNull SingleChronicleQueue queue, @NotNull File path) {
+        final String[] names = path.list();
+        int lastCycle = Integer.MIN_VALUE;
+        if (names == null)
+            return lastCycle;
+        final ToIntFunction<String> fileNameToCycle = queue.fileNameToCycleFunction();
+        for (String name : names) {
+            if (!name.endsWith(SingleChronicleQueue.SUFFIX))
+                continue;
+            try {
+                lastCycle = Math.max(lastCycle, fileNameToCycle.applyAsInt(name));
+            } catch (RuntimeException e) {
+                // not named for this roll cycle
+            }
+        }
+        return lastCycle;
+    }
+
+    // streams the whole file, then renames it so the mirror never sees it half copied
+    private static void copy(@NotNull File source, @NotNull File target) throws IOException {
+        Files.createDirectories(target.getParentFile().toPath());
+        final File tmp = new File(target.getPath() + TMP_SUFFIX);
+        try (FileChannel in = new RandomAccessFile(source, "r").getChannel();
+             FileChannel out = new RandomAccessFile(tmp, "rw").getChannel()) {
+            final long size = in.size();
+            for (long position = 0; position < size; )
+                position += in.transferTo(position, size - position, out);
+            out.truncate(size);
+            out.force(false);
+        }
+        Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (Jvm.isDebugEnabled(Mirror.class))
+            Jvm.debug().on(Mirror.class, "Copied " + source + " to " + target);
+    }
+
+    private void run() {
+        while (!closed) {
+            long parkNanos = IDLE_PARK_NANOS;
+            try {
+                if (copyUpTo(Long.MAX_VALUE) > 0)
+                    continue;
+            } catch (Exception e) {
+                if (closed)
+                    break;
+                failed(e);
+                parkNanos = FAILED_PARK_NANOS;
+            }
+            LockSupport.parkNanos(this, parkNanos);
+        }
+    }
+
+    /**
+     * @return the index of the last excerpt copied to the mirror, or -1 if none has been.
+     */
+    long mirroredIndex() {
+        return mirroredIndex;
+    }
+
+    /**
+     * @return whether the last attempt to copy to the mirror failed, until excerpts are copied again.
+     */
+    boolean isFailing() {
+        return failing;
+    }
+
+    /**
+     * Waits until the excerpts up to and including {@code index} have been copied to the mirror, copying them itself if there is no
+     * thread to.
+     *
+     * @return whether they were copied before the timeout.
+     */
+    boolean awaitMirrored(long index, long timeoutNanos) {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        while (mirroredIndex < index) {
+            if (thread == null) {
+                try {
+                    copyUpTo(index);
+                    continue;
+                } catch (Exception e) {
+                    failed(e);
+                }
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || closed || Thread.currentThread().isInterrupted())
+                return mirroredIndex >= index;
+            LockSupport.parkNanos(this, Math.min(remaining, AWAIT_PARK_NANOS));
+        }
+        return true;
+    }
+
+    /**
+     * Called by an appender once excerpts have been committed, up to and including {@code index}. Copies them before returning
+     * unless the mirror is within {@link SingleChronicleQueueBuilder#mirrorMaxLag()} excerpts. Never throws, as the appender has
+     * already committed them, e.g. the staging buffer would append them again.
+     */
+    void appended(long index) {
+        final long mirroredIndex = this.mirroredIndex;
+        if (mirroredIndex >= index)
+            return;
+        try {
+            if (thread == null || mirroredIndex < 0 || Backpressure.excerptsBetween(queue, mirroredIndex, index) > maxLag)
+                copyUpTo(index);
+        } catch (Exception e) {
+            failed(e);
+        }
+    }
+
+    // logged once until the mirror recovers, rather than on every append
+    private void failed(@NotNull Exception e) {
+        if (failing)
+            return;
+        failing = true;
+        Jvm.warn().on(getClass(), "Unable to mirror " + queue.file() + " to " + mirrorQueue.file() + ", retrying", e);
+    }
+
+    /**
+     * Copies the excerpts after the last one mirrored, up to and including {@code index} or the end of the queue.
+     *
+     * @return the number of excerpts copied.
+     */
+    synchronized int copyUpTo(long index) {
+        int copied = 0;
+        while (mirroredIndex < index) {
+            try (DocumentContext dc = tailer.readingDocument()) {
+                if (!dc.isPresent())
+                    break;
+                final long next = dc.index();
+                // the queue has excerpts the mirror is missing before it, but the mirror has these
+                if (next <= mirroredIndex)
+                    continue;
+                try {
+                    appender.writeBytes(next, dc.wire().bytes());
+                } catch (RuntimeException | Error e) {
+                    // read it again on the next attempt
+                    dc.rollbackOnClose();
+                    throw e;
+                }
+                mirroredIndex = next;
+                copied++;
+            }
+        }
+        if (copied > 0)
+            failing = false;
+        return copied;
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            // whatever the thread hadn't copied yet
+            copyUpTo(Long.MAX_VALUE);
+        } catch (Exception e) {
+            Jvm.warn().on(getClass(), "Unable to mirror " + queue.file() + " to " + mirrorQueue.file(), e);
+        } finally {
+            Closeable.closeQuietly(tailer, appender, mirrorQueue);
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
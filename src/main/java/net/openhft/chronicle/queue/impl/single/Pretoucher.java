@@ -21,6 +21,9 @@ import java.util.function.IntConsumer;
  * <p>
  * Alternatively, the {@code shutdown()} method can be called to close the supplied queue and release any other resources. Invocation of the {@code
  * execute()} method after {@code shutdown()} has been called will cause an {@code IllegalStateException} to be thrown.
+ * <p>
+ * The counters e.g. {@link #timesBehind()} show whether the pretoucher is keeping ahead of the appenders.
+ * See {@link PretoucherState} for the system properties which size the head room from the write rate.
  */
 public final class Pretoucher extends AbstractCloseable {
     static final long PRETOUCHER_PREROLL_TIME_DEFAULT_MS = 2_000L;
@@ -58,7 +61,7 @@ public final class Pretoucher extends AbstractCloseable {
         this.earlyAcquireNextCycle = earlyAcquireNextCycle;
         this.canWrite = canWrite;
         queue.addCloseListener(this);
-        pretoucherState = new PretoucherState(this::getStoreWritePosition);
+        pretoucherState = PretoucherState.fromSystemProperties(this::getStoreWritePosition);
         pretouchTimeProvider = () -> queue.time().currentTimeMillis() + (EARLY_ACQUIRE_NEXT_CYCLE ? PRETOUCHER_PREROLL_TIME_MS : 0);
     }
 
@@ -134,6 +137,41 @@ public final class Pretoucher extends AbstractCloseable {
         }
     }
 
+    /**
+     * @return the number of pages touched.
+     */
+    public long pagesTouched() {
+        return pretoucherState.pagesTouched();
+    }
+
+    /**
+     * @return the total time spent touching pages in nanoseconds.
+     */
+    public long pretouchNanos() {
+        return pretoucherState.pretouchNanos();
+    }
+
+    /**
+     * @return how many bytes ahead of the write position had been touched after the last {@link #execute()}
+     */
+    public long headRoom() {
+        return pretoucherState.headRoom();
+    }
+
+    /**
+     * @return the number of times an appender had reached the pages not touched yet.
+     */
+    public long timesBehind() {
+        return pretoucherState.timesBehind();
+    }
+
+    /**
+     * @return the average write rate in bytes per second, if {@code -DPretoucherState.lookAheadMs} is set.
+     */
+    public long bytesPerSecond() {
+        return pretoucherState.bytesPerSecond();
+    }
+
     private long getStoreWritePosition() {
         return currentCycleWireStore.writePosition();
     }
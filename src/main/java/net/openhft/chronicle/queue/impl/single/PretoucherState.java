@@ -8,25 +8,61 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.util.function.LongSupplier;
 
+/**
+ * Tracks how far the write position moves between calls to {@link #pretouch(MappedBytes)} and touches the pages ahead of it.
+ * <p>
+ * By default the head room is {@link #FACTOR} times the average move. With {@code -DPretoucherState.lookAheadMs} it is also at least
+ * the bytes expected to be written in that many milliseconds, from an exponentially weighted moving average of the write rate,
+ * so the head room grows as soon as the write rate jumps. {@code -DPretoucherState.prefault=true} touches each page by writing to it,
+ * mapping the chunks ahead of the appender as well.
+ */
 class PretoucherState {
     public static final int FACTOR = 4;
     private static final int HEAD_ROOM = Integer.getInteger("PretoucherState.headRoom", 1 << 20);
+    private static final long LOOK_AHEAD_MS = Long.getLong("PretoucherState.lookAheadMs", 0);
+    private static final boolean PREFAULT = Jvm.getBoolean("PretoucherState.prefault");
+    private static final long MAX_HEAD_ROOM = 1L << 30;
     @NotNull
     private final LongSupplier posSupplier;
+    @NotNull
+    private final LongSupplier nanoTime;
+    private final long lookAheadNanos;
+    private final boolean prefault;
     private int minHeadRoom;
     private long lastTouchedPage = 0;
     private long lastTouchedPos = 0;
     private long lastPos = 0;
     private int lastBytesHashcode = -1;
     private long averageMove = 0;
+    private long lastNanos = 0;
+    private double bytesPerNano = 0;
+    private boolean touchedSinceReset = false;
+    private long pagesTouched = 0;
+    private long pretouchNanos = 0;
+    private long headRoom = 0;
+    private long timesBehind = 0;
 
     public PretoucherState(@NotNull LongSupplier posSupplier) {
         this(posSupplier, HEAD_ROOM);
     }
 
     public PretoucherState(@NotNull LongSupplier posSupplier, int minHeadRoom) {
+        this(posSupplier, minHeadRoom, 0, false, System::nanoTime);
+    }
+
+    PretoucherState(@NotNull LongSupplier posSupplier, int minHeadRoom, long lookAheadMs, boolean prefault, @NotNull LongSupplier nanoTime) {
         this.posSupplier = posSupplier;
         this.minHeadRoom = minHeadRoom;
+        this.lookAheadNanos = lookAheadMs * 1_000_000;
+        this.prefault = prefault;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return a pretoucher state configured by the {@code PretoucherState.*} system properties.
+     */
+    static PretoucherState fromSystemProperties(@NotNull LongSupplier posSupplier) {
+        return new PretoucherState(posSupplier, HEAD_ROOM, LOOK_AHEAD_MS, PREFAULT, System::nanoTime);
     }
 
     static File getFile(MappedBytes bytes) {
@@ -47,22 +83,31 @@ class PretoucherState {
         // don't retain the bytes object when it is head so keep the hashCode instead.
         // small risk of a duplicate hashCode.
         int pageSize = OS.pageSize();
+        final long now = nanoTime.getAsLong();
         if (lastBytesHashcode != System.identityHashCode(bytes)) {
             lastTouchedPage = pos - pos % pageSize;
             lastTouchedPos = pos;
             lastBytesHashcode = System.identityHashCode(bytes);
             averageMove = OS.pageSize();
             lastPos = pos;
+            lastNanos = now;
+            touchedSinceReset = false;
             if (Jvm.isDebugEnabled(getClass())) {
                 String message = getFile(bytes) + " - Reset pretoucher to pos " + pos + " as the underlying MappedBytes changed.";
                 debug(message);
             }
         } else {
             long moved = pos - lastPos;
+            if (touchedSinceReset && pos >= lastTouchedPage)
+                timesBehind++;
             averageMove = moved / FACTOR + averageMove * (FACTOR - 1) / FACTOR;
             long neededHeadRoom = Math.max(minHeadRoom, averageMove * FACTOR); // for the next $FACTOR ticks.
+            if (lookAheadNanos > 0)
+                neededHeadRoom = Math.max(neededHeadRoom, projectedHeadRoom(moved, now - lastNanos));
+            lastNanos = now;
             final long neededEnd = pos + neededHeadRoom;
             if (lastTouchedPage < neededEnd) {
+                touchedSinceReset = true;
                 Thread thread = Thread.currentThread();
                 int count = 0, pretouch = 0;
                 for (; lastTouchedPage < neededEnd; lastTouchedPage += pageSize) {
@@ -103,6 +148,8 @@ class PretoucherState {
                     count++;
                 }
                 onTouched(count);
+                pagesTouched += pretouch;
+                pretouchNanos += nanoTime.getAsLong() - now;
                 if (pretouch < count) {
                     minHeadRoom += 256 << 10;
                     if (Jvm.isDebugEnabled(getClass()))
@@ -120,16 +167,67 @@ class PretoucherState {
                 lastTouchedPos = pos;
             }
             lastPos = pos;
+            headRoom = lastTouchedPage - pos;
         }
     }
 
+    /**
+     * Updates the average write rate and projects how far the appender will write in the look ahead time.
+     * The latest rate is used if it is higher, so a burst is covered before the average catches up.
+     */
+    private long projectedHeadRoom(long moved, long elapsedNanos) {
+        if (elapsedNanos <= 0 || moved < 0)
+            return 0;
+        final double rate = (double) moved / elapsedNanos;
+        bytesPerNano = rate / FACTOR + bytesPerNano * (FACTOR - 1) / FACTOR;
+        return (long) Math.min(MAX_HEAD_ROOM, Math.max(rate, bytesPerNano) * lookAheadNanos);
+    }
+
+    /**
+     * @return the number of pages touched.
+     */
+    public long pagesTouched() {
+        return pagesTouched;
+    }
+
+    /**
+     * @return the total time spent touching pages in nanoseconds.
+     */
+    public long pretouchNanos() {
+        return pretouchNanos;
+    }
+
+    /**
+     * @return how many bytes ahead of the write position had been touched after the last call.
+     */
+    public long headRoom() {
+        return headRoom;
+    }
+
+    /**
+     * @return the number of times the write position had reached the pages not touched yet.
+     */
+    public long timesBehind() {
+        return timesBehind;
+    }
+
+    /**
+     * @return the average write rate, if {@code lookAheadMs} is set.
+     */
+    public long bytesPerSecond() {
+        return (long) (bytesPerNano * 1e9);
+    }
+
     protected void debug(String message) {
         Jvm.debug().on(getClass(), message);
     }
 
     protected boolean touchPage(MappedBytes bytes, long offset) {
-        return false;
-//        return bytes != null && bytes.compareAndSwapLong(offset, 0L, 0L);
+        if (!prefault || bytes == null || offset + Long.BYTES > bytes.capacity())
+            return false;
+        // faults the page in for writing, only changing it if the appender hasn't written to it yet, and that is a no-op
+        bytes.compareAndSwapLong(offset, 0L, 0L);
+        return true;
     }
 
     protected void onTouched(int count) {
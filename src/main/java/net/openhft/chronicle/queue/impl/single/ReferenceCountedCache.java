@@ -55,6 +55,17 @@ public class ReferenceCountedCache<K, T extends ReferenceCounted & Closeable, V,
         return rv;
     }
 
+    /**
+     * Releases the cache's reservation of the value for this key, so it is closed once whoever else holds it releases it.
+     */
+    void remove(@NotNull final K key) {
+        synchronized (cache) {
+            final T value = cache.remove(key);
+            if (value != null)
+                value.release(this);
+        }
+    }
+
     @Override
     protected void performClose() {
         List<T> retained = new ArrayList<>();
@@ -0,0 +1,286 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes, or moves to an archive directory, the oldest rolled cycles of a queue from its {@link Housekeeper}, so neither appenders
+ * nor tailers wait for it.
+ * <p>
+ * A cycle is removed once the queue has more than {@code maxCycles} cycles, it ended more than {@code maxAgeMs} ago, or the
+ * queue's files add up to more than {@code maxBytes}, whichever comes first, along with its compressed copy and sidecar files in
+ * every tier. A cycle is never removed while a named tailer or consumer group still has to read it, going by the positions they
+ * keep in the queue's metadata table store, so a named tailer which is no longer used should be given a new name or moved on.
+ * <p>
+ * The queue's hold on the mapping of a removed cycle is closed, it is marked deleted in the cycle catalog, its excerpt count is
+ * forgotten and the directory listing is refreshed, so the queue's first cycle moves on.
+ */
+public final class RetentionManager extends AbstractCloseable implements EventHandler {
+    private static final long CHECK_INTERVAL_MS = 1000;
+    private static final int NO_CYCLE = Integer.MIN_VALUE;
+
+    private final SingleChronicleQueue queue;
+    private final int maxCycles;
+    private final long maxAgeMs;
+    private final long maxBytes;
+    @Nullable
+    private final File archivePath;
+    private long nextCheckMS;
+    private volatile long cyclesRemoved;
+    private volatile long bytesRemoved;
+    private volatile int cyclesHeldForTailers;
+    private volatile long failures;
+    private volatile long lastCheckNanos;
+
+    RetentionManager(@NotNull SingleChronicleQueue queue, int maxCycles, long maxAgeMs, long maxBytes, @Nullable File archivePath) {
+        this.queue = queue;
+        this.maxCycles = maxCycles;
+        this.maxAgeMs = maxAgeMs;
+        this.maxBytes = maxBytes;
+        this.archivePath = archivePath;
+        // not while the queue is being opened
+        this.nextCheckMS = System.currentTimeMillis() + CHECK_INTERVAL_MS;
+        queue.addCloseListener(this);
+        disableThreadSafetyCheck(true);
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        synchronized (this) {
+            if (isClosing())
+                throw new InvalidEventHandlerException("closed");
+            final long now = System.currentTimeMillis();
+            if (now < nextCheckMS)
+                return false;
+            nextCheckMS = now + CHECK_INTERVAL_MS;
+            return removeExpiredCycles() > 0;
+        }
+    }
+
+    /**
+     * @return the number of cycles removed.
+     */
+    synchronized int removeExpiredCycles() {
+        final long start = System.nanoTime();
+        final TreeMap<Integer, List<File>> files = listFiles();
+        final int lastCycle = queue.lastCycle();
+        final int neededCycle = firstCycleNeededByTailers(queue);
+        final long lengthInMillis = queue.rollCycle().lengthInMillis();
+        final long now = queue.time().currentTimeMillis();
+
+        long totalBytes = 0;
+        for (List<File> cycleFiles : files.values())
+            totalBytes += length(cycleFiles);
+        int remaining = files.size();
+        int removed = 0;
+        int held = 0;
+        for (Map.Entry<Integer, List<File>> entry : files.entrySet()) {
+            if (isClosing())
+                break;
+            final int cycle = entry.getKey();
+            final List<File> cycleFiles = entry.getValue();
+            final long cycleEndMS = queue.epoch() + (cycle + 1L) * lengthInMillis;
+            if (remaining <= maxCycles && totalBytes <= maxBytes && now - cycleEndMS < maxAgeMs)
+                break;
+            // rolled once a later cycle exists, whether or not its excerpt count was recorded
+            if (cycle >= lastCycle)
+                break;
+            final long length = length(cycleFiles);
+            if (held > 0 || cycle >= neededCycle) {
+                // counted as though it were removed, to see how many more would be
+                held++;
+            } else if (remove(cycle, cycleFiles)) {
+                removed++;
+                bytesRemoved += length;
+            } else {
+                break;
+            }
+            totalBytes -= length;
+            remaining--;
+        }
+        cyclesHeldForTailers = held;
+        if (removed > 0) {
+            cyclesRemoved += removed;
+            queue.refreshDirectoryListing();
+        }
+        lastCheckNanos = System.nanoTime() - start;
+        return removed;
+    }
+
+    // the files of each cycle in every tier, the cycle file and its compressed copy before the sidecars
+    @NotNull
+    private TreeMap<Integer, List<File>> listFiles() {
+        final ToIntFunction<String> fileNameToCycle = queue.fileNameToCycleFunction();
+        final TreeMap<Integer, List<File>> files = new TreeMap<>();
+        for (File dir : queue.storageTiers().paths()) {
+            final String[] names = dir.list();
+            if (names == null)
+                continue;
+            for (String name : names) {
+                final String cycleFileName = cycleFileName(name);
+                if (cycleFileName == null)
+                    continue;
+                final int cycle;
+                try {
+                    cycle = fileNameToCycle.applyAsInt(cycleFileName);
+                } catch (RuntimeException e) {
+                    // not named for this roll cycle
+                    continue;
+                }
+                final List<File> cycleFiles = files.computeIfAbsent(cycle, c -> new ArrayList<>());
+                final File file = new File(dir, name);
+                if (CompressedCycle.cycleFileName(name) != null)
+                    cycleFiles.add(0, file);
+                else
+                    cycleFiles.add(file);
+            }
+        }
+        return files;
+    }
+
+    // the name of the cycle file a file belongs to, or null if it isn't one of a cycle's files
+    @Nullable
+    private static String cycleFileName(@NotNull String name) {
+        final String cycleFileName = CompressedCycle.cycleFileName(name);
+        if (cycleFileName != null)
+            return cycleFileName;
+        if (name.endsWith(TimeIndex.SUFFIX))
+            return name.substring(0, name.length() - TimeIndex.SUFFIX.length()) + SingleChronicleQueue.SUFFIX;
+        if (name.endsWith(SidecarKeyIndex.SUFFIX)) {
+            // e.g. 20211018.clOrdId.cq4k
+            final int dot = name.lastIndexOf('.', name.length() - SidecarKeyIndex.SUFFIX.length() - 1);
+            return dot <= 0 ? null : name.substring(0, dot) + SingleChronicleQueue.SUFFIX;
+        }
+        return null;
+    }
+
+    // the first cycle a named tailer or consumer group hasn't finished reading
+    static int firstCycleNeededByTailers(@NotNull SingleChronicleQueue queue) {
+        final long[] firstIndex = {Long.MAX_VALUE};
+        queue.metaStore.forEachKey(firstIndex, (first, key, value) -> {
+            final long index;
+            if (startsWith(key, Backpressure.NAMED_TAILER_PREFIX)) {
+                // a named tailer which hasn't read anything yet reads from the start
+                index = Math.max(0, value.int64());
+            } else if (startsWith(key, GroupTailer.KEY_PREFIX) && (endsWith(key, ".next") || endsWith(key, ".position"))) {
+                final long position = value.int64();
+                // a group which hasn't claimed anything yet reads from the start
+                if (position == Long.MIN_VALUE && endsWith(key, ".position"))
+                    return;
+                index = Math.max(0, position);
+            } else {
+                return;
+            }
+            first[0] = Math.min(first[0], index);
+        });
+        if (firstIndex[0] == Long.MAX_VALUE)
+            return Integer.MAX_VALUE;
+        return firstIndex[0] == 0 ? NO_CYCLE : queue.rollCycle().toCycle(firstIndex[0]);
+    }
+
+    private boolean remove(int cycle, @NotNull List<File> cycleFiles) {
+        // so the mapping is released once the tailers reading it have moved on, rather than when the queue is closed
+        queue.pool.closeStore(cycle);
+        for (File file : cycleFiles) {
+            try {
+                if (archivePath == null)
+                    Files.deleteIfExists(file.toPath());
+                else
+                    TierMover.move(file, new File(archivePath, file.getName()));
+            } catch (IOException e) {
+                // e.g. still mapped on Windows, tried again next time
+                failures++;
+                Jvm.warn().on(getClass(), "Unable to remove " + file, e);
+                return false;
+            }
+        }
+        queue.cycleCatalog().onDeleted(cycle);
+        queue.cycleExcerptCounts().remove(cycle);
+        return true;
+    }
+
+    private static long length(@NotNull List<File> files) {
+        long length = 0;
+        for (File file : files)
+            length += file.length();
+        return length;
+    }
+
+    private static boolean startsWith(CharSequence key, String prefix) {
+        if (key.length() <= prefix.length())
+            return false;
+        for (int i = 0; i < prefix.length(); i++)
+            if (key.charAt(i) != prefix.charAt(i))
+                return false;
+        return true;
+    }
+
+    private static boolean endsWith(CharSequence key, String suffix) {
+        final int offset = key.length() - suffix.length();
+        if (offset < 0)
+            return false;
+        for (int i = 0; i < suffix.length(); i++)
+            if (key.charAt(offset + i) != suffix.charAt(i))
+                return false;
+        return true;
+    }
+
+    /**
+     * @return the number of cycles removed since the queue was opened.
+     */
+    public long cyclesRemoved() {
+        return cyclesRemoved;
+    }
+
+    /**
+     * @return the size of the files removed since the queue was opened.
+     */
+    public long bytesRemoved() {
+        return bytesRemoved;
+    }
+
+    /**
+     * @return how many cycles would have been removed at the last check, but weren't as a named tailer or consumer group still needs them.
+     */
+    public int cyclesHeldForTailers() {
+        return cyclesHeldForTailers;
+    }
+
+    /**
+     * @return the number of files which couldn't be removed.
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return how long the last check took in nanoseconds.
+     */
+    public long lastCheckNanos() {
+        return lastCheckNanos;
+    }
+
+    @Override
+    public @NotNull HandlerPriority priority() {
+        return HandlerPriority.MONITOR;
+    }
+
+    @Override
+    protected void performClose() {
+        // nothing held open between checks
+    }
+}
@@ -0,0 +1,131 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.threads.DiskSpaceMonitor;
+import net.openhft.chronicle.threads.NamedThreadFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prepares the file of the next cycle on a background thread {@link SingleChronicleQueueBuilder#rollAheadMs()} before the roll,
+ * so the appender which rolls doesn't create it, check the disk space or fault in fresh pages on the writing thread.
+ * <p>
+ * The file is written as a {@link PrecreatedFiles pre-created file}, with the first chunk the appender maps already allocated and
+ * in the page cache, so it isn't visible to tailers or the directory listing. The appender which rolls renames it to the cycle's file,
+ * then writes the header and index to pages which are already resident. A file for a cycle which passed without being rolled to,
+ * as nothing was appended, is deleted once that cycle is over, and those not rolled to yet when the queue is closed are deleted then.
+ */
+final class RollAhead implements Closeable {
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SingleChronicleQueue queue;
+    private final long leadMs;
+    private final long length;
+    private final long pollNanos;
+    private final ByteBuffer zeros = ByteBuffer.allocate(64 << 10);
+    private final Thread thread;
+    // the files prepared which may not have been rolled to yet, by cycle
+    private final NavigableMap<Integer, File> prepared = new TreeMap<>();
+    private volatile boolean closed;
+
+    RollAhead(@NotNull SingleChronicleQueue queue, long leadMs) {
+        this.queue = queue;
+        this.leadMs = leadMs;
+        // the first chunk and its overlap, as mapped by SingleChronicleQueue.mappedFile
+        this.length = OS.pageAlign(queue.blockSize()) + OS.pageAlign(queue.blockSize() / 4);
+        this.pollNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(leadMs) / 4, MAX_POLL_NANOS);
+        this.thread = new NamedThreadFactory("roll-ahead~" + queue.file().getName(), true).newThread(this::run);
+        thread.start();
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                prepareNextCycle();
+            } catch (Exception e) {
+                if (!closed)
+                    Jvm.warn().on(getClass(), "Unable to prepare the next cycle of " + queue.file(), e);
+            }
+            LockSupport.parkNanos(this, pollNanos);
+        }
+    }
+
+    void prepareNextCycle() throws IOException {
+        final int cycle = queue.cycle();
+        // their cycles passed without anything appended to roll to them
+        deletePrepared(prepared.headMap(cycle));
+        final int next = queue.cycle(() -> queue.time().currentTimeMillis() + leadMs);
+        if (next <= cycle || prepared.containsKey(next))
+            return;
+        final File required = queue.fileForCycle(next);
+        final File precreated = PrecreatedFiles.preCreatedFile(required);
+        if (!required.exists() && !precreated.exists()) {
+            DiskSpaceMonitor.INSTANCE.pollDiskSpace(queue.file());
+            // written under another name so an appender rolling early never sees it half written
+            final File tmp = new File(precreated.getPath() + TMP_SUFFIX);
+            allocate(tmp);
+            if (closed || !tmp.renameTo(precreated)) {
+                if (!tmp.delete())
+                    Jvm.debug().on(getClass(), "Unable to delete " + tmp);
+                return;
+            }
+            if (Jvm.isDebugEnabled(getClass()))
+                Jvm.debug().on(getClass(), "Prepared " + precreated + " for cycle " + next);
+        }
+        prepared.put(next, precreated);
+    }
+
+    private void deletePrepared(@NotNull Map<Integer, File> files) {
+        for (File file : files.values())
+            if (file.exists() && !file.delete())
+                Jvm.debug().on(getClass(), "Unable to delete " + file);
+        files.clear();
+    }
+
+    // writes zeros rather than setting the length, so the blocks are allocated and the pages are cached
+    private void allocate(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            final FileChannel channel = raf.getChannel();
+            for (long position = 0; position < length && !closed; ) {
+                zeros.clear();
+                if (length - position < zeros.remaining())
+                    zeros.limit((int) (length - position));
+                position += channel.write(zeros, position);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // not rolled to, so don't leave them behind
+        deletePrepared(prepared.headMap(queue.cycle()));
+        deletePrepared(prepared.tailMap(queue.lastCycle(), false));
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -38,8 +38,10 @@ import org.jetbrains.annotations.Nullable;
 import java.io.EOFException;
 import java.io.StreamCorruptedException;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -49,6 +51,7 @@ import static net.openhft.chronicle.wire.Wires.NOT_INITIALIZED;
 class SCQIndexing extends AbstractCloseable implements Demarshallable, WriteMarshallable, Closeable {
     private static final boolean IGNORE_INDEXING_FAILURE = Jvm.getBoolean("queue.ignoreIndexingFailure");
     private static final boolean REPORT_LINEAR_SCAN = Jvm.getBoolean("chronicle.queue.report.linear.scan.latency");
+    private static final int MIN_EXPUNGE_THRESHOLD = 64;
 
     final LongValue nextEntryToBeIndexed;
     private final int indexCount;
@@ -72,7 +75,10 @@ class SCQIndexing extends AbstractCloseable implements Demarshallable, WriteMars
     Sequence sequence;
     // visible for testing
     int linearScanCount;
-    Collection<Closeable> closeables = new ArrayList<>();
+    // the arrays handed out to each thread, closed once the thread has ended so short lived threads don't accumulate them
+    private final Queue<ThreadValues> closeables = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger closeablesCount = new AtomicInteger();
+    private volatile int expungeThreshold = MIN_EXPUNGE_THRESHOLD;
 
     /**
      * used by {@link Demarshallable}
@@ -114,10 +120,28 @@ class SCQIndexing extends AbstractCloseable implements Demarshallable, WriteMars
     private LongArrayValuesHolder newLogArrayValuesHolder(Supplier<LongArrayValues> las) {
         LongArrayValues values = las.get();
         LongArrayValuesHolder longArrayValuesHolder = new LongArrayValuesHolder(values);
-        closeables.add(values);
+        closeables.add(new ThreadValues(Thread.currentThread(), values));
+        if (closeablesCount.incrementAndGet() >= expungeThreshold)
+            expungeEndedThreads();
         return longArrayValuesHolder;
     }
 
+    private synchronized void expungeEndedThreads() {
+        int live = 0;
+        for (Iterator<ThreadValues> iterator = closeables.iterator(); iterator.hasNext(); ) {
+            final ThreadValues threadValues = iterator.next();
+            final Thread thread = threadValues.thread.get();
+            if (thread == null || !thread.isAlive()) {
+                iterator.remove();
+                closeQuietly(threadValues.values);
+            } else {
+                live++;
+            }
+        }
+        closeablesCount.set(live);
+        expungeThreshold = Math.max(MIN_EXPUNGE_THRESHOLD, live * 2);
+    }
+
     @NotNull
     private LongArrayValuesHolder getIndex2IndexArray() {
         return ThreadLocalHelper.getTL(index2indexArray, longArraySupplier, arrayValuesSupplierCall);
@@ -152,8 +176,8 @@ class SCQIndexing extends AbstractCloseable implements Demarshallable, WriteMars
     @Override
     protected void performClose() {
         closeQuietly(index2Index, nextEntryToBeIndexed);
-        closeQuietly(closeables);
-        closeables.clear();
+        for (ThreadValues threadValues; (threadValues = closeables.poll()) != null; )
+            closeQuietly(threadValues.values);
         // Eagerly clean up the contents of thread locals but only for this thread.
         // The contents of the thread local for other threads will be cleaned up in
         // MappedFile.performRelease
@@ -733,6 +757,16 @@ class SCQIndexing extends AbstractCloseable implements Demarshallable, WriteMars
         lastIndex // NOTE: the nextEntryToBeIndexed
     }
 
+    static final class ThreadValues {
+        final WeakReference<Thread> thread;
+        final LongArrayValues values;
+
+        ThreadValues(Thread thread, LongArrayValues values) {
+            this.thread = new WeakReference<>(thread);
+            this.values = values;
+        }
+    }
+
     static class LongArrayValuesHolder {
         private final LongArrayValues values;
         private long address;
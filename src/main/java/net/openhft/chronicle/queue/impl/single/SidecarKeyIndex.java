@@ -0,0 +1,401 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.MappedBytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.KeyIndex;
+import net.openhft.chronicle.queue.RollCycle;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+
+/**
+ * A {@link KeyIndex} stored as one open addressing hash table per cycle, in a memory mapped sidecar file next to the cycle file,
+ * e.g. {@code 20211018.clOrdId.cq4k} for {@code 20211018.cq4}
+ * <p>
+ * The key and the sequence number plus one are stored in each slot, so an empty slot is all zeros.
+ * Each table records the next sequence to be indexed, so indexing resumes where it left off when the queue is reopened.
+ * Only one {@code SidecarKeyIndex} with a given name should update a queue at a time.
+ * <p>
+ * Each table also records the lowest and highest key in it, which are kept in memory for every rolled cycle once read, so a
+ * lookup skips the cycles whose range doesn't hold the key. The tables of the other cycles which aren't open are probed with
+ * a few positional reads rather than being mapped, so a miss on keys spread over every cycle's range, e.g. hashes, still reads
+ * each cycle's sidecar, but doesn't map it or evict the open tables.
+ */
+final class SidecarKeyIndex extends AbstractCloseable implements KeyIndex, EventHandler {
+    static final String SUFFIX = ".cq4k";
+    private static final int MAX_OPEN_TABLES = 16;
+    private static final int MAX_PER_ACTION = 1024;
+
+    private final SingleChronicleQueue queue;
+    private final String name;
+    private final KeyExtractor keyExtractor;
+    private final Map<Integer, KeyTable> tables = new LinkedHashMap<Integer, KeyTable>(MAX_OPEN_TABLES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, KeyTable> eldest) {
+            if (size() <= MAX_OPEN_TABLES)
+                return false;
+            eldest.getValue().close();
+            return true;
+        }
+    };
+    // the lowest and highest key of each rolled cycle, which won't change
+    private final Map<Integer, long[]> ranges = new HashMap<>();
+    private ExcerptTailer tailer;
+
+    SidecarKeyIndex(@NotNull SingleChronicleQueue queue, @NotNull String name, @NotNull KeyExtractor keyExtractor) {
+        if (!name.matches("[\\w\\-]+"))
+            throw new IllegalArgumentException("Invalid key index name " + name);
+        this.queue = queue;
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        queue.addCloseListener(this);
+        disableThreadSafetyCheck(true);
+    }
+
+    File fileFor(int cycle) {
+        final File cycleFile = queue.fileForCycle(cycle);
+        final String fileName = cycleFile.getName();
+        return new File(cycleFile.getParentFile(),
+                fileName.substring(0, fileName.length() - SingleChronicleQueue.SUFFIX.length()) + '.' + name + SUFFIX);
+    }
+
+    @Override
+    public synchronized long indexOf(long key) {
+        throwExceptionIfClosed();
+        update();
+
+        final int lastCycle = queue.lastCycle();
+        if (lastCycle == Integer.MIN_VALUE)
+            return -1;
+        final RollCycle rollCycle = queue.rollCycle();
+        final int firstCycle = queue.firstCycle();
+        // removed by retention
+        ranges.keySet().removeIf(cycle -> cycle < firstCycle);
+        for (Long c : cycles(firstCycle, lastCycle).descendingSet()) {
+            final int cycle = (int) (long) c;
+            final KeyTable table = tables.get(cycle);
+            final long sequence;
+            if (table != null) {
+                sequence = table.get(key);
+            } else {
+                final long[] range = range(cycle, lastCycle);
+                if (range == null || key < range[0] || key > range[1])
+                    continue;
+                sequence = KeyTable.find(fileFor(cycle), key);
+            }
+            if (sequence >= 0)
+                return rollCycle.toIndex(cycle, sequence);
+        }
+        return -1;
+    }
+
+    // the lowest and highest key in the cycle's table, or null if it has none
+    @Nullable
+    private long[] range(int cycle, int lastCycle) {
+        long[] range = ranges.get(cycle);
+        if (range != null)
+            return range;
+        range = KeyTable.range(fileFor(cycle));
+        // everything before the last cycle has been indexed by the update before the lookup
+        if (range != null && cycle < lastCycle)
+            ranges.put(cycle, range);
+        return range;
+    }
+
+    @Override
+    public synchronized long update() {
+        return update(Long.MAX_VALUE);
+    }
+
+    private long update(long maxCount) {
+        throwExceptionIfClosed();
+        if (tailer == null && !startTailer())
+            return 0;
+
+        final RollCycle rollCycle = queue.rollCycle();
+        long count = 0;
+        while (count < maxCount) {
+            try (DocumentContext dc = tailer.readingDocument()) {
+                if (!dc.isPresent())
+                    break;
+                final long index = dc.index();
+                KeyTable table = table(rollCycle.toCycle(index), true);
+                final long sequence = rollCycle.toSequenceNumber(index);
+                final long key = keyExtractor.extractKey(dc.wire());
+                if (key != KeyExtractor.NO_KEY && table.putIfAbsent(key, sequence)) {
+                    table = table.resizeIfFull();
+                    tables.put(rollCycle.toCycle(index), table);
+                }
+                table.nextSequence(sequence + 1);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Positions the tailer after the last excerpt indexed in the latest table, or at the start if there are no tables.
+     *
+     * @return false if the queue is empty.
+     */
+    private boolean startTailer() {
+        final int lastCycle = queue.lastCycle();
+        if (lastCycle == Integer.MIN_VALUE)
+            return false;
+
+        tailer = queue.createTailer().disableThreadSafetyCheck(true);
+        for (Long cycle : cycles(queue.firstCycle(), lastCycle).descendingSet()) {
+            final KeyTable table = table((int) (long) cycle, false);
+            if (table == null)
+                continue;
+            final long next = table.nextSequence();
+            if (next > 0 && tailer.moveToIndex(queue.rollCycle().toIndex((int) (long) cycle, next - 1))) {
+                // skip the last excerpt indexed
+                try (DocumentContext dc = tailer.readingDocument()) {
+                    assert dc.isPresent();
+                }
+            } else {
+                tailer.moveToCycle((int) (long) cycle);
+            }
+            return true;
+        }
+        tailer.toStart();
+        return true;
+    }
+
+    @NotNull
+    private NavigableSet<Long> cycles(int firstCycle, int lastCycle) {
+        try {
+            return queue.listCyclesBetween(firstCycle, lastCycle);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nullable
+    private KeyTable table(int cycle, boolean createIfAbsent) {
+        KeyTable table = tables.get(cycle);
+        if (table == null) {
+            final File file = fileFor(cycle);
+            if (!createIfAbsent && !file.exists())
+                return null;
+            table = new KeyTable(file, KeyTable.INITIAL_CAPACITY);
+            tables.put(cycle, table);
+        }
+        return table;
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        synchronized (this) {
+            if (isClosing())
+                throw new InvalidEventHandlerException("closed");
+            return update(MAX_PER_ACTION) > 0;
+        }
+    }
+
+    @Override
+    public @NotNull HandlerPriority priority() {
+        return HandlerPriority.MONITOR;
+    }
+
+    @Override
+    protected void performClose() {
+        synchronized (this) {
+            tables.values().forEach(KeyTable::close);
+            tables.clear();
+            if (tailer != null)
+                tailer.close();
+        }
+    }
+
+    static final class KeyTable {
+        static final long INITIAL_CAPACITY = 1 << 16;
+        private static final long CAPACITY = 0;
+        private static final long COUNT = 8;
+        private static final long NEXT_SEQUENCE = 16;
+        private static final long MIN_KEY = 24;
+        private static final long MAX_KEY = 32;
+        private static final long HEADER_SIZE = 64;
+        private static final long SLOT_SIZE = 16;
+        private static final long CHUNK_SIZE = 1 << 20;
+
+        private final File file;
+        private final MappedBytes bytes;
+        private final long capacity;
+        private final long mask;
+
+        KeyTable(@NotNull File file, long initialCapacity) {
+            this.file = file;
+            try {
+                this.bytes = MappedBytes.mappedBytes(file, CHUNK_SIZE);
+            } catch (IOException e) {
+                throw new IORuntimeException(e);
+            }
+            if (bytes.readLong(CAPACITY) == 0) {
+                bytes.writeLong(MIN_KEY, Long.MAX_VALUE);
+                bytes.writeLong(MAX_KEY, Long.MIN_VALUE);
+                bytes.writeLong(CAPACITY, initialCapacity);
+            }
+            this.capacity = bytes.readLong(CAPACITY);
+            this.mask = capacity - 1;
+        }
+
+        private static long slotFor(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 32);
+        }
+
+        long nextSequence() {
+            return bytes.readVolatileLong(NEXT_SEQUENCE);
+        }
+
+        void nextSequence(long sequence) {
+            bytes.writeOrderedLong(NEXT_SEQUENCE, sequence);
+        }
+
+        /**
+         * @return the sequence for this key or -1 if not found.
+         */
+        long get(long key) {
+            for (long i = slotFor(key); ; i++) {
+                final long offset = HEADER_SIZE + (i & mask) * SLOT_SIZE;
+                final long value = bytes.readVolatileLong(offset + 8);
+                if (value == 0)
+                    return -1;
+                if (bytes.readLong(offset) == key)
+                    return value - 1;
+            }
+        }
+
+        /**
+         * @return the lowest and highest key in the table in this file, or null if it doesn't exist.
+         */
+        @Nullable
+        static long[] range(@NotNull File file) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final ByteBuffer buffer = read(channel, MIN_KEY, 16);
+                return new long[]{buffer.getLong(0), buffer.getLong(8)};
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                throw new IORuntimeException(e);
+            }
+        }
+
+        /**
+         * Looks up a key with positional reads of the file, rather than mapping it.
+         *
+         * @return the sequence for this key or -1 if not found.
+         */
+        static long find(@NotNull File file, long key) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final long mask = read(channel, CAPACITY, 8).getLong(0) - 1;
+                for (long i = slotFor(key); ; i++) {
+                    final ByteBuffer slot = read(channel, HEADER_SIZE + (i & mask) * SLOT_SIZE, SLOT_SIZE);
+                    final long value = slot.getLong(8);
+                    if (value == 0)
+                        return -1;
+                    if (slot.getLong(0) == key)
+                        return value - 1;
+                }
+            } catch (NoSuchFileException e) {
+                return -1;
+            } catch (IOException e) {
+                throw new IORuntimeException(e);
+            }
+        }
+
+        // past the end of the file reads as zeros, as it would be mapped
+        @NotNull
+        private static ByteBuffer read(@NotNull FileChannel channel, long position, long length) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) length).order(ByteOrder.nativeOrder());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0)
+                    break;
+            }
+            return buffer;
+        }
+
+        /**
+         * Keeps the first sequence for each key.
+         *
+         * @return true if the key was added
+         */
+        boolean putIfAbsent(long key, long sequence) {
+            for (long i = slotFor(key); ; i++) {
+                final long offset = HEADER_SIZE + (i & mask) * SLOT_SIZE;
+                final long value = bytes.readLong(offset + 8);
+                if (value == 0) {
+                    bytes.writeLong(offset, key);
+                    bytes.writeOrderedLong(offset + 8, sequence + 1);
+                    bytes.writeLong(COUNT, bytes.readLong(COUNT) + 1);
+                    if (key < bytes.readLong(MIN_KEY))
+                        bytes.writeLong(MIN_KEY, key);
+                    if (key > bytes.readLong(MAX_KEY))
+                        bytes.writeLong(MAX_KEY, key);
+                    return true;
+                }
+                if (bytes.readLong(offset) == key)
+                    return false;
+            }
+        }
+
+        /**
+         * Rehashes into a table twice the size, when it is three quarters full.
+         *
+         * @return this or the table which replaced it.
+         */
+        KeyTable resizeIfFull() {
+            if (bytes.readLong(COUNT) < capacity / 4 * 3)
+                return this;
+
+            final File tmp = new File(file.getPath() + ".tmp");
+            if (tmp.exists() && !tmp.delete())
+                throw new IllegalStateException("Unable to delete " + tmp);
+            final KeyTable larger = new KeyTable(tmp, capacity * 2);
+            for (long i = 0; i < capacity; i++) {
+                final long offset = HEADER_SIZE + i * SLOT_SIZE;
+                final long value = bytes.readLong(offset + 8);
+                if (value != 0)
+                    larger.putIfAbsent(bytes.readLong(offset), value - 1);
+            }
+            larger.nextSequence(nextSequence());
+            larger.close();
+            close();
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new IORuntimeException(e);
+            }
+            if (Jvm.isDebugEnabled(getClass()))
+                Jvm.debug().on(getClass(), "Resized key index to " + capacity * 2 + " slots, file=" + file);
+            return new KeyTable(file, capacity * 2);
+        }
+
+        void close() {
+            bytes.close();
+        }
+    }
+}
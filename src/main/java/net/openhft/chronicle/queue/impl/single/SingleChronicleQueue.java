@@ -118,6 +118,11 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
     @NotNull
     private final WriteLock writeLock;
     private final boolean checkInterrupts;
+    final boolean timeIndex;
+    final int namedTailerCheckpointEvery;
+    final long namedTailerCheckpointIntervalNanos;
+    @NotNull
+    final QueueMetricsListener metricsListener;
     @NotNull
     private final RollingResourcesCache dateCache;
     private final WriteLock appendLock;
@@ -132,6 +137,26 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
     private Condition createAppenderCondition = NoOpCondition.INSTANCE;
     protected final ThreadLocal<ExcerptAppender> strongExcerptAppenderThreadLocal = CleaningThreadLocal.withCloseQuietly(this::createNewAppenderOnceConditionIsMet);
     private final long forceDirectoryListingRefreshIntervalMs;
+    @Nullable
+    private final StagingBuffer stagingBuffer;
+    private final CycleExcerptCounts cycleExcerptCounts = new CycleExcerptCounts(this);
+    private final CycleCatalog cycleCatalog = new CycleCatalog(this);
+    private final StorageTiers storageTiers;
+    @Nullable
+    private final CycleWatcher cycleWatcher;
+    @Nullable
+    private final AppendNotifier appendNotifier;
+    @Nullable
+    private final Backpressure backpressure;
+    @Nullable
+    private final Syncer syncer;
+    @Nullable
+    private final RollAhead rollAhead;
+    @Nullable
+    private final RetentionManager retentionManager;
+    private final Housekeeper housekeeper;
+    @Nullable
+    private final Mirror mirror;
     private long[] chunkCount = {0};
 
     protected SingleChronicleQueue(@NotNull final SingleChronicleQueueBuilder builder) {
@@ -146,10 +171,14 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
             pool = WireStorePool.withSupplier(storeSupplier, storeFileListener);
             isBuffered = BufferMode.Asynchronous == builder.writeBufferMode();
             path = builder.path();
+            storageTiers = new StorageTiers(path, builder.coldTiers());
             if (!builder.readOnly())
                 //noinspection ResultOfMethodCallIgnored
                 path.mkdirs();
             fileAbsolutePath = path.getAbsolutePath();
+            cycleWatcher = builder.watchDirectory()
+                    ? new CycleWatcher(storageTiers, dateCache::toLong, fileNameToCycleFunction())
+                    : null;
             wireType = builder.wireType();
             blockSize = builder.blockSize();
             overlapSize = Math.max(64 << 10, builder.blockSize() / 4);
@@ -166,6 +195,10 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
             timeoutMS = (long) (builder.timeoutMS() * (1 + 0.2 * new SecureRandom().nextFloat())); // Not time critical
             storeFactory = builder.storeFactory();
             checkInterrupts = builder.checkInterrupts();
+            timeIndex = builder.timeIndex();
+            namedTailerCheckpointEvery = builder.namedTailerCheckpointEvery();
+            namedTailerCheckpointIntervalNanos = TimeUnit.MICROSECONDS.toNanos(builder.namedTailerCheckpointIntervalMicros());
+            metricsListener = builder.metricsListener();
             metaStore = builder.metaStore();
             doubleBuffer = false; //builder.doubleBuffer();
             if (metaStore.readOnly() && !builder.readOnly()) {
@@ -176,13 +209,17 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
             readOnly = builder.readOnly();
 
             if (readOnly) {
-                this.directoryListing = new FileSystemDirectoryListing(path, fileNameToCycleFunction());
+                this.directoryListing = new FileSystemDirectoryListing(storageTiers, cycleWatcher, fileNameToCycleFunction());
             } else {
-                this.directoryListing = new TableDirectoryListing(metaStore, path.toPath(), fileNameToCycleFunction());
+                this.directoryListing = new TableDirectoryListing(metaStore, storageTiers, fileNameToCycleFunction());
                 directoryListing.init();
             }
 
-            this.directoryListing.refresh(true);
+            // a queue whose catalog agrees with the directory listing is reconciled on the first forced refresh
+            if (readOnly || !isCycleCatalogCurrent()) {
+                this.directoryListing.refresh(true);
+                reconcileCycleCatalog();
+            }
             this.queueLock = builder.queueLock();
             this.writeLock = builder.writeLock();
 
@@ -201,11 +238,47 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
                 this.lastAcknowledgedIndexReplicated = metaStore.doWithExclusiveLock(ts -> ts.acquireValueFor("chronicle.lastAcknowledgedIndexReplicated", -1L));
             }
 
+            this.appendNotifier = builder.appendNotifications() ? new AppendNotifier(this) : null;
+            this.backpressure = builder.backpressureMaxLag() < Long.MAX_VALUE && !readOnly
+                    ? new Backpressure(this, builder.backpressurePolicy(), builder.backpressureMaxLag())
+                    : null;
+            this.syncer = builder.durability() != DurabilityPolicy.NONE && !readOnly
+                    ? new Syncer(this, builder.durability(), builder.syncIntervalMicros(), builder.syncEveryMessages(), builder.syncEveryBytes())
+                    : null;
+            this.rollAhead = builder.rollAheadMs() > 0 && !readOnly
+                    ? new RollAhead(this, builder.rollAheadMs())
+                    : null;
+
             this.deltaCheckpointInterval = builder.deltaCheckpointInterval();
             this.forceDirectoryListingRefreshIntervalMs = builder.forceDirectoryListingRefreshIntervalMs();
 
             sourceId = builder.sourceId();
 
+            this.stagingBuffer = readOnly || builder.stagingBufferCapacity() <= 0
+                    ? null
+                    : new StagingBuffer(this, builder.stagingBufferCapacity(), builder.drainerPriority());
+
+            this.housekeeper = new Housekeeper(path.getName());
+            if (builder.compressRolledCycles() && !readOnly)
+                housekeeper.addHandler(new CycleCompressor(this, builder.compressRolledCyclesAfterMs(), CompressedCycle.DEFAULT_BLOCK_SHIFT));
+
+            if (!storageTiers.coldPaths().isEmpty() && !readOnly
+                    && (builder.hotTierMaxAgeMs() < Long.MAX_VALUE || builder.hotTierMaxBytes() < Long.MAX_VALUE))
+                housekeeper.addHandler(new TierMover(this, builder.hotTierMaxAgeMs(), builder.hotTierMaxBytes()));
+
+            if (!readOnly && (builder.retentionMaxCycles() < Integer.MAX_VALUE
+                    || builder.retentionMaxAgeMs() < Long.MAX_VALUE || builder.retentionMaxBytes() < Long.MAX_VALUE)) {
+                retentionManager = new RetentionManager(this, builder.retentionMaxCycles(), builder.retentionMaxAgeMs(),
+                        builder.retentionMaxBytes(), builder.retentionArchivePath());
+                housekeeper.addHandler(retentionManager);
+            } else {
+                retentionManager = null;
+            }
+
+            this.mirror = builder.mirrorPath() != null && !readOnly
+                    ? new Mirror(this, builder.mirrorPath(), builder.mirrorMaxLag())
+                    : null;
+
             Announcer.announce("net.openhft", "chronicle-queue",
                     AnalyticsFacade.isEnabled()
                             ? singletonMap("Analytics", "Chronicle Queue reports usage statistics. Learn more or turn off: https://github.com/OpenHFT/Chronicle-Queue/blob/ea/DISCLAIMER.adoc")
@@ -293,6 +366,45 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         throwExceptionIfClosed();
 
         directoryListing.refresh(true);
+        reconcileCycleCatalog();
+    }
+
+    /**
+     * Restores the file of a cycle which was {@link SingleChronicleQueueBuilder#compressRolledCycles(boolean) compressed} from its
+     * compressed copy, in the tier which holds it, so it is part of the queue again. The restored file is kept until it is removed
+     * by the {@link RetentionManager} or deleted.
+     *
+     * @return whether the cycle was restored, false if it has no compressed copy or its file already exists.
+     */
+    public boolean restoreCompressedCycle(int cycle) {
+        throwExceptionIfClosed();
+        final File cycleFile = fileForCycle(cycle);
+        if (storageTiers.exists(cycleFile))
+            return false;
+        for (File path : storageTiers.paths()) {
+            final File file = new File(path, cycleFile.getName());
+            if (!CompressedCycle.fileFor(file).exists())
+                continue;
+            CompressedCycle.restore(file);
+            refreshDirectoryListing();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isCycleCatalogCurrent() {
+        final int firstCycle = cycleCatalog.firstCycle();
+        final int lastCycle = cycleCatalog.lastCycle();
+        return !cycleCatalog.isEmpty()
+                && firstCycle == directoryListing.getMinCreatedCycle()
+                && lastCycle == directoryListing.getMaxCreatedCycle()
+                && storageTiers.exists(fileForCycle(firstCycle))
+                && storageTiers.exists(fileForCycle(lastCycle));
+    }
+
+    private void reconcileCycleCatalog() {
+        if (!readOnly)
+            cycleCatalog.reconcile(storageTiers.list(), fileNameToCycleFunction());
     }
 
     /**
@@ -499,6 +611,53 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         return res;
     }
 
+    /**
+     * @return the appender which stages excerpts in a lock-free ring buffer, to be written to the queue by a single drainer
+     * on the {@link #eventLoop()}. This can be shared between threads.
+     * @throws IllegalStateException if {@link SingleChronicleQueueBuilder#stagingBufferCapacity(long)} was not set.
+     */
+    @NotNull
+    public StagingAppender stagingAppender() {
+        throwExceptionIfClosed();
+        if (stagingBuffer == null)
+            throw new IllegalStateException("Staged appends are not enabled, see SingleChronicleQueueBuilder.stagingBufferCapacity, file=" + path);
+
+        return stagingBuffer.start();
+    }
+
+    /**
+     * Opens a persistent secondary index over the key extracted from each excerpt, stored in a sidecar file next to each cycle file.
+     * Excerpts are indexed when the index is used, or also by a background housekeeping thread if {@code indexInBackground}.
+     * <p>
+     * The index is closed when the queue is closed.
+     *
+     * @param name               of the index, used in the sidecar file names.
+     * @param keyExtractor       to extract the key from each excerpt.
+     * @param indexInBackground  to keep the index up to date in the background.
+     * @return the index, to be used with {@link ExcerptTailer#moveToKey(KeyIndex, long)}
+     */
+    @NotNull
+    public KeyIndex keyIndex(@NotNull String name, @NotNull KeyIndex.KeyExtractor keyExtractor, boolean indexInBackground) {
+        throwExceptionIfClosed();
+        if (readOnly)
+            throw new IllegalStateException("A key index cannot be maintained for a read only queue, file=" + path);
+
+        final SidecarKeyIndex keyIndex = new SidecarKeyIndex(this, name, keyExtractor);
+        if (indexInBackground)
+            housekeeper.addHandler(keyIndex);
+        return keyIndex;
+    }
+
+    @NotNull
+    StorageTiers storageTiers() {
+        return storageTiers;
+    }
+
+    @NotNull
+    File fileForCycle(int cycle) {
+        return dateCache.resourceFor(cycle).path;
+    }
+
     /**
      * @return the {@link QueueLock} This lock is held while the queue replication cluster is back-filling.
      * By Back-filling we mean that, as part of the fail-over process a sink, may actually have more data than a source,
@@ -547,10 +706,28 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         return storeTailer;
     }
 
+    /**
+     * Creates a member of a consumer group, which reads only the ranges of excerpts it claims so the members of the group
+     * share the queue between them. A process which replaces a member should use the same {@code member} name.
+     *
+     * @param group     the name of the group.
+     * @param member    the name of this member, unique in the group.
+     * @param rangeSize the number of excerpts claimed at a time.
+     * @return the tailer for this member
+     */
+    @NotNull
+    public GroupTailer createGroupTailer(@NotNull String group, @NotNull String member, int rangeSize) {
+        throwExceptionIfClosed();
+
+        if (readOnly)
+            throw new IllegalStateException("Consumer groups need a writable queue to claim ranges, file=" + file());
+        return new GroupTailer(this, group, member, rangeSize);
+    }
+
     @Override
     @NotNull
     public LongValue indexForId(@NotNull String id) {
-        return this.metaStore.doWithExclusiveLock((ts) -> ts.acquireValueFor("index." + id, 0L));
+        return this.metaStore.doWithExclusiveLock((ts) -> ts.acquirePaddedValueFor("index." + id, 0L));
     }
 
     @NotNull
@@ -667,7 +844,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         long lowerSeqNum = rollCycle.toSequenceNumber(fromIndex);
 
         if (lowerCycle + 1 == upperCycle) {
-            long l = exceptsPerCycle(lowerCycle);
+            long l = excerptsInCycle(lowerCycle);
             result += (l - lowerSeqNum) + upperSeqNum;
             return result;
         }
@@ -682,7 +859,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         if (cycles.first() == lowerCycle) {
             // because we are inclusive, for example  if we were at the end, then this
             // is 1 except rather than zero
-            long l = exceptsPerCycle(lowerCycle);
+            long l = excerptsInCycle(lowerCycle);
             result += (l - lowerSeqNum);
         } else
             throw new IllegalStateException("Cycle not found, lower-cycle=" + Long.toHexString(lowerCycle));
@@ -695,15 +872,112 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         if (cycles.size() == 2)
             return result;
 
-        final long[] array = cycles.stream().mapToLong(i -> i).toArray();
-        for (int i = 1; i < array.length - 1; i++) {
-            long x = exceptsPerCycle(Math.toIntExact(array[i]));
-            result += x;
-        }
+        return result + excerptsInCyclesBetween(lowerCycle, upperCycle, cycles);
+    }
 
+    /**
+     * Returns the number of excerpts in a cycle, using the count recorded when the cycle was rolled, if it has been, rather than
+     * reading the cycle. The count of the current cycle is {@link #approximateExcerptsInCycle(int) approximate}.
+     */
+    public long excerptsInCycle(int cycle) {
+        throwExceptionIfClosed();
+        if (cycle >= lastCycle())
+            return approximateExcerptsInCycle(cycle);
+        return cycleExcerptCounts.rolledCount(cycle);
+    }
+
+    /**
+     * Sums the counts recorded for the cycles strictly between the lower and upper cycle, without reading any of them
+     * unless a count is missing e.g. as the queue was written by an older version.
+     */
+    private long excerptsInCyclesBetween(int lowerCycle, int upperCycle, @NotNull NavigableSet<Long> cycles) {
+        final int middleCycles = cycles.size() - 2;
+        if (cycleExcerptCounts.cyclesBetween(lowerCycle, upperCycle) != middleCycles)
+            cycleExcerptCounts.reload();
+        if (cycleExcerptCounts.cyclesBetween(lowerCycle, upperCycle) == middleCycles)
+            return cycleExcerptCounts.sumBetween(lowerCycle, upperCycle);
+
+        // some counts are missing or some cycles have been deleted.
+        long result = 0;
+        for (Long cycle : cycles.subSet((long) lowerCycle, false, (long) upperCycle, false))
+            result += excerptsInCycle(Math.toIntExact(cycle));
         return result;
     }
 
+    /**
+     * The excerpt counts of the cycles which have been rolled.
+     */
+    @NotNull
+    CycleExcerptCounts cycleExcerptCounts() {
+        return cycleExcerptCounts;
+    }
+
+    @NotNull
+    CycleCatalog cycleCatalog() {
+        return cycleCatalog;
+    }
+
+    @Nullable
+    AppendNotifier appendNotifier() {
+        return appendNotifier;
+    }
+
+    @Nullable
+    Backpressure backpressure() {
+        return backpressure;
+    }
+
+    @Nullable
+    Syncer syncer() {
+        return syncer;
+    }
+
+    @Nullable
+    Mirror mirror() {
+        return mirror;
+    }
+
+    /**
+     * @return the index of the last excerpt copied to the mirror, or -1 if none has been.
+     * @throws IllegalStateException if the queue isn't mirrored, see {@link SingleChronicleQueueBuilder#mirrorPath(File)}
+     */
+    public long mirroredIndex() {
+        if (mirror == null)
+            throw new IllegalStateException("The queue isn't mirrored");
+        return mirror.mirroredIndex();
+    }
+
+    /**
+     * @return whether the last attempt to copy excerpts to the mirror failed, until it copies some again.
+     * @throws IllegalStateException if the queue isn't mirrored, see {@link SingleChronicleQueueBuilder#mirrorPath(File)}
+     */
+    public boolean isMirrorFailing() {
+        if (mirror == null)
+            throw new IllegalStateException("The queue isn't mirrored");
+        return mirror.isFailing();
+    }
+
+    /**
+     * Waits until the excerpts up to and including {@code index} are in the mirror as well, as an appender doesn't fail when it
+     * can't copy them.
+     *
+     * @return whether they were copied before the timeout.
+     * @throws IllegalStateException if the queue isn't mirrored, see {@link SingleChronicleQueueBuilder#mirrorPath(File)}
+     */
+    public boolean awaitMirrored(long index, long timeout, @NotNull TimeUnit unit) {
+        if (mirror == null)
+            throw new IllegalStateException("The queue isn't mirrored");
+        return mirror.awaitMirrored(index, unit.toNanos(timeout));
+    }
+
+    /**
+     * @return what removes old cycles with their metrics, or null if none are removed.
+     */
+    @Nullable
+    public RetentionManager retentionManager() {
+        return retentionManager;
+    }
+
     public NavigableSet<Long> listCyclesBetween(int lowerCycle, int upperCycle) throws ParseException {
         throwExceptionIfClosed();
 
@@ -721,6 +995,13 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
     @SuppressWarnings("unchecked")
     @Override
     protected void performClose() {
+        // no more file work while the stores are closed
+        closeQuietly(housekeeper);
+        // drain what has been staged while the appenders are still open.
+        closeQuietly(stagingBuffer);
+        // then copy what the mirror is missing
+        closeQuietly(mirror);
+
         synchronized (closers) {
             metaStoreMap.values().forEach(Closeable::closeQuietly);
             metaStoreMap.clear();
@@ -729,8 +1010,12 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
 
             // must be closed after closers.
             closeQuietly(
+                    rollAhead,
                     createAppenderCondition,
                     directoryListing,
+                    cycleWatcher,
+                    syncer,
+                    appendNotifier,
                     queueLock,
                     lastAcknowledgedIndexReplicated,
                     lastIndexReplicated,
@@ -821,6 +1106,8 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
 
         boolean force = now - directoryListing.lastRefreshTimeMS() > forceDirectoryListingRefreshIntervalMs;
         directoryListing.refresh(force);
+        if (force)
+            reconcileCycleCatalog();
     }
 
     @Override
@@ -905,7 +1192,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
     }
 
     @NotNull
-    private ToIntFunction<String> fileNameToCycleFunction() {
+    ToIntFunction<String> fileNameToCycleFunction() {
         return name -> dateCache.parseCount(name.substring(0, name.length() - SUFFIX.length()));
     }
 
@@ -925,6 +1212,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         writeLock.lock();
 
         Runnable fireOnReleasedEvent = null;
+        final List<Integer> emptyCycles = new ArrayList<>();
         try {
             int cycle = cycle();
             for (int lastCycle = lastCycle(); lastCycle < cycle && lastCycle >= 0; lastCycle--) {
@@ -943,6 +1231,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
                         } finally {
                             bytes.releaseLast();
                         }
+                        emptyCycles.add(lastCycle);
                         continue;
                     }
                     fireOnReleasedEvent = () -> storeFileListener.onReleased(store.cycle(), store.file());
@@ -952,6 +1241,8 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
             directoryListing.refresh(true);
         } finally {
             writeLock.unlock();
+            for (int emptyCycle : emptyCycles)
+                cycleExcerptCounts.record(emptyCycle, 0);
             if(fireOnReleasedEvent != null)
                 BackgroundResourceReleaser.run(fireOnReleasedEvent);
             long tookMillis = (System.nanoTime() - start) / 1_000_000;
@@ -1034,7 +1325,8 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
                     .dateCache.resourceFor(cycle);
             MappedBytes mappedBytes = null;
             try {
-                File path = dateValue.path;
+                // a rolled cycle may have been moved to a cold tier
+                File path = storageTiers.locate(dateValue.path);
 
                 directoryListing.refresh(false);
                 if (!createIfAbsent &&
@@ -1044,11 +1336,14 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
                     return null;
                 }
 
-                if (createIfAbsent)
+                final boolean precreated = createIfAbsent && !path.exists() && !dateValue.pathExists
+                        && PrecreatedFiles.preCreatedFile(path).exists();
+                // whoever pre-created the file checked the disk space
+                if (createIfAbsent && !precreated)
                     checkDiskSpace(that.path);
 
                 throwExceptionIfClosed();
-                if (createIfAbsent && !path.exists() && !dateValue.pathExists)
+                if (precreated)
                     PrecreatedFiles.renamePreCreatedFileToRequiredFile(path);
 
                 dateValue.pathExists = true;
@@ -1083,7 +1378,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
 
                         wireStore.initIndex(wire);
                         // do not allow tailer to see the file until it's header is written
-                        directoryListing.onFileCreated(path, cycle);
+                        onFileCreated(path, cycle);
                         // allow directoryListing to pick up the file immediately
                     } else {
                         try {
@@ -1155,7 +1450,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
                         wire.updateFirstHeader();
                         wire.usePadding(wireStore.dataVersion() > 0);
                         wireStore.initIndex(wire);
-                        directoryListing.onFileCreated(path, cycle);
+                        onFileCreated(path, cycle);
                     }
                 } finally {
                     fileLock.release();
@@ -1168,6 +1463,15 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
 
         }
 
+        @Override
+        public void closeStore(int cycle) {
+            final File cycleFile = dateCache.resourceFor(cycle).path;
+            // as mapped by acquire, in whichever tier it was in
+            mappedFileCache.remove(cycleFile);
+            for (File coldPath : storageTiers.coldPaths())
+                mappedFileCache.remove(new File(coldPath, cycleFile.getName()));
+        }
+
         @Override
         protected void performClose() {
             mappedFileCache.close();
@@ -1204,6 +1508,9 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
             if (!queuePathExists && !parentFile.exists())
                 throw new IllegalStateException("parentFile=" + parentFile.getName() + " does not exist");
 
+            if (cycleWatcher != null)
+                return watchedCycleTree(force);
+
             CachedCycleTree cachedValue = cachedTree.get();
             final long directoryModCount = directoryListing.modCount();
             if (force || (cachedValue == null || directoryModCount == -1 || directoryModCount > cachedValue.directoryModCount)) {
@@ -1211,10 +1518,15 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
                 final RollingResourcesCache dateCache = SingleChronicleQueue.this.dateCache;
                 final NavigableMap<Long, File> tree = new TreeMap<>();
 
-                final File[] files = parentFile.listFiles((File file) -> file.getPath().endsWith(SUFFIX));
-                if (files != null)
-                    for (File file : files)
+                final String[] fileNames = storageTiers.list();
+                if (fileNames != null)
+                    for (String fileName : fileNames) {
+                        // cycles in a cold tier are listed as their file in the queue's directory
+                        if (!fileName.endsWith(SUFFIX))
+                            continue;
+                        final File file = new File(parentFile, fileName);
                         tree.put(dateCache.toLong(file), file);
+                    }
 
                 cachedValue = new CachedCycleTree(directoryModCount, tree);
 
@@ -1235,6 +1547,40 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
             return cachedValue.cachedCycleTree;
         }
 
+        private void onFileCreated(final File path, final int cycle) {
+            directoryListing.onFileCreated(path, cycle);
+            if (cycleWatcher != null)
+                cycleWatcher.onFileCreated(path);
+            if (!readOnly)
+                cycleCatalog.onCreated(cycle);
+        }
+
+        // whether the cycles can be answered from the runs of the catalog, without building a tree of them
+        private boolean useCycleCatalog() {
+            if (readOnly || cycleWatcher != null || cycleCatalog.isEmpty())
+                return false;
+            // other processes may have added cycles
+            cycleCatalog.reload();
+            return !cycleCatalog.isEmpty();
+        }
+
+        @NotNull
+        private NavigableMap<Long, File> watchedCycleTree(final boolean force) {
+            if (force) {
+                cycleWatcher.rescan();
+            } else {
+                cycleWatcher.refresh();
+                // another process may have created a cycle which hasn't been reported yet
+                final int maxCycle = directoryListing.getMaxCreatedCycle();
+                if (maxCycle > cycleWatcher.maxCycle()) {
+                    final File file = dateCache.resourceFor(maxCycle).path;
+                    if (storageTiers.exists(file))
+                        cycleWatcher.onFileCreated(file);
+                }
+            }
+            return cycleWatcher.cycleTree();
+        }
+
         @Override
         public int nextCycle(int currentCycle, @NotNull TailerDirection direction) {
             throwExceptionIfClosed();
@@ -1242,6 +1588,8 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
             if (direction == NONE)
                 throw new AssertionError("direction is NONE");
             assert currentCycle >= 0 : "currentCycle=" + Integer.toHexString(currentCycle);
+            if (useCycleCatalog() && cycleCatalog.contains(currentCycle))
+                return cycleCatalog.nextCycle(currentCycle, direction != BACKWARD);
             NavigableMap<Long, File> tree = cycleTree(false);
             final File currentCycleFile = dateCache.resourceFor(currentCycle).path;
 
@@ -1259,7 +1607,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
                         break;
                     }
                 }
-                fileFound |= currentCycleFile.exists();
+                fileFound |= storageTiers.exists(currentCycleFile);
 
                 if (!fileFound) {
                     directoryListing.refresh(true);
@@ -1310,6 +1658,12 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
         public NavigableSet<Long> cycles(int lowerCycle, int upperCycle) {
             throwExceptionIfClosed();
 
+            if (useCycleCatalog() && cycleCatalog.contains(lowerCycle) && cycleCatalog.contains(upperCycle)) {
+                final NavigableSet<Long> keys = new TreeSet<>();
+                for (int cycle : cycleCatalog.cycles(lowerCycle, upperCycle))
+                    keys.add(dateCache.toLong(dateCache.resourceFor(cycle).path));
+                return keys;
+            }
             final NavigableMap<Long, File> tree = cycleTree(false);
             final Long lowerKey = toKey(lowerCycle, "lowerCycle");
             final Long upperKey = toKey(upperCycle, "upperCycle");
@@ -1320,7 +1674,7 @@ public class SingleChronicleQueue extends AbstractCloseable implements RollingCh
 
         private Long toKey(int cyle, String m) {
             final File file = dateCache.resourceFor(cyle).path;
-            if (!file.exists())
+            if (!storageTiers.exists(file))
                 throw new IllegalStateException("'file not found' for the " + m + ", file=" + file);
             return dateCache.toLong(file);
         }
@@ -36,6 +36,7 @@ import net.openhft.chronicle.core.util.ObjectUtils;
 import net.openhft.chronicle.core.util.ThrowingBiFunction;
 import net.openhft.chronicle.core.util.Updater;
 import net.openhft.chronicle.queue.*;
+import net.openhft.chronicle.queue.impl.QueueMetricsListener;
 import net.openhft.chronicle.queue.impl.RollingChronicleQueue;
 import net.openhft.chronicle.queue.impl.StoreFileListener;
 import net.openhft.chronicle.queue.impl.TableStore;
@@ -59,6 +60,8 @@ import java.nio.file.Path;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -154,6 +157,31 @@ public class SingleChronicleQueueBuilder extends SelfDescribingMarshallable impl
     private boolean doubleBuffer;
     private Function<SingleChronicleQueue, Condition> createAppenderConditionCreator;
     private long forceDirectoryListingRefreshIntervalMs = 60_000;
+    private Long stagingBufferCapacity;
+    private Boolean timeIndex;
+    private QueueMetricsListener metricsListener;
+    private Boolean compressRolledCycles;
+    private Long compressRolledCyclesAfterMs;
+    private List<File> coldTiers;
+    private Long hotTierMaxAgeMs;
+    private Long hotTierMaxBytes;
+    private Boolean watchDirectory;
+    private Boolean appendNotifications;
+    private Integer namedTailerCheckpointEvery;
+    private Long namedTailerCheckpointIntervalMicros;
+    private Long backpressureMaxLag;
+    private BackpressurePolicy backpressurePolicy;
+    private DurabilityPolicy durability;
+    private Long syncIntervalMicros;
+    private Integer syncEveryMessages;
+    private Long syncEveryBytes;
+    private Long rollAheadMs;
+    private Integer retentionMaxCycles;
+    private Long retentionMaxAgeMs;
+    private Long retentionMaxBytes;
+    private File retentionArchivePath;
+    private File mirrorPath;
+    private Long mirrorMaxLag;
 
     protected SingleChronicleQueueBuilder() {
     }
@@ -1153,6 +1181,507 @@ public class SingleChronicleQueueBuilder extends SelfDescribingMarshallable impl
         return this;
     }
 
+    /**
+     * @return the capacity in bytes of the staging ring buffer used by {@link SingleChronicleQueue#stagingAppender()}, 0 if staged appends are disabled.
+     */
+    public long stagingBufferCapacity() {
+        return stagingBufferCapacity == null ? 0 : stagingBufferCapacity;
+    }
+
+    /**
+     * <p>
+     * Enables staged appends via {@link SingleChronicleQueue#stagingAppender()}.
+     * </p><p>
+     * Producers copy each excerpt into a lock-free, multi-producer ring buffer of this capacity and never acquire the write lock.
+     * A single drainer on the {@link #eventLoop()}, with {@link #drainerPriority()}, writes them to the queue in batches, in the order
+     * they were staged. This reduces the contention on the write lock when many threads write to the same queue at a high rate,
+     * at the cost of an extra copy and the index not being known to the producer.
+     * </p>
+     *
+     * @param stagingBufferCapacity in bytes, rounded up to a power of 2. 0 to disable.
+     * @return this
+     */
+    public SingleChronicleQueueBuilder stagingBufferCapacity(long stagingBufferCapacity) {
+        if (stagingBufferCapacity < 0 || stagingBufferCapacity > 1L << 30)
+            throw new IllegalArgumentException("stagingBufferCapacity must be between 0 and 1 GB, was " + stagingBufferCapacity);
+        this.stagingBufferCapacity = stagingBufferCapacity;
+        return this;
+    }
+
+    /**
+     * @return whether appenders record when every {@link #indexSpacing()} excerpts were appended, default false.
+     */
+    public boolean timeIndex() {
+        return timeIndex != null && timeIndex;
+    }
+
+    /**
+     * Enables a sparse time index per cycle, so tailers can {@link StoreTailer#moveToTime(long) moveToTime} without scanning.
+     * <p>
+     * Whenever an excerpt is added to the index, i.e. every {@link #indexSpacing()} excerpts, the appender records the
+     * {@link #timeProvider()} time in a sidecar file next to the cycle file.
+     *
+     * @param timeIndex to enable
+     * @return this
+     */
+    public SingleChronicleQueueBuilder timeIndex(boolean timeIndex) {
+        this.timeIndex = timeIndex;
+        return this;
+    }
+
+    /**
+     * @return the listener for the latencies of appenders and tailers, {@link QueueMetricsListener#NO_OP} by default.
+     */
+    @NotNull
+    public QueueMetricsListener metricsListener() {
+        return metricsListener == null ? QueueMetricsListener.NO_OP : metricsListener;
+    }
+
+    /**
+     * Times the operations of every appender and tailer, see {@link QueueMetricsListener} for what is recorded.
+     * {@link net.openhft.chronicle.queue.impl.QueueMetrics} keeps histograms of these per thread.
+     * <p>
+     * When no listener is set the operations aren't timed.
+     *
+     * @param metricsListener to call
+     * @return this
+     */
+    public SingleChronicleQueueBuilder metricsListener(@NotNull QueueMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+        return this;
+    }
+
+    /**
+     * @return whether the files of rolled cycles are compressed in the background, default false.
+     */
+    public boolean compressRolledCycles() {
+        return compressRolledCycles != null && compressRolledCycles;
+    }
+
+    /**
+     * Archives the file of each rolled cycle as a compressed copy, on a background thread, once it is older than
+     * {@link #compressRolledCyclesAfterMs()}, and deletes the original.
+     * <p>
+     * A compressed cycle is no longer part of the queue, tailers start from the first cycle which hasn't been compressed, so a cycle
+     * a named tailer or consumer group still has to read isn't compressed. Use {@link SingleChronicleQueue#restoreCompressedCycle(int)}
+     * to read one again.
+     *
+     * @param compressRolledCycles to enable
+     * @return this
+     */
+    public SingleChronicleQueueBuilder compressRolledCycles(boolean compressRolledCycles) {
+        this.compressRolledCycles = compressRolledCycles;
+        return this;
+    }
+
+    /**
+     * @return how long after a cycle ends it is compressed, if {@link #compressRolledCycles()}, as soon as it has been rolled by default.
+     */
+    public long compressRolledCyclesAfterMs() {
+        return compressRolledCyclesAfterMs == null ? 0 : compressRolledCyclesAfterMs;
+    }
+
+    /**
+     * @param compressRolledCyclesAfterMs how long after a cycle ends it is compressed
+     * @return this
+     */
+    public SingleChronicleQueueBuilder compressRolledCyclesAfterMs(long compressRolledCyclesAfterMs) {
+        if (compressRolledCyclesAfterMs < 0)
+            throw new IllegalArgumentException("compressRolledCyclesAfterMs must not be negative, was " + compressRolledCyclesAfterMs);
+        this.compressRolledCyclesAfterMs = compressRolledCyclesAfterMs;
+        return this;
+    }
+
+    /**
+     * @return the directories rolled cycles are moved to, in the order they are searched, none by default.
+     */
+    @NotNull
+    public List<File> coldTiers() {
+        return coldTiers == null ? Collections.emptyList() : coldTiers;
+    }
+
+    /**
+     * Sets the directories, after {@link #path()}, cycle files are read from. Rolled cycles are moved to the first of
+     * these once they are older than {@link #hotTierMaxAgeMs()} or the queue's directory holds more than {@link #hotTierMaxBytes()}.
+     *
+     * @param coldTiers the directories in the order they are searched
+     * @return this
+     */
+    public SingleChronicleQueueBuilder coldTiers(@NotNull File... coldTiers) {
+        this.coldTiers = Arrays.asList(coldTiers.clone());
+        return this;
+    }
+
+    /**
+     * @return how long after a cycle ends it is moved to the first {@link #coldTiers()}, never by default.
+     */
+    public long hotTierMaxAgeMs() {
+        return hotTierMaxAgeMs == null ? Long.MAX_VALUE : hotTierMaxAgeMs;
+    }
+
+    /**
+     * @param hotTierMaxAgeMs how long after a cycle ends it is moved to the first of the {@link #coldTiers()}
+     * @return this
+     */
+    public SingleChronicleQueueBuilder hotTierMaxAgeMs(long hotTierMaxAgeMs) {
+        if (hotTierMaxAgeMs < 0)
+            throw new IllegalArgumentException("hotTierMaxAgeMs must not be negative, was " + hotTierMaxAgeMs);
+        this.hotTierMaxAgeMs = hotTierMaxAgeMs;
+        return this;
+    }
+
+    /**
+     * @return the size of the cycle files in {@link #path()} above which the oldest rolled cycles are moved, unlimited by default.
+     */
+    public long hotTierMaxBytes() {
+        return hotTierMaxBytes == null ? Long.MAX_VALUE : hotTierMaxBytes;
+    }
+
+    /**
+     * @param hotTierMaxBytes the size of the cycle files in {@link #path()} above which the oldest rolled cycles are moved
+     *                        to the first of the {@link #coldTiers()}
+     * @return this
+     */
+    public SingleChronicleQueueBuilder hotTierMaxBytes(long hotTierMaxBytes) {
+        if (hotTierMaxBytes < 0)
+            throw new IllegalArgumentException("hotTierMaxBytes must not be negative, was " + hotTierMaxBytes);
+        this.hotTierMaxBytes = hotTierMaxBytes;
+        return this;
+    }
+
+    /**
+     * @return whether the cycle files are tracked from file system events rather than by listing the directory, default false.
+     */
+    public boolean watchDirectory() {
+        return watchDirectory != null && watchDirectory;
+    }
+
+    /**
+     * Tracks the cycle files with a {@link java.nio.file.WatchService}, i.e. inotify on Linux, so tailers moving between cycles
+     * and read only queues refreshing their first and last cycle don't list the queue's directory.
+     * <p>
+     * Where the {@code WatchService} polls the directory rather than receiving events, this will be slower.
+     *
+     * @param watchDirectory to enable
+     * @return this
+     */
+    public SingleChronicleQueueBuilder watchDirectory(boolean watchDirectory) {
+        this.watchDirectory = watchDirectory;
+        return this;
+    }
+
+    /**
+     * @return whether appenders notify waiting tailers, default false.
+     */
+    public boolean appendNotifications() {
+        return appendNotifications != null && appendNotifications;
+    }
+
+    /**
+     * Has appenders increment a word in the queue's metadata after each commit and wake the threads waiting on it, so tailers can
+     * block in {@link net.openhft.chronicle.queue.ExcerptTailer#awaitNext(long, TimeUnit)} instead of polling.
+     * <p>
+     * This has to be enabled by every process appending to the queue for tailers in other processes to be woken promptly.
+     * While any tailer waits, one thread per process polls for appends by other processes, every 100 µs after an append, backing
+     * off to every 10 ms while nothing is appended, so an idle queue still costs about a hundred wakeups a second. See
+     * {@code AppendNotifier.pollNanos} and {@code AppendNotifier.maxPollNanos}.
+     *
+     * @param appendNotifications to enable
+     * @return this
+     */
+    public SingleChronicleQueueBuilder appendNotifications(boolean appendNotifications) {
+        this.appendNotifications = appendNotifications;
+        return this;
+    }
+
+    /**
+     * @return the number of excerpts a named tailer reads between writing its index to the metadata table store, default 1.
+     */
+    public int namedTailerCheckpointEvery() {
+        return namedTailerCheckpointEvery == null ? 1 : namedTailerCheckpointEvery;
+    }
+
+    /**
+     * Has tailers created with {@link SingleChronicleQueue#createTailer(String)} keep their index locally and only write it to the
+     * metadata table store every {@code messages} excerpts, every {@link #namedTailerCheckpointIntervalMicros()}, on
+     * {@link net.openhft.chronicle.queue.ExcerptTailer#commit()} or when closed, whichever is first.
+     * <p>
+     * A tailer which is restarted after a crash resumes from the last index written, so may read again the excerpts read since.
+     * Named tailers with the same id in one process no longer share their position once this is not 1.
+     *
+     * @param messages the number of excerpts between writes, or 0 to write only on a time interval, commit or close
+     * @return this
+     */
+    public SingleChronicleQueueBuilder namedTailerCheckpointEvery(int messages) {
+        if (messages < 0)
+            throw new IllegalArgumentException("namedTailerCheckpointEvery must not be negative, was " + messages);
+        this.namedTailerCheckpointEvery = messages;
+        return this;
+    }
+
+    /**
+     * @return the longest time in microseconds a named tailer which doesn't write its index on every excerpt goes between writes,
+     * 0 for no limit by default.
+     */
+    public long namedTailerCheckpointIntervalMicros() {
+        return namedTailerCheckpointIntervalMicros == null ? 0 : namedTailerCheckpointIntervalMicros;
+    }
+
+    /**
+     * @param micros the longest time between a named tailer writing its index, checked as it reads, or 0 for no limit.
+     *               Only used when {@link #namedTailerCheckpointEvery(int)} is not 1.
+     * @return this
+     */
+    public SingleChronicleQueueBuilder namedTailerCheckpointIntervalMicros(long micros) {
+        if (micros < 0)
+            throw new IllegalArgumentException("namedTailerCheckpointIntervalMicros must not be negative, was " + micros);
+        this.namedTailerCheckpointIntervalMicros = micros;
+        return this;
+    }
+
+    /**
+     * @return the number of excerpts the slowest named tailer can be behind before appenders apply the {@link #backpressurePolicy()},
+     * unlimited by default.
+     */
+    public long backpressureMaxLag() {
+        return backpressureMaxLag == null ? Long.MAX_VALUE : backpressureMaxLag;
+    }
+
+    /**
+     * @return what appenders do when the slowest named tailer is too far behind, {@link BackpressurePolicy#PARK} by default.
+     */
+    @NotNull
+    public BackpressurePolicy backpressurePolicy() {
+        return backpressurePolicy == null ? BackpressurePolicy.PARK : backpressurePolicy;
+    }
+
+    /**
+     * Bounds the queue by its slowest named tailer, i.e. created with {@link SingleChronicleQueue#createTailer(String)} in any process.
+     * When appending would leave one more than {@code maxLag} excerpts behind the end of the queue, the appender applies the policy
+     * before writing the excerpt. Appenders check the tailers only once they have appended as many excerpts as they had headroom
+     * for the last time, so this costs nothing per excerpt while the tailers keep up.
+     * <p>
+     * Excerpts written with an explicit index, e.g. by replication, and metadata are not held back.
+     *
+     * @param maxLag the number of excerpts the slowest named tailer can be behind
+     * @param policy what to do when it is further behind
+     * @return this
+     */
+    public SingleChronicleQueueBuilder backpressure(long maxLag, @NotNull BackpressurePolicy policy) {
+        if (maxLag < 1)
+            throw new IllegalArgumentException("backpressure maxLag must be positive, was " + maxLag);
+        this.backpressureMaxLag = maxLag;
+        this.backpressurePolicy = policy;
+        return this;
+    }
+
+    /**
+     * @return when excerpts appended by this process are synced to disk, {@link DurabilityPolicy#NONE} by default.
+     */
+    @NotNull
+    public DurabilityPolicy durability() {
+        return durability == null ? DurabilityPolicy.NONE : durability;
+    }
+
+    /**
+     * Has a thread sync the cycle files written to by this process as the policy says, coalescing everything appended since the
+     * last sync into one. Appenders can wait for what they wrote to be synced with
+     * {@link net.openhft.chronicle.queue.ExcerptAppender#awaitDurable(long, long, TimeUnit)}, or ask for it to be synced now with
+     * {@link net.openhft.chronicle.queue.ExcerptAppender#sync()}. Syncing is only supported on Linux, see {@link DurabilityPolicy}.
+     *
+     * @param durability policy
+     * @return this
+     */
+    public SingleChronicleQueueBuilder durability(@NotNull DurabilityPolicy durability) {
+        this.durability = durability;
+        return this;
+    }
+
+    /**
+     * @return the interval between syncs with {@link DurabilityPolicy#PERIODIC}, 1 ms by default.
+     */
+    public long syncIntervalMicros() {
+        return syncIntervalMicros == null ? 1_000 : syncIntervalMicros;
+    }
+
+    public SingleChronicleQueueBuilder syncIntervalMicros(long syncIntervalMicros) {
+        if (syncIntervalMicros < 1)
+            throw new IllegalArgumentException("syncIntervalMicros must be positive, was " + syncIntervalMicros);
+        this.syncIntervalMicros = syncIntervalMicros;
+        return this;
+    }
+
+    /**
+     * @return the number of excerpts appended which triggers a sync with {@link DurabilityPolicy#EVERY_N}, 1024 by default.
+     */
+    public int syncEveryMessages() {
+        return syncEveryMessages == null ? 1024 : syncEveryMessages;
+    }
+
+    public SingleChronicleQueueBuilder syncEveryMessages(int syncEveryMessages) {
+        if (syncEveryMessages < 1)
+            throw new IllegalArgumentException("syncEveryMessages must be positive, was " + syncEveryMessages);
+        this.syncEveryMessages = syncEveryMessages;
+        return this;
+    }
+
+    /**
+     * @return the number of bytes appended which triggers a sync with {@link DurabilityPolicy#EVERY_N}, 1 MiB by default.
+     */
+    public long syncEveryBytes() {
+        return syncEveryBytes == null ? 1 << 20 : syncEveryBytes;
+    }
+
+    public SingleChronicleQueueBuilder syncEveryBytes(long syncEveryBytes) {
+        if (syncEveryBytes < 1)
+            throw new IllegalArgumentException("syncEveryBytes must be positive, was " + syncEveryBytes);
+        this.syncEveryBytes = syncEveryBytes;
+        return this;
+    }
+
+    /**
+     * @return how long before each roll the next cycle's file is prepared in the background, 0 by default meaning it isn't.
+     */
+    public long rollAheadMs() {
+        return rollAheadMs == null ? 0 : rollAheadMs;
+    }
+
+    /**
+     * Has a background thread create the next cycle's file, check the disk space and allocate the pages the appender will write
+     * first, this long before each roll, so the appender which rolls doesn't stall doing it. A few hundred milliseconds is
+     * usually enough.
+     *
+     * @param rollAheadMs before the roll, or 0 to disable
+     * @return this
+     */
+    public SingleChronicleQueueBuilder rollAheadMs(long rollAheadMs) {
+        if (rollAheadMs < 0)
+            throw new IllegalArgumentException("rollAheadMs must not be negative, was " + rollAheadMs);
+        this.rollAheadMs = rollAheadMs;
+        return this;
+    }
+
+    /**
+     * @return the number of cycles above which the oldest rolled cycles are removed, unlimited by default.
+     */
+    public int retentionMaxCycles() {
+        return retentionMaxCycles == null ? Integer.MAX_VALUE : retentionMaxCycles;
+    }
+
+    /**
+     * Removes the oldest rolled cycles, with their compressed copies and sidecar files, once the queue has more than this many cycles.
+     * Cycles a named tailer or consumer group still has to read are kept regardless. See {@link RetentionManager}.
+     *
+     * @param retentionMaxCycles to keep, including the current one
+     * @return this
+     */
+    public SingleChronicleQueueBuilder retentionMaxCycles(int retentionMaxCycles) {
+        if (retentionMaxCycles < 1)
+            throw new IllegalArgumentException("retentionMaxCycles must be positive, was " + retentionMaxCycles);
+        this.retentionMaxCycles = retentionMaxCycles;
+        return this;
+    }
+
+    /**
+     * @return how long after a cycle ends it is removed, never by default.
+     */
+    public long retentionMaxAgeMs() {
+        return retentionMaxAgeMs == null ? Long.MAX_VALUE : retentionMaxAgeMs;
+    }
+
+    /**
+     * @param retentionMaxAgeMs how long after a cycle ends it is removed, unless a named tailer or consumer group still has to read it
+     * @return this
+     */
+    public SingleChronicleQueueBuilder retentionMaxAgeMs(long retentionMaxAgeMs) {
+        if (retentionMaxAgeMs < 0)
+            throw new IllegalArgumentException("retentionMaxAgeMs must not be negative, was " + retentionMaxAgeMs);
+        this.retentionMaxAgeMs = retentionMaxAgeMs;
+        return this;
+    }
+
+    /**
+     * @return the size of the queue's files above which the oldest rolled cycles are removed, unlimited by default.
+     */
+    public long retentionMaxBytes() {
+        return retentionMaxBytes == null ? Long.MAX_VALUE : retentionMaxBytes;
+    }
+
+    /**
+     * @param retentionMaxBytes the size of the queue's files in every tier above which the oldest rolled cycles are removed,
+     *                          unless a named tailer or consumer group still has to read them
+     * @return this
+     */
+    public SingleChronicleQueueBuilder retentionMaxBytes(long retentionMaxBytes) {
+        if (retentionMaxBytes < 0)
+            throw new IllegalArgumentException("retentionMaxBytes must not be negative, was " + retentionMaxBytes);
+        this.retentionMaxBytes = retentionMaxBytes;
+        return this;
+    }
+
+    /**
+     * @return the directory removed cycles are moved to, or null if they are deleted, the default.
+     */
+    @Nullable
+    public File retentionArchivePath() {
+        return retentionArchivePath;
+    }
+
+    /**
+     * @param retentionArchivePath the directory to move removed cycles to rather than deleting them. The queue doesn't read from it.
+     * @return this
+     */
+    public SingleChronicleQueueBuilder retentionArchivePath(@Nullable File retentionArchivePath) {
+        this.retentionArchivePath = retentionArchivePath;
+        return this;
+    }
+
+    /**
+     * @return the directory of the queue every excerpt is copied to, or null if none is, the default.
+     */
+    @Nullable
+    public File mirrorPath() {
+        return mirrorPath;
+    }
+
+    /**
+     * Copies the bytes of every excerpt appended to a mirror queue in this directory, at the same index, so the queue can be restored
+     * from it if its disk fails. It should be on another disk. Rolled cycles the mirror is missing are copied whole when the
+     * queue is opened. See {@link #mirrorMaxLag(long)}.
+     *
+     * @param mirrorPath the directory of the mirror queue, or null for none
+     * @return this
+     */
+    public SingleChronicleQueueBuilder mirrorPath(@Nullable File mirrorPath) {
+        this.mirrorPath = mirrorPath;
+        return this;
+    }
+
+    /**
+     * @return how many excerpts the mirror can be behind the queue, 0 by default meaning excerpts are mirrored before the appender returns.
+     */
+    public long mirrorMaxLag() {
+        return mirrorMaxLag == null ? 0 : mirrorMaxLag;
+    }
+
+    /**
+     * Has a background thread copy excerpts to the mirror, with appenders copying them themselves when it is more than this many
+     * excerpts behind.
+     * <p>
+     * Even with no lag mirroring is best effort: an appender which can't copy an excerpt logs it and returns, as the excerpt has
+     * already been committed to the queue. Use {@link SingleChronicleQueue#awaitMirrored(long, long, TimeUnit)} to know that an
+     * excerpt is on both disks, or {@link SingleChronicleQueue#isMirrorFailing()}.
+     *
+     * @param mirrorMaxLag the number of excerpts, or 0 to copy each before the appender returns
+     * @return this
+     */
+    public SingleChronicleQueueBuilder mirrorMaxLag(long mirrorMaxLag) {
+        if (mirrorMaxLag < 0)
+            throw new IllegalArgumentException("mirrorMaxLag must not be negative, was " + mirrorMaxLag);
+        this.mirrorMaxLag = mirrorMaxLag;
+        return this;
+    }
+
     public SingleChronicleQueueBuilder clone() {
         try {
             return (SingleChronicleQueueBuilder) super.clone();
@@ -0,0 +1,51 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.WriteBytesMarshallable;
+import net.openhft.chronicle.wire.UnrecoverableTimeoutException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A thread-safe appender which stages excerpts in an in-memory, lock-free, multi-producer ring buffer.
+ * <p>
+ * Producers never take the queue's write lock, they only claim space in the ring buffer. A single drainer,
+ * running on the queue's event loop, copies the staged excerpts into the queue in the order their space was claimed,
+ * and is the only thread that takes the write lock.
+ * <p>
+ * As the index is only assigned when an excerpt is drained, it is not available to the producer.
+ * <p>
+ * Enable this with {@link SingleChronicleQueueBuilder#stagingBufferCapacity(long)}, and obtain it via {@link SingleChronicleQueue#stagingAppender()}
+ */
+public interface StagingAppender {
+
+    /**
+     * Stages the {@code bytes} if there is space in the ring buffer.
+     *
+     * @param bytes to write to excerpt.
+     * @return true if staged, false if the ring buffer is full.
+     */
+    boolean tryWriteBytes(@NotNull BytesStore bytes);
+
+    /**
+     * Stages the {@code bytes}, waiting for the drainer to free up space if the ring buffer is full.
+     *
+     * @param bytes to write to excerpt.
+     * @throws UnrecoverableTimeoutException if the ring buffer stays full for longer than the queue's timeout.
+     */
+    void writeBytes(@NotNull BytesStore bytes);
+
+    /**
+     * Serialises the {@code marshallable} into a thread local buffer, and stages it.
+     *
+     * @param marshallable to write to excerpt.
+     * @throws UnrecoverableTimeoutException if the ring buffer stays full for longer than the queue's timeout.
+     */
+    void writeBytes(@NotNull WriteBytesMarshallable marshallable);
+
+    /**
+     * Waits until everything staged before this call has been written to the queue.
+     *
+     * @throws UnrecoverableTimeoutException if this takes longer than the queue's timeout.
+     */
+    void flush();
+}
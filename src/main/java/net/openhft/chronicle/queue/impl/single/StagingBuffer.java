@@ -0,0 +1,232 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.PointerBytesStore;
+import net.openhft.chronicle.bytes.WriteBytesMarshallable;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.threads.TimingPauser;
+import net.openhft.chronicle.wire.UnrecoverableTimeoutException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A multi-producer, single-consumer ring buffer of excerpts in native memory, drained into the queue by an {@link EventHandler}.
+ * <p>
+ * Each record is a 4 byte header followed by the excerpt, aligned to 8 bytes. The header is 0 while the space is claimed but not
+ * yet written, the length of the excerpt plus one once published, or minus the length of the padding which fills the end of the
+ * buffer when a record would otherwise wrap.
+ * <p>
+ * Producers claim space with a CAS on {@code writeClaim}, the drainer writes up to {@link #DRAIN_BATCH} published records to the
+ * queue with a single {@link ExcerptAppender#writeBytes(BytesStore[], int, int)}, zeroes them and only then advances {@code readPosition}.
+ */
+final class StagingBuffer extends AbstractCloseable implements StagingAppender, EventHandler {
+    static final int DRAIN_BATCH = 64;
+    private static final int HEADER_SIZE = 4;
+
+    private final SingleChronicleQueue queue;
+    private final HandlerPriority priority;
+    private final BytesStore<?, Void> ring;
+    private final long capacity;
+    private final long mask;
+    private final AtomicLong writeClaim = new AtomicLong();
+    private final AtomicLong readPosition = new AtomicLong();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final ThreadLocal<Bytes<?>> marshallableBuffer = ThreadLocal.withInitial(Bytes::allocateElasticOnHeap);
+    private final PointerBytesStore[] batch = new PointerBytesStore[DRAIN_BATCH];
+    private ExcerptAppender appender;
+
+    StagingBuffer(@NotNull SingleChronicleQueue queue, long capacity, @NotNull HandlerPriority priority) {
+        this.queue = queue;
+        this.priority = priority;
+        this.capacity = Maths.nextPower2(capacity, 64L << 10);
+        this.mask = this.capacity - 1;
+        this.ring = BytesStore.nativeStoreWithFixedCapacity(this.capacity);
+        ring.zeroOut(0, this.capacity);
+        for (int i = 0; i < batch.length; i++)
+            batch[i] = new PointerBytesStore();
+        disableThreadSafetyCheck(true);
+    }
+
+    private static long align8(long length) {
+        return (length + 7) & ~7L;
+    }
+
+    /**
+     * Adds the drainer to the queue's event loop, the first time this appender is used.
+     */
+    StagingBuffer start() {
+        if (started.compareAndSet(false, true)) {
+            queue.eventLoop().addHandler(this);
+            queue.eventLoop().start();
+        }
+        return this;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean tryWriteBytes(@NotNull BytesStore bytes) {
+        throwExceptionIfClosed();
+
+        final long length = bytes.readRemaining();
+        final long size = align8(HEADER_SIZE + length);
+        if (size > capacity / 2)
+            throw new IllegalArgumentException("Excerpt of " + length + " bytes is too large for a staging buffer of " + capacity + " bytes");
+
+        final long position = claim(size);
+        if (position < 0)
+            return false;
+        final long offset = position & mask;
+        ring.write(offset + HEADER_SIZE, bytes, bytes.readPosition(), length);
+        ring.writeOrderedInt(offset, (int) length + 1);
+        return true;
+    }
+
+    /**
+     * @return the position claimed or -1 if there is not enough free space.
+     */
+    private long claim(long size) {
+        while (true) {
+            final long position = writeClaim.get();
+            final long offset = position & mask;
+            final long toEnd = capacity - offset;
+            // if it doesn't fit before the end, pad to the end and start again at the beginning.
+            final long needed = size <= toEnd ? size : toEnd + size;
+            if (position + needed - readPosition.get() > capacity)
+                return -1;
+            if (writeClaim.compareAndSet(position, position + needed)) {
+                if (needed == size)
+                    return position;
+                ring.writeOrderedInt(offset, (int) -toEnd);
+                return position + toEnd;
+            }
+        }
+    }
+
+    @Override
+    public void writeBytes(@NotNull BytesStore bytes) {
+        if (tryWriteBytes(bytes))
+            return;
+
+        final TimingPauser pauser = queue.pauserSupplier.get();
+        try {
+            do {
+                pauser.pause(queue.timeoutMS, TimeUnit.MILLISECONDS);
+            } while (!tryWriteBytes(bytes));
+        } catch (TimeoutException e) {
+            throw new UnrecoverableTimeoutException(new IllegalStateException("Staging buffer full for " + queue.timeoutMS + " ms, file=" + queue.file()));
+        } finally {
+            pauser.reset();
+        }
+    }
+
+    @Override
+    public void writeBytes(@NotNull WriteBytesMarshallable marshallable) {
+        final Bytes<?> bytes = marshallableBuffer.get();
+        bytes.clear();
+        marshallable.writeMarshallable(bytes);
+        writeBytes(bytes);
+    }
+
+    @Override
+    public void flush() {
+        final long target = writeClaim.get();
+        final TimingPauser pauser = queue.pauserSupplier.get();
+        try {
+            while (readPosition.get() < target) {
+                throwExceptionIfClosed();
+                pauser.pause(queue.timeoutMS, TimeUnit.MILLISECONDS);
+            }
+        } catch (TimeoutException e) {
+            throw new UnrecoverableTimeoutException(new IllegalStateException("Staging buffer not drained after " + queue.timeoutMS + " ms, file=" + queue.file()));
+        } finally {
+            pauser.reset();
+        }
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        synchronized (this) {
+            if (isClosing())
+                throw new InvalidEventHandlerException("closed");
+            return drain();
+        }
+    }
+
+    @Override
+    public @NotNull HandlerPriority priority() {
+        return priority;
+    }
+
+    /**
+     * @return true if anything was consumed from the ring buffer.
+     */
+    private boolean drain() {
+        final long start = readPosition.get();
+        long position = start;
+        int count = 0;
+        while (count < DRAIN_BATCH) {
+            final long offset = position & mask;
+            final int header = ring.readVolatileInt(offset);
+            if (header == 0)
+                break;
+            if (header < 0) {
+                position += -header;
+                continue;
+            }
+            final int length = header - 1;
+            batch[count++].set(ring.addressForRead(offset + HEADER_SIZE), length);
+            position += align8(HEADER_SIZE + length);
+        }
+        if (position == start)
+            return false;
+
+        if (count > 0) {
+            if (appender == null)
+                appender = queue.constructAppender().disableThreadSafetyCheck(true);
+            appender.writeBytes(batch, 0, count);
+        }
+
+        // the region consumed wraps at most once.
+        final long startOffset = start & mask;
+        final long endOffset = position & mask;
+        if (startOffset < endOffset) {
+            ring.zeroOut(startOffset, endOffset);
+        } else {
+            ring.zeroOut(startOffset, capacity);
+            ring.zeroOut(0, endOffset);
+        }
+        readPosition.lazySet(position);
+        return true;
+    }
+
+    @Override
+    protected void performClose() {
+        synchronized (this) {
+            try {
+                // write whatever has been published already
+                while (drain()) {
+                    // keep draining
+                }
+            } catch (Exception e) {
+                Jvm.warn().on(getClass(), "Unable to drain the staging buffer on close, file=" + queue.file(), e);
+            }
+            if (appender != null)
+                appender.close();
+            ring.releaseLast();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The directories cycle files can be in, the queue's own directory first followed by the cold tiers rolled cycles are moved to.
+ * <p>
+ * A cycle file is always referred to by its path in the queue's directory, and resolved to whichever tier holds it when it is read.
+ */
+final class StorageTiers {
+    private final File hotPath;
+    private final List<File> coldPaths;
+
+    StorageTiers(@NotNull File hotPath, @NotNull List<File> coldPaths) {
+        this.hotPath = hotPath;
+        this.coldPaths = Collections.unmodifiableList(new ArrayList<>(coldPaths));
+    }
+
+    @NotNull
+    File hotPath() {
+        return hotPath;
+    }
+
+    @NotNull
+    List<File> coldPaths() {
+        return coldPaths;
+    }
+
+    /**
+     * @return all the tiers, the queue's directory first.
+     */
+    @NotNull
+    List<File> paths() {
+        final List<File> paths = new ArrayList<>(coldPaths.size() + 1);
+        paths.add(hotPath);
+        paths.addAll(coldPaths);
+        return paths;
+    }
+
+    /**
+     * @return the names of the files in every tier, or null if there are no cold tiers and the queue's directory can't be listed.
+     */
+    @Nullable
+    String[] list() {
+        final String[] hot = hotPath.list();
+        if (coldPaths.isEmpty())
+            return hot;
+        final List<String> names = new ArrayList<>();
+        if (hot != null)
+            Collections.addAll(names, hot);
+        for (File coldPath : coldPaths) {
+            final String[] cold = coldPath.list();
+            if (cold != null)
+                Collections.addAll(names, cold);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * @param cycleFile the path of a cycle file in the queue's directory.
+     * @return the cycle file in the first tier which holds it, or {@code cycleFile} if none does.
+     */
+    @NotNull
+    File locate(@NotNull File cycleFile) {
+        if (coldPaths.isEmpty() || cycleFile.exists())
+            return cycleFile;
+        for (File coldPath : coldPaths) {
+            final File file = new File(coldPath, cycleFile.getName());
+            if (file.exists())
+                return file;
+        }
+        return cycleFile;
+    }
+
+    /**
+     * @return whether any tier holds the cycle file.
+     */
+    boolean exists(@NotNull File cycleFile) {
+        return locate(cycleFile).exists();
+    }
+}
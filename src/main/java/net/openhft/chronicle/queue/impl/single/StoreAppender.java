@@ -14,7 +14,9 @@ import net.openhft.chronicle.core.threads.InterruptedRuntimeException;
 import net.openhft.chronicle.queue.ChronicleQueue;
 import net.openhft.chronicle.queue.ExcerptAppender;
 import net.openhft.chronicle.queue.QueueSystemProperties;
+import net.openhft.chronicle.queue.RollCycle;
 import net.openhft.chronicle.queue.impl.ExcerptContext;
+import net.openhft.chronicle.queue.impl.QueueMetricsListener;
 import net.openhft.chronicle.queue.impl.WireStore;
 import net.openhft.chronicle.queue.impl.WireStorePool;
 import net.openhft.chronicle.queue.impl.table.AbstractTSQueueLock;
@@ -28,6 +30,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StreamCorruptedException;
 import java.nio.BufferOverflowException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import static net.openhft.chronicle.queue.impl.single.SingleChronicleQueue.WARN_SLOW_APPENDER_MS;
 import static net.openhft.chronicle.wire.Wires.*;
@@ -62,6 +68,26 @@ class StoreAppender extends AbstractCloseable
     private MicroToucher microtoucher = null;
     private Wire bufferWire = null;
     private int count = 0;
+    @Nullable
+    private TimeIndex timeIndex;
+    private int timeIndexCycle = Integer.MIN_VALUE;
+    @NotNull
+    private final QueueMetricsListener metrics;
+    private final boolean metricsEnabled;
+    private long lockedAtNanos;
+    @Nullable
+    private final AppendNotifier notifier;
+    @Nullable
+    private final Backpressure backpressure;
+    @Nullable
+    private final Syncer syncer;
+    @Nullable
+    private final Mirror mirror;
+    // the cycles rolled while holding the write lock, as {cycle, count}, recorded once it is released
+    private final List<long[]> rolledCycles = new ArrayList<>();
+    // excerpts which can be appended before the named tailers are checked again
+    private long headroom = 0;
+    private long droppingSinceNanos = Long.MIN_VALUE;
 
     StoreAppender(@NotNull final SingleChronicleQueue queue,
                   @NotNull final WireStorePool storePool,
@@ -71,6 +97,12 @@ class StoreAppender extends AbstractCloseable
         this.checkInterrupts = checkInterrupts;
         this.writeLock = queue.writeLock();
         this.appendLock = queue.appendLock();
+        this.metrics = queue.metricsListener;
+        this.metricsEnabled = metrics != QueueMetricsListener.NO_OP;
+        this.notifier = queue.appendNotifier();
+        this.backpressure = queue.backpressure();
+        this.syncer = queue.syncer();
+        this.mirror = queue.mirror();
 
         this.writeContext = new StoreAppenderContext();
 
@@ -91,6 +123,7 @@ class StoreAppender extends AbstractCloseable
             } finally {
                 writeLock.unlock();
             }
+            recordRolledCycles();
         }
         finalizer = Jvm.isResourceTracing() ? new Finalizer() : null;
     }
@@ -163,6 +196,11 @@ class StoreAppender extends AbstractCloseable
         if (pretoucher != null)
             pretoucher.close();
 
+        if (timeIndex != null) {
+            timeIndex.close();
+            timeIndex = null;
+        }
+
         if (store != null) {
             storePool.closeStore(store);
             store = null;
@@ -355,9 +393,13 @@ class StoreAppender extends AbstractCloseable
         throwExceptionIfClosed();
         // we allow the sink process to write metaData
         checkAppendLock(metaData);
+        final boolean admitted = metaData || count > 0 || admit(1);
         count++;
         try {
-            return prepareAndReturnWriteContext(metaData);
+            final StoreAppenderContext context = prepareAndReturnWriteContext(metaData);
+            if (!admitted)
+                context.rollbackOnClose();
+            return context;
         } catch (RuntimeException e) {
             count--;
             throw e;
@@ -381,7 +423,7 @@ class StoreAppender extends AbstractCloseable
             writeContext.wire = bufferWire;
             writeContext.metaData(false);
         } else {
-            writeLock.lock();
+            lockForWrite();
             int cycle = queue.cycle();
             if (wire == null)
                 setWireIfNull(cycle);
@@ -423,6 +465,7 @@ class StoreAppender extends AbstractCloseable
             normaliseEOFs0();
         } finally {
             writeLock.unlock();
+            recordRolledCycles();
             long tookMillis = (System.nanoTime() - start) / 1_000_000;
             if (tookMillis > WARN_SLOW_APPENDER_MS)
                 Jvm.perf().on(getClass(), "Took " + tookMillis + "ms to normaliseEOFs");
@@ -437,7 +480,7 @@ class StoreAppender extends AbstractCloseable
             setCycle2(cycle, false);
             if (wire != null) {
                 assert queue.writeLock().locked();
-                store.writeEOF(wire, timeoutMS());
+                writeEOF();
             }
         }
     }
@@ -453,7 +496,7 @@ class StoreAppender extends AbstractCloseable
                 setCycle2(cur, false);
                 if (wire != null) {
                     assert queue.writeLock().locked();
-                    if (!store.writeEOF(wire, timeoutMS()))
+                    if (!writeEOF())
                         break;
                 }
                 cur--;
@@ -529,7 +572,9 @@ class StoreAppender extends AbstractCloseable
     public void writeBytes(@NotNull final BytesStore bytes) {
         throwExceptionIfClosed();
         checkAppendLock();
-        writeLock.lock();
+        if (!admit(1))
+            return;
+        lockForWrite();
         try {
             int cycle = queue.cycle();
             if (wire == null)
@@ -555,6 +600,91 @@ class StoreAppender extends AbstractCloseable
         } finally {
             writeLock.unlock();
         }
+        recordRolledCycles();
+        if (notifier != null)
+            notifier.notifyAppended();
+        if (syncer != null)
+            syncer.written(store.file(), lastIndex, 1, bytes.readRemaining());
+        if (mirror != null)
+            mirror.appended(lastIndex);
+        if (metricsEnabled)
+            onWritten(bytes.readRemaining());
+    }
+
+    /**
+     * Appends a batch of excerpts while holding the write lock once. The roll cycle is checked once
+     * for the whole batch, headers are written back to back and the write position is published once
+     * the last excerpt has been written.
+     */
+    @Override
+    public void writeBytes(@NotNull final BytesStore[] batch, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset + length > batch.length)
+            throw new IllegalArgumentException("offset: " + offset + ", length: " + length + ", batch.length: " + batch.length);
+        if (length == 0)
+            return;
+        throwExceptionIfClosed();
+        checkAppendLock();
+        if (!admit(length))
+            return;
+        lockForWrite();
+        try {
+            int cycle = queue.cycle();
+            if (wire == null)
+                setWireIfNull(cycle);
+
+            if (this.cycle != cycle)
+                rollCycleTo(cycle);
+
+            final int safeLength = (int) queue.overlapSize();
+            final RollCycle rollCycle = queue.rollCycle();
+            final Bytes<?> wireBytes = wire.bytes();
+            this.positionOfHeader = writeHeader(wire, safeLength); // writeHeader sets wire.byte().writePosition
+            for (int i = offset, end = offset + length; ; ) {
+                assert ((AbstractWire) wire).isInsideHeader();
+                beforeAppend(wire, wire.headerNumber() + 1);
+                wireBytes.write(batch[i]);
+                wire.updateHeader(positionOfHeader, false, 0);
+
+                if (++i >= end)
+                    break;
+
+                // index the excerpts within the batch, the sequence is published after the last one.
+                final long sequenceNumber = rollCycle.toSequenceNumber(wire.headerNumber());
+                if (store.indexable(sequenceNumber) && store.indexing.nextEntryToBeIndexed.getVolatileValue() <= sequenceNumber) {
+                    // a new index is written from the store's write position, so it goes after this excerpt rather than scanning to it
+                    store.writePosition(positionOfHeader);
+                    store.indexing.setPositionForSequenceNumber(this, sequenceNumber, positionOfHeader);
+                    if (queue.timeIndex)
+                        indexTime(sequenceNumber);
+                }
+
+                // the next header follows directly on, enterHeader skips any index written in the meantime.
+                this.positionOfHeader = wire.enterHeader(safeLength);
+            }
+            lastIndex(wire.headerNumber());
+            lastPosition = positionOfHeader;
+            lastCycle = cycle;
+            store.writePosition(positionOfHeader);
+            writeIndexForPosition(lastIndex, positionOfHeader);
+        } catch (StreamCorruptedException e) {
+            throw new AssertionError(e);
+        } finally {
+            writeLock.unlock();
+        }
+        recordRolledCycles();
+        if (notifier != null)
+            notifier.notifyAppended();
+        if (mirror != null)
+            mirror.appended(lastIndex);
+        if (syncer != null || metricsEnabled) {
+            long written = 0;
+            for (int i = offset; i < offset + length; i++)
+                written += batch[i].readRemaining();
+            if (syncer != null)
+                syncer.written(store.file(), lastIndex, length, written);
+            if (metricsEnabled)
+                onWritten(written);
+        }
     }
 
     /**
@@ -572,12 +702,19 @@ class StoreAppender extends AbstractCloseable
     public void writeBytes(final long index, @NotNull final BytesStore bytes) {
         throwExceptionIfClosed();
         checkAppendLock();
-        writeLock.lock();
+        lockForWrite();
         try {
             writeBytesInternal(index, bytes);
         } finally {
             writeLock.unlock();
         }
+        recordRolledCycles();
+        if (notifier != null)
+            notifier.notifyAppended();
+        if (syncer != null && lastIndex != Long.MIN_VALUE)
+            syncer.written(store.file(), lastIndex, 1, bytes.readRemaining());
+        if (mirror != null && lastIndex != Long.MIN_VALUE)
+            mirror.appended(lastIndex);
     }
 
     /**
@@ -707,6 +844,16 @@ class StoreAppender extends AbstractCloseable
     }
 
     private void rollCycleTo(final int cycle, boolean suppressEOF) {
+        if (!metricsEnabled) {
+            rollCycleTo0(cycle, suppressEOF);
+            return;
+        }
+        final long start = System.nanoTime();
+        rollCycleTo0(cycle, suppressEOF);
+        metrics.onRoll(cycle, System.nanoTime() - start);
+    }
+
+    private void rollCycleTo0(final int cycle, boolean suppressEOF) {
 
         // only a valid check if the wire was set.
         if (this.cycle == cycle)
@@ -714,23 +861,157 @@ class StoreAppender extends AbstractCloseable
 
         if (!suppressEOF) {
             assert queue.writeLock().locked();
-            store.writeEOF(wire, timeoutMS());
+            writeEOF();
         }
 
         int lastCycle = queue.lastCycle();
 
         if (lastCycle < cycle && lastCycle != this.cycle && lastCycle >= 0) {
             setCycle2(lastCycle, false);
-            rollCycleTo(cycle);
+            rollCycleTo0(cycle, false);
         } else {
             setCycle2(cycle, true);
         }
     }
 
+    @Override
+    public void sync() {
+        throwExceptionIfClosed();
+        if (lastIndex == Long.MIN_VALUE)
+            return;
+        final Syncer syncer = syncer();
+        syncer.request(lastIndex);
+        if (!syncer.await(lastIndex, Long.MAX_VALUE))
+            throw new IllegalStateException("Not synced up to index " + Long.toHexString(lastIndex) + ", file=" + queue.file());
+    }
+
+    @Override
+    public boolean awaitDurable(long index, long timeout, @NotNull TimeUnit unit) {
+        throwExceptionIfClosed();
+        return syncer().await(index, unit.toNanos(timeout));
+    }
+
+    @NotNull
+    private Syncer syncer() {
+        if (syncer == null)
+            throw new IllegalStateException("No durability policy to sync with, file=" + queue.file());
+        return syncer;
+    }
+
+    /**
+     * Applies the queue's {@link BackpressurePolicy} if appending {@code excerpts} more would leave a named tailer too far behind.
+     * The tailers are only checked once the headroom from the last check is used up.
+     *
+     * @return false if the excerpts should be dropped
+     */
+    private boolean admit(int excerpts) {
+        if (backpressure == null)
+            return true;
+        headroom -= excerpts;
+        if (headroom >= 0)
+            return true;
+        for (; ; ) {
+            final BackpressurePolicy policy = backpressure.policy();
+            if (policy == BackpressurePolicy.DROP && droppingSinceNanos != Long.MIN_VALUE
+                    && System.nanoTime() - droppingSinceNanos < 1_000_000) {
+                headroom += excerpts;
+                return false;
+            }
+            final long nextIndex = lastIndex == Long.MIN_VALUE ? queue.lastIndex() + 1 : lastIndex + 1;
+            headroom = backpressure.headroom(nextIndex) - excerpts;
+            if (headroom >= 0) {
+                droppingSinceNanos = Long.MIN_VALUE;
+                return true;
+            }
+            switch (policy) {
+                case FAIL:
+                    headroom = 0;
+                    throw new IllegalStateException("A named tailer is more than " + backpressure.maxLag() + " excerpts behind " + queue.fileAbsolutePath());
+                case DROP:
+                    headroom = 0;
+                    droppingSinceNanos = System.nanoTime();
+                    return false;
+                case SPIN:
+                    Thread.yield();
+                    break;
+                default:
+                    LockSupport.parkNanos(1_000_000);
+                    break;
+            }
+            throwExceptionIfClosed();
+        }
+    }
+
+    private void lockForWrite() {
+        if (!metricsEnabled) {
+            writeLock.lock();
+            return;
+        }
+        final long start = System.nanoTime();
+        writeLock.lock();
+        lockedAtNanos = System.nanoTime();
+        metrics.onWriteLockAcquired(lockedAtNanos - start);
+    }
+
+    private void onWritten(long bytes) {
+        metrics.onWritten(bytes, System.nanoTime() - lockedAtNanos);
+    }
+
+    /**
+     * Writes the EOF to the current cycle and notes how many excerpts it has, to be recorded once the write lock is released so they
+     * don't need to be counted again.
+     *
+     * @return true if the EOF was written
+     */
+    private boolean writeEOF() {
+        long count;
+        try {
+            count = store.approximateLastSequenceNumber(this) + 1;
+        } catch (StreamCorruptedException e) {
+            Jvm.warn().on(getClass(), "Unable to count the excerpts in cycle " + cycle, e);
+            count = -1;
+        }
+        final boolean written = store.writeEOF(wire, timeoutMS());
+        // rolled whether the EOF was written here or already, e.g. by the Pretoucher
+        rolledCycles.add(new long[]{cycle, count});
+        return written;
+    }
+
+    private void recordRolledCycles() {
+        if (rolledCycles.isEmpty())
+            return;
+        for (long[] rolled : rolledCycles) {
+            queue.cycleExcerptCounts().record((int) rolled[0], rolled[1]);
+            queue.cycleCatalog().onRolled((int) rolled[0]);
+        }
+        rolledCycles.clear();
+    }
+
     // throws UnrecoverableTimeoutException
     void writeIndexForPosition(final long index, final long position) throws StreamCorruptedException {
         long sequenceNumber = queue.rollCycle().toSequenceNumber(index);
-        store.setPositionForSequenceNumber(this, sequenceNumber, position);
+        if (metricsEnabled && store.indexable(sequenceNumber)) {
+            final long start = System.nanoTime();
+            store.setPositionForSequenceNumber(this, sequenceNumber, position);
+            metrics.onIndexWritten(System.nanoTime() - start);
+        } else {
+            store.setPositionForSequenceNumber(this, sequenceNumber, position);
+        }
+        if (queue.timeIndex && store.indexable(sequenceNumber))
+            indexTime(sequenceNumber);
+    }
+
+    /**
+     * Records when an excerpt added to the position index was appended, must be called holding the write lock.
+     */
+    private void indexTime(final long sequenceNumber) {
+        if (timeIndexCycle != cycle) {
+            if (timeIndex != null)
+                timeIndex.close();
+            timeIndex = TimeIndex.open(queue, cycle, true);
+            timeIndexCycle = cycle;
+        }
+        timeIndex.append(sequenceNumber, queue.time().currentTimeNanos());
     }
 
     boolean checkIndex(final long index, final long position) {
@@ -860,6 +1141,7 @@ class StoreAppender extends AbstractCloseable
                 closedHere = new StackTrace("Closed here");
             }
 
+            long written = -1;
             try {
                 // historically there have been problems with an interrupted thread causing exceptions
                 // in calls below, and we saw half-written messages
@@ -887,6 +1169,7 @@ class StoreAppender extends AbstractCloseable
                     lastCycle = cycle;
 
                     if (!metaData) {
+                        written = wire.bytes().writePosition() - positionOfHeader - SPB_HEADER_SIZE;
                         lastIndex(wire.headerNumber());
                         store.writePosition(positionOfHeader);
                         if (lastIndex != Long.MIN_VALUE)
@@ -918,6 +1201,16 @@ class StoreAppender extends AbstractCloseable
                         Jvm.warn().on(getClass(), "Exception while unlocking: ", ex);
                     }
             }
+            if (unlock)
+                recordRolledCycles();
+            if (notifier != null && written >= 0)
+                notifier.notifyAppended();
+            if (syncer != null && written >= 0)
+                syncer.written(store.file(), lastIndex, 1, written);
+            if (mirror != null && written >= 0)
+                mirror.appended(lastIndex);
+            if (metricsEnabled && written >= 0)
+                onWritten(written);
         }
 
         private void doRollback() {
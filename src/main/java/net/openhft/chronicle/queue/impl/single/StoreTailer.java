@@ -12,6 +12,8 @@ import net.openhft.chronicle.core.pool.StringBuilderPool;
 import net.openhft.chronicle.core.values.LongValue;
 import net.openhft.chronicle.queue.*;
 import net.openhft.chronicle.queue.impl.ExcerptContext;
+import net.openhft.chronicle.queue.impl.QueueMetricsListener;
+import net.openhft.chronicle.queue.impl.QueueMetricsListener.MoveToIndexPath;
 import net.openhft.chronicle.queue.impl.WireStore;
 import net.openhft.chronicle.queue.impl.WireStorePool;
 import net.openhft.chronicle.wire.*;
@@ -22,6 +24,9 @@ import java.io.EOFException;
 import java.io.File;
 import java.io.StreamCorruptedException;
 import java.text.ParseException;
+import java.util.NavigableSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import static net.openhft.chronicle.bytes.NoBytesStore.NO_PAGE;
 import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
@@ -61,6 +66,19 @@ class StoreTailer extends AbstractCloseable
     private boolean readingDocumentFound = false;
     private long address = NO_PAGE;
     private boolean striding = false;
+    @NotNull
+    private final QueueMetricsListener metrics;
+    private final boolean metricsEnabled;
+    @Nullable
+    private final AppendNotifier notifier;
+    // the notification sequence when this last tried to read
+    private long notifierSequence;
+    // for a named tailer, whether the index is kept locally and only written to indexValue at checkpoints
+    private final boolean coalesceCheckpoints;
+    private final int checkpointEvery;
+    private final long checkpointIntervalNanos;
+    private int sinceCheckpoint;
+    private long nextCheckpointNanos;
 
     public StoreTailer(@NotNull final SingleChronicleQueue queue, WireStorePool storePool) {
         this(queue, storePool, null);
@@ -72,6 +90,13 @@ class StoreTailer extends AbstractCloseable
             this.queue = queue;
             this.storePool = storePool;
             this.indexValue = indexValue;
+            this.metrics = queue.metricsListener;
+            this.metricsEnabled = metrics != QueueMetricsListener.NO_OP;
+            this.notifier = queue.appendNotifier();
+            this.coalesceCheckpoints = indexValue != null && queue.namedTailerCheckpointEvery != 1;
+            this.checkpointEvery = queue.namedTailerCheckpointEvery == 0 ? Integer.MAX_VALUE : queue.namedTailerCheckpointEvery;
+            this.checkpointIntervalNanos = queue.namedTailerCheckpointIntervalNanos;
+            this.nextCheckpointNanos = checkpointIntervalNanos > 0 ? System.nanoTime() + checkpointIntervalNanos : Long.MAX_VALUE;
             this.setCycle(Integer.MIN_VALUE);
             this.index = 0;
             queue.addCloseListener(this);
@@ -126,6 +151,8 @@ class StoreTailer extends AbstractCloseable
     public DocumentContext readingDocument() {
 //        throwExceptionIfClosed();
 
+        if (notifier != null)
+            notifierSequence = notifier.sequence();
         // trying to create an initial document without a direction should not consume a message
         final long index = index();
         if (direction == NONE && (index == indexAtCreation || index == 0) && !readingDocumentFound) {
@@ -134,8 +161,20 @@ class StoreTailer extends AbstractCloseable
         return readingDocument(false);
     }
 
+    @Override
+    public boolean awaitNext(final long timeout, @NotNull final TimeUnit unit) {
+        throwExceptionIfClosed();
+        final long timeoutNanos = unit.toNanos(timeout);
+        if (notifier != null)
+            return notifier.await(notifierSequence, timeoutNanos);
+        LockSupport.parkNanos(this, Math.min(timeoutNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        return true;
+    }
+
     @Override
     protected void performClose() {
+        if (coalesceCheckpoints)
+            checkpoint();
         Closeable.closeQuietly(indexValue);
         // the wire ref count will be released here by setting it to null
         context.wire(null);
@@ -187,11 +226,16 @@ class StoreTailer extends AbstractCloseable
     @NotNull
     @Override
     public DocumentContext readingDocument(final boolean includeMetaData) {
+        final long start = metricsEnabled ? System.nanoTime() : 0;
+        if (notifier != null)
+            notifierSequence = notifier.sequence();
         DocumentContext documentContext = readingDocument0(includeMetaData);
         // this check was added after a strange behaviour seen by one client. I should be impossible.
         if (documentContext.wire() != null)
             if (documentContext.wire().bytes().readRemaining() >= 1 << 30)
                 throw new AssertionError("readRemaining " + documentContext.wire().bytes().readRemaining());
+        if (metricsEnabled && documentContext.isPresent())
+            metrics.onRead(documentContext.wire().bytes().readRemaining(), System.nanoTime() - start);
         return documentContext;
     }
 
@@ -233,6 +277,8 @@ class StoreTailer extends AbstractCloseable
                 // since we can't find an entry at current index, indicate that we're at the end of a cycle
                 state = TailerState.END_OF_CYCLE;
             }
+            // an idle tailer still writes the position it last read to once the interval has passed
+            checkpointIfDue();
 
             setAddress(context.wire() != null);
 
@@ -577,7 +623,26 @@ class StoreTailer extends AbstractCloseable
      */
     @Override
     public long index() {
-        return indexValue == null ? this.index : indexValue.getValue();
+        return indexValue == null || coalesceCheckpoints ? this.index : indexValue.getValue();
+    }
+
+    @Override
+    public void commit() {
+        throwExceptionIfClosed();
+        if (coalesceCheckpoints)
+            checkpoint();
+    }
+
+    private void checkpointIfDue() {
+        if (coalesceCheckpoints && sinceCheckpoint > 0 && checkpointIntervalNanos > 0 && System.nanoTime() >= nextCheckpointNanos)
+            checkpoint();
+    }
+
+    private void checkpoint() {
+        indexValue.setOrderedValue(index);
+        sinceCheckpoint = 0;
+        if (checkpointIntervalNanos > 0)
+            nextCheckpointNanos = System.nanoTime() + checkpointIntervalNanos;
     }
 
     @Override
@@ -589,8 +654,11 @@ class StoreTailer extends AbstractCloseable
     public boolean moveToIndex(final long index) {
         throwExceptionIfClosed();
 
+        final long start = metricsEnabled ? System.nanoTime() : 0;
         if (moveToState.canReuseLastIndexMove(index, state, direction, queue, privateWire())) {
-            return setAddress(true);
+            final boolean found = setAddress(true);
+            onMoveToIndex(MoveToIndexPath.REUSE, start);
+            return found;
         } else if (moveToState.indexIsCloseToAndAheadOfLastIndexMove(index, state, direction, queue)) {
             final long knownIndex = moveToState.lastMovedToIndex;
             final boolean found =
@@ -600,10 +668,19 @@ class StoreTailer extends AbstractCloseable
                 index(index);
                 moveToState.onSuccessfulScan(index, direction, privateWire().bytes().readPosition());
             }
-            return setAddress(found);
+            final boolean result = setAddress(found);
+            onMoveToIndex(MoveToIndexPath.LINEAR_SCAN, start);
+            return result;
         }
 
-        return moveToIndexInternal(index);
+        final boolean found = moveToIndexInternal(index);
+        onMoveToIndex(MoveToIndexPath.INDEX_LOOKUP, start);
+        return found;
+    }
+
+    private void onMoveToIndex(MoveToIndexPath path, long start) {
+        if (metricsEnabled)
+            metrics.onMoveToIndex(path, System.nanoTime() - start);
     }
 
     @Override
@@ -616,6 +693,41 @@ class StoreTailer extends AbstractCloseable
         return scanResult == FOUND;
     }
 
+    @Override
+    public boolean moveToTime(final long epochNanos) {
+        throwExceptionIfClosed();
+
+        final int lastCycle = queue.lastCycle();
+        if (lastCycle == Integer.MIN_VALUE)
+            return false;
+        final NavigableSet<Long> cycles;
+        try {
+            cycles = queue.listCyclesBetween(queue.firstCycle(), lastCycle);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+
+        boolean indexed = false;
+        for (Long cycle : cycles.descendingSet()) {
+            final TimeIndex timeIndex = TimeIndex.open(queue, (int) (long) cycle, false);
+            if (timeIndex == null)
+                continue;
+            try {
+                indexed = true;
+                final long entry = timeIndex.floorEntry(epochNanos);
+                if (entry >= 0)
+                    return moveToIndex(queue.rollCycle().toIndex((int) (long) cycle, timeIndex.sequenceAt(entry)));
+            } finally {
+                timeIndex.close();
+            }
+        }
+        if (!indexed)
+            return false;
+        // everything indexed is after this time
+        toStart();
+        return true;
+    }
+
     private boolean setAddress(final boolean found) {
         final Wire wire = privateWire();
         if (wire == null) {
@@ -1083,10 +1195,16 @@ class StoreTailer extends AbstractCloseable
     }
 
     void index0(final long index) {
-        if (indexValue == null)
+        if (indexValue == null) {
             this.index = index;
-        else
+        } else if (!coalesceCheckpoints) {
             indexValue.setValue(index);
+        } else {
+            this.index = index;
+            if (++sinceCheckpoint >= checkpointEvery
+                    || (checkpointIntervalNanos > 0 && System.nanoTime() >= nextCheckpointNanos))
+                checkpoint();
+        }
     }
 
     // DON'T INLINE THIS METHOD, as it's used by enterprise chronicle queue
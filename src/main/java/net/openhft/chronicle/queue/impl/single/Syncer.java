@@ -0,0 +1,234 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.threads.NamedThreadFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Syncs the cycle files appended to by this process to disk on a dedicated thread, as the queue's {@link DurabilityPolicy} says.
+ * <p>
+ * Appenders only record the highest index they appended, how much they appended and which cycle file it went to, so a sync
+ * covers everything written since the last one. Each sync is a {@link FileChannel#force(boolean)} of the cycle file, then advances the
+ * {@link #durableIndex()} watermark and wakes the threads waiting for it.
+ * <p>
+ * This only makes the appenders' writes durable on Linux, where it is an {@code fdatasync} and the file's page cache is shared with
+ * the mappings, so the pages dirtied through them are written back whichever chunk they are in. Other platforms, e.g. Windows, where
+ * {@code FlushFileBuffers} doesn't write back mapped views, are warned about when the syncer is started.
+ * <p>
+ * Only excerpts appended by this process are tracked, other processes sync their own.
+ */
+final class Syncer implements Closeable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final DurabilityPolicy policy;
+    private final long intervalNanos;
+    private final long everyMessages;
+    private final long everyBytes;
+    private final Thread thread;
+    // the highest index appended by this process, and how much has been appended since the last sync
+    private final AtomicLong appendedIndex = new AtomicLong(-1);
+    private final AtomicLong pendingMessages = new AtomicLong();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicLong requestedIndex = new AtomicLong(-1);
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    // so the sync on close doesn't run while the thread's is still in progress
+    private final Object syncLock = new Object();
+    // the cycle files written to since the last sync, the last one added is kept open for the next
+    private final Map<File, FileChannel> files = new LinkedHashMap<>();
+    private volatile File latest;
+    private volatile long durableIndex = -1;
+    private volatile boolean closed;
+
+    Syncer(@NotNull SingleChronicleQueue queue, @NotNull DurabilityPolicy policy, long intervalMicros, int everyMessages, long everyBytes) {
+        if (policy == DurabilityPolicy.NONE)
+            throw new IllegalArgumentException("Nothing to sync with " + policy);
+        this.policy = policy;
+        this.intervalNanos = TimeUnit.MICROSECONDS.toNanos(intervalMicros);
+        this.everyMessages = everyMessages;
+        this.everyBytes = everyBytes;
+        if (!OS.isLinux())
+            Jvm.warn().on(getClass(), "Durability " + policy + " only writes back mapped pages on Linux, file=" + queue.file());
+        this.thread = new NamedThreadFactory("queue-syncer~" + queue.file().getName(), true).newThread(this::run);
+        thread.start();
+    }
+
+    /**
+     * @return the highest index appended by this process which has been synced, or -1 if none has.
+     */
+    long durableIndex() {
+        return durableIndex;
+    }
+
+    /**
+     * Called by an appender once excerpts have been committed, up to and including {@code index}.
+     */
+    void written(@NotNull File file, long index, int messages, long bytes) {
+        if (file != latest)
+            addFile(file);
+        appendedIndex.accumulateAndGet(index, Math::max);
+        if (policy == DurabilityPolicy.EVERY_N
+                && (pendingMessages.addAndGet(messages) >= everyMessages | pendingBytes.addAndGet(bytes) >= everyBytes))
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Asks for everything up to {@code index} to be synced now, whatever the policy.
+     */
+    void request(long index) {
+        if (requestedIndex.accumulateAndGet(index, Math::max) > durableIndex)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Parks the calling thread until {@code index} has been synced, or the timeout passes.
+     *
+     * @return whether it was synced.
+     */
+    boolean await(long index, long timeoutNanos) {
+        if (durableIndex >= index)
+            return true;
+        final Thread current = Thread.currentThread();
+        final long deadline = System.nanoTime() + timeoutNanos;
+        waiters.add(current);
+        try {
+            for (long remaining = timeoutNanos; ; remaining = deadline - System.nanoTime()) {
+                if (durableIndex >= index)
+                    return true;
+                if (remaining <= 0 || closed || current.isInterrupted())
+                    return false;
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    private synchronized void addFile(File file) {
+        if (!files.containsKey(file)) {
+            try {
+                files.put(file, new RandomAccessFile(file, "rw").getChannel());
+            } catch (IOException e) {
+                Jvm.warn().on(getClass(), "Unable to open " + file + " to sync it", e);
+                return;
+            }
+        }
+        latest = file;
+    }
+
+    private void run() {
+        long lastSyncNanos = System.nanoTime();
+        while (!closed) {
+            final long target = appendedIndex.get();
+            final long sinceLastSync = System.nanoTime() - lastSyncNanos;
+            if (target > durableIndex && due(sinceLastSync)) {
+                final boolean synced = sync(target);
+                lastSyncNanos = System.nanoTime();
+                if (synced)
+                    continue;
+            }
+            LockSupport.parkNanos(this, policy == DurabilityPolicy.PERIODIC
+                    ? Math.max(intervalNanos - sinceLastSync, 1_000)
+                    : IDLE_PARK_NANOS);
+        }
+    }
+
+    private boolean due(long sinceLastSync) {
+        if (requestedIndex.get() > durableIndex)
+            return true;
+        switch (policy) {
+            case PERIODIC:
+                return sinceLastSync >= intervalNanos;
+            case EVERY_N:
+                return pendingMessages.get() >= everyMessages || pendingBytes.get() >= everyBytes;
+            default:
+                return false;
+        }
+    }
+
+    // syncs every file written to, up to at least the target
+    private boolean sync(long target) {
+        synchronized (syncLock) {
+            return sync0(target);
+        }
+    }
+
+    private boolean sync0(long target) {
+        final long messages = pendingMessages.get();
+        final long bytes = pendingBytes.get();
+        final List<FileChannel> toSync;
+        synchronized (this) {
+            toSync = new ArrayList<>(files.values());
+        }
+        try {
+            for (FileChannel channel : toSync)
+                channel.force(false);
+        } catch (IOException e) {
+            // try again next time
+            Jvm.warn().on(getClass(), "Unable to sync", e);
+            return false;
+        }
+        synchronized (this) {
+            // nothing more is written to the files of earlier cycles
+            for (Iterator<Map.Entry<File, FileChannel>> it = files.entrySet().iterator(); it.hasNext(); ) {
+                final Map.Entry<File, FileChannel> entry = it.next();
+                if (!entry.getKey().equals(latest) && toSync.contains(entry.getValue())) {
+                    Closeable.closeQuietly(entry.getValue());
+                    it.remove();
+                }
+            }
+        }
+        pendingMessages.addAndGet(-messages);
+        pendingBytes.addAndGet(-bytes);
+        if (target > durableIndex)
+            durableIndex = target;
+        for (Thread waiter : waiters)
+            LockSupport.unpark(waiter);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // waits for a sync the thread is still in, if the join timed out
+        final long target = appendedIndex.get();
+        if (target > durableIndex)
+            sync(target);
+        synchronized (this) {
+            for (FileChannel channel : files.values())
+                Closeable.closeQuietly(channel);
+            files.clear();
+        }
+        for (Thread waiter : waiters)
+            LockSupport.unpark(waiter);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
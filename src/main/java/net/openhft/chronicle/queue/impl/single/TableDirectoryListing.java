@@ -9,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.function.ToIntFunction;
 
 final class TableDirectoryListing extends AbstractCloseable implements DirectoryListing {
@@ -21,7 +22,7 @@ final class TableDirectoryListing extends AbstractCloseable implements Directory
     static final String INITIAL_MIN_FILENAME = Character.toString(Character.MAX_VALUE);
     static final String INITIAL_MAX_FILENAME = Character.toString(Character.MIN_VALUE);
     private final TableStore<?> tableStore;
-    private final Path queuePath;
+    private final StorageTiers tiers;
     private final ToIntFunction<String> fileNameToCycleFunction;
     private volatile LongValue maxCycleValue;
     private volatile LongValue minCycleValue;
@@ -32,8 +33,15 @@ final class TableDirectoryListing extends AbstractCloseable implements Directory
             final @NotNull TableStore<?> tableStore,
             final Path queuePath,
             final ToIntFunction<String> fileNameToCycleFunction) {
+        this(tableStore, new StorageTiers(queuePath.toFile(), Collections.emptyList()), fileNameToCycleFunction);
+    }
+
+    TableDirectoryListing(
+            final @NotNull TableStore<?> tableStore,
+            final StorageTiers tiers,
+            final ToIntFunction<String> fileNameToCycleFunction) {
         this.tableStore = tableStore;
-        this.queuePath = queuePath;
+        this.tiers = tiers;
         this.fileNameToCycleFunction = fileNameToCycleFunction;
 
         if (tableStore.readOnly()) {
@@ -46,6 +54,9 @@ final class TableDirectoryListing extends AbstractCloseable implements Directory
     public void init() {
         throwExceptionIfClosedInSetter();
 
+        // the cycles in the table store are current as of opening, and are checked against the directory on a forced refresh
+        lastRefreshTimeMS = System.currentTimeMillis();
+
         tableStore.doWithExclusiveLock(ts -> {
             maxCycleValue = ts.acquireValueFor(HIGHEST_CREATED_CYCLE);
             minCycleValue = ts.acquireValueFor(LOWEST_CREATED_CYCLE);
@@ -76,7 +87,7 @@ final class TableDirectoryListing extends AbstractCloseable implements Directory
             Jvm.safepoint();
             final long currentMax = maxCycleValue.getVolatileValue();
 
-            final String[] fileNamesList = queuePath.toFile().list();
+            final String[] fileNamesList = tiers.list();
             String minFilename = INITIAL_MIN_FILENAME;
             String maxFilename = INITIAL_MAX_FILENAME;
             if (fileNamesList != null) {
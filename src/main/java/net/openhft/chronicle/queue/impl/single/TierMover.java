@@ -0,0 +1,119 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * Moves the files of rolled cycles from the queue's directory to the first cold {@link StorageTiers tier}, from the queue's {@link Housekeeper}.
+ * <p>
+ * A cycle is moved once its EOF has been written and either it ended more than {@code maxAgeMs} ago, or the cycle files in the
+ * queue's directory add up to more than {@code maxBytes}, in which case the oldest are moved first. A file is copied to the cold
+ * tier and renamed before it is removed from the queue's directory, so it can be read from one tier or the other throughout.
+ */
+final class TierMover extends AbstractCloseable implements EventHandler {
+    private static final long CHECK_INTERVAL_MS = 1000;
+
+    private final SingleChronicleQueue queue;
+    private final long maxAgeMs;
+    private final long maxBytes;
+    private long nextCheckMS;
+
+    TierMover(@NotNull SingleChronicleQueue queue, long maxAgeMs, long maxBytes) {
+        this.queue = queue;
+        this.maxAgeMs = maxAgeMs;
+        this.maxBytes = maxBytes;
+        queue.addCloseListener(this);
+        disableThreadSafetyCheck(true);
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        synchronized (this) {
+            if (isClosing())
+                throw new InvalidEventHandlerException("closed");
+            final long now = System.currentTimeMillis();
+            if (now < nextCheckMS)
+                return false;
+            nextCheckMS = now + CHECK_INTERVAL_MS;
+            return moveRolledCycles() > 0;
+        }
+    }
+
+    /**
+     * @return the number of files moved to the cold tier.
+     */
+    synchronized int moveRolledCycles() {
+        final StorageTiers tiers = queue.storageTiers();
+        final File[] files = tiers.hotPath().listFiles((d, n) -> CompressedCycle.cycleFileName(n) != null);
+        if (files == null || tiers.coldPaths().isEmpty())
+            return 0;
+        // the file names sort in cycle order
+        Arrays.sort(files);
+        long hotBytes = 0;
+        for (File file : files)
+            hotBytes += file.length();
+
+        final int lastCycle = queue.lastCycle();
+        final CycleExcerptCounts counts = queue.cycleExcerptCounts();
+        counts.reload();
+        final ToIntFunction<String> fileNameToCycle = queue.fileNameToCycleFunction();
+        final long lengthInMillis = queue.rollCycle().lengthInMillis();
+        final long now = queue.time().currentTimeMillis();
+        final File coldPath = tiers.coldPaths().get(0);
+        int moved = 0;
+        for (File file : files) {
+            if (isClosing())
+                break;
+            final int cycle = fileNameToCycle.applyAsInt(CompressedCycle.cycleFileName(file.getName()));
+            if (cycle >= lastCycle || counts.rolledCount(cycle) < 0)
+                continue;
+            final long cycleEndMS = queue.epoch() + (cycle + 1L) * lengthInMillis;
+            if (hotBytes <= maxBytes && now - cycleEndMS < maxAgeMs)
+                continue;
+            final long length = file.length();
+            try {
+                move(file, new File(coldPath, file.getName()));
+                hotBytes -= length;
+                moved++;
+            } catch (IOException e) {
+                Jvm.warn().on(getClass(), "Unable to move " + file + " to " + coldPath, e);
+            }
+        }
+        if (moved > 0)
+            queue.refreshDirectoryListing();
+        return moved;
+    }
+
+    static void move(File from, File to) throws IOException {
+        if (!to.exists() || to.length() != from.length()) {
+            //noinspection ResultOfMethodCallIgnored
+            to.getParentFile().mkdirs();
+            // the tiers are usually on different file systems, so the file can't just be renamed
+            final File tmp = new File(to.getPath() + ".tmp");
+            Files.copy(from.toPath(), tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.delete(from.toPath());
+    }
+
+    @Override
+    public @NotNull HandlerPriority priority() {
+        return HandlerPriority.MONITOR;
+    }
+
+    @Override
+    protected void performClose() {
+        // nothing held open between checks
+    }
+}
@@ -0,0 +1,101 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.MappedBytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A sparse index from the time an excerpt was appended to its sequence number, for one cycle.
+ * <p>
+ * An entry of the epoch nanos and sequence number is appended to a sidecar file next to the cycle file, e.g. {@code 20211018.cq4ts}
+ * for {@code 20211018.cq4}, whenever an excerpt is added to the position index i.e. every {@link SingleChronicleQueue#indexSpacing()} excerpts.
+ * Entries are only appended under the write lock, and the timestamps never go backwards, so the entries are sorted and can be binary searched.
+ */
+final class TimeIndex {
+    static final String SUFFIX = ".cq4ts";
+    private static final long COUNT = 0;
+    private static final long HEADER_SIZE = 64;
+    private static final long ENTRY_SIZE = 16;
+    private static final long CHUNK_SIZE = 64 << 10;
+
+    private final MappedBytes bytes;
+
+    private TimeIndex(MappedBytes bytes) {
+        this.bytes = bytes;
+    }
+
+    @NotNull
+    static File fileFor(@NotNull SingleChronicleQueue queue, int cycle) {
+        final File cycleFile = queue.fileForCycle(cycle);
+        final String fileName = cycleFile.getName();
+        return new File(cycleFile.getParentFile(),
+                fileName.substring(0, fileName.length() - SingleChronicleQueue.SUFFIX.length()) + SUFFIX);
+    }
+
+    /**
+     * @return the time index for this cycle, or null if it doesn't exist and {@code createIfAbsent} is false.
+     */
+    @Nullable
+    static TimeIndex open(@NotNull SingleChronicleQueue queue, int cycle, boolean createIfAbsent) {
+        final File file = fileFor(queue, cycle);
+        if (!createIfAbsent && !file.exists())
+            return null;
+        try {
+            return new TimeIndex(MappedBytes.mappedBytes(file, CHUNK_SIZE, 0, queue.isReadOnly()));
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    long count() {
+        return bytes.readVolatileLong(COUNT);
+    }
+
+    long timestampAt(long entry) {
+        return bytes.readLong(HEADER_SIZE + entry * ENTRY_SIZE);
+    }
+
+    long sequenceAt(long entry) {
+        return bytes.readLong(HEADER_SIZE + entry * ENTRY_SIZE + 8);
+    }
+
+    /**
+     * Appends an entry unless the sequence number has been added already. Must be called holding the write lock.
+     */
+    void append(long sequence, long epochNanos) {
+        final long count = count();
+        if (count > 0) {
+            if (sequence <= sequenceAt(count - 1))
+                return;
+            // keep the timestamps sorted if the clock goes backwards
+            epochNanos = Math.max(epochNanos, timestampAt(count - 1));
+        }
+        final long offset = HEADER_SIZE + count * ENTRY_SIZE;
+        bytes.writeLong(offset, epochNanos);
+        bytes.writeLong(offset + 8, sequence);
+        bytes.writeOrderedLong(COUNT, count + 1);
+    }
+
+    /**
+     * @return the last entry with a timestamp at or before {@code epochNanos}, or -1 if they are all after it.
+     */
+    long floorEntry(long epochNanos) {
+        long low = 0, high = count() - 1;
+        while (low <= high) {
+            final long mid = (low + high) >>> 1;
+            if (timestampAt(mid) <= epochNanos)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+        return high;
+    }
+
+    void close() {
+        bytes.close();
+    }
+}
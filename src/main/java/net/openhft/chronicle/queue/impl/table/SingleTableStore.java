@@ -26,6 +26,7 @@ import net.openhft.chronicle.core.io.AbstractCloseable;
 import net.openhft.chronicle.core.io.ClosedIllegalStateException;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.util.StringUtils;
+import net.openhft.chronicle.core.values.LongArrayValues;
 import net.openhft.chronicle.core.values.LongValue;
 import net.openhft.chronicle.queue.impl.TableStore;
 import net.openhft.chronicle.queue.impl.single.MetaDataField;
@@ -50,6 +51,7 @@ import static net.openhft.chronicle.core.util.Time.sleep;
 public class SingleTableStore<T extends Metadata> extends AbstractCloseable implements TableStore<T> {
     public static final String SUFFIX = ".cq4t";
     private static final int EXCLUSIVE_LOCK_SIZE = 1;
+    private static final int CACHE_LINE_SIZE = 64;
     /**
      * We need to be able to acquire an "exclusive" lock while fine-grained long-running locks are being held.
      * For this reason the "exclusive" lock doesn't lock the whole file, but as long as everyone agrees
@@ -244,7 +246,16 @@ public class SingleTableStore<T extends Metadata> extends AbstractCloseable impl
      * {@inheritDoc}
      */
     @Override
-    public synchronized LongValue acquireValueFor(CharSequence key, final long defaultValue) { // TODO Change to ThreadLocal values if performance is a problem.
+    public LongValue acquireValueFor(CharSequence key, final long defaultValue) {
+        return acquireValueFor(key, defaultValue, Integer.BYTES);
+    }
+
+    @Override
+    public LongValue acquirePaddedValueFor(CharSequence key, final long defaultValue) {
+        return acquireValueFor(key, defaultValue, CACHE_LINE_SIZE);
+    }
+
+    private synchronized LongValue acquireValueFor(CharSequence key, final long defaultValue, final int alignment) { // TODO Change to ThreadLocal values if performance is a problem.
 
         if (mappedBytes.isClosed())
             throw new ClosedIllegalStateException("Closed");
@@ -269,10 +280,14 @@ public class SingleTableStore<T extends Metadata> extends AbstractCloseable impl
             mappedBytes.writeLimit(mappedBytes.realCapacity());
             long start = mappedBytes.readPosition();
             mappedBytes.writePosition(start);
-            final long pos = mappedWire.enterHeader(128L);
+            final long pos = mappedWire.enterHeader(128L + 2L * alignment);
             final LongValue longValue = wireType.newLongReference().get();
-            mappedWire.writeEventName(key).int64forBinding(defaultValue, longValue);
-            mappedWire.writeAlignTo(Integer.BYTES, 0);
+            mappedWire.writeEventName(key);
+            // pad before the value as well as after it, so a padded value has its cache line to itself
+            if (alignment > Integer.BYTES)
+                mappedWire.writeAlignTo(alignment, 1);
+            mappedWire.getValueOut().int64forBinding(defaultValue, longValue);
+            mappedWire.writeAlignTo(alignment, 0);
             mappedWire.updateHeader(pos, false, 0);
             long end = mappedBytes.writePosition();
             long chuckSize = mappedFile.chunkSize();
@@ -290,6 +305,60 @@ public class SingleTableStore<T extends Metadata> extends AbstractCloseable impl
         }
     }
 
+    @Override
+    public synchronized LongArrayValues acquireArrayFor(CharSequence key, final int capacity) {
+
+        if (mappedBytes.isClosed())
+            throw new ClosedIllegalStateException("Closed");
+
+        final StringBuilder sb = Wires.acquireStringBuilder();
+        final LongArrayValues array = wireType.newLongArrayReference().get();
+        mappedBytes.reserve(this);
+        try {
+            mappedBytes.readPosition(0);
+            mappedBytes.readLimit(mappedBytes.realCapacity());
+            while (mappedWire.readDataHeader()) {
+                final int header = mappedBytes.readVolatileInt();
+                if (Wires.isNotComplete(header))
+                    break;
+                final long readPosition = mappedBytes.readPosition();
+                final int length = Wires.lengthOf(header);
+                final ValueIn valueIn = mappedWire.readEventName(sb);
+                if (StringUtils.equalsCaseIgnore(key, sb)) {
+                    valueIn.int64array(array, this, (o1, o2) -> {
+                    });
+                    return array;
+                }
+                mappedBytes.readPosition(readPosition + length);
+            }
+            mappedBytes.writeLimit(mappedBytes.realCapacity());
+            long start = mappedBytes.readPosition();
+            mappedBytes.writePosition(start);
+            final long pos = mappedWire.enterHeader(128L + capacity * 8L);
+            mappedWire.writeEventName(key).int64array(capacity);
+            mappedWire.writeAlignTo(Integer.BYTES, 0);
+            mappedWire.updateHeader(pos, false, 0);
+            long end = mappedBytes.writePosition();
+            long chuckSize = mappedFile.chunkSize();
+            long overlapSize = mappedFile.overlapSize();
+            long endOfChunk = (start + chuckSize - 1) / chuckSize * chuckSize;
+            if (end >= endOfChunk + overlapSize)
+                throw new IllegalStateException("Misaligned write");
+
+            // bind to the array just written
+            mappedBytes.readPosition(pos + 4);
+            mappedWire.readEventName(sb).int64array(array, this, (o1, o2) -> {
+            });
+            return array;
+
+        } catch (StreamCorruptedException | EOFException e) {
+            throw new IORuntimeException(e);
+
+        } finally {
+            mappedBytes.release(this);
+        }
+    }
+
     @Override
     public synchronized <T> void forEachKey(T accumulator, TableStoreIterator<T> tsIterator) {
         final StringBuilder sb = Wires.acquireStringBuilder();
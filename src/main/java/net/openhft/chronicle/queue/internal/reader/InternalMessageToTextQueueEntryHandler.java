@@ -3,6 +3,7 @@ package net.openhft.chronicle.queue.internal.reader;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.queue.reader.QueueEntryHandler;
 import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.Wire;
 import net.openhft.chronicle.wire.WireIn;
 import net.openhft.chronicle.wire.WireType;
 
@@ -13,9 +14,12 @@ import static net.openhft.chronicle.core.util.ObjectUtils.requireNonNull;
 public final class InternalMessageToTextQueueEntryHandler implements QueueEntryHandler {
     private final Bytes textConversionTarget = Bytes.elasticByteBuffer();
     private final WireType wireType;
+    // reused for every message, the target is cleared before each conversion
+    private final Wire textConversionWire;
 
     public InternalMessageToTextQueueEntryHandler(WireType wireType) {
         this.wireType = requireNonNull(wireType);
+        this.textConversionWire = wireType.apply(textConversionTarget);
     }
 
     private static boolean isBinaryFormat(final byte dataFormatIndicator) {
@@ -31,7 +35,7 @@ public final class InternalMessageToTextQueueEntryHandler implements QueueEntryH
         if (isBinaryFormat(dataFormatIndicator)) {
             textConversionTarget.clear();
             final BinaryWire binaryWire = new BinaryWire(serialisedMessage);
-            binaryWire.copyTo(wireType.apply(textConversionTarget));
+            binaryWire.copyTo(textConversionWire);
             text = textConversionTarget.toString();
         } else {
             text = serialisedMessage.toString();
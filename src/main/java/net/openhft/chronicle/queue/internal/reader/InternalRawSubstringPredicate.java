@@ -0,0 +1,44 @@
+package net.openhft.chronicle.queue.internal.reader;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.WireIn;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Searches the raw bytes of an excerpt for a substring, without decoding it.
+ * This finds text values and field names as they are stored in UTF-8, but not numbers, which are usually stored in binary.
+ */
+public final class InternalRawSubstringPredicate implements Predicate<WireIn> {
+    private final byte[] needle;
+
+    public InternalRawSubstringPredicate(@NotNull String substring) {
+        if (substring.isEmpty())
+            throw new IllegalArgumentException("The substring cannot be empty");
+        this.needle = substring.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean test(@NotNull WireIn wire) {
+        final Bytes<?> bytes = wire.bytes();
+        final byte first = needle[0];
+        final long end = bytes.readLimit() - needle.length;
+        outer:
+        for (long i = bytes.readPosition(); i <= end; i++) {
+            if (bytes.readByte(i) != first)
+                continue;
+            for (int j = 1; j < needle.length; j++)
+                if (bytes.readByte(i + j) != needle[j])
+                    continue outer;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return new String(needle, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,125 @@
+package net.openhft.chronicle.queue.internal.reader;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.util.StringUtils;
+import net.openhft.chronicle.wire.ReadMarshallable;
+import net.openhft.chronicle.wire.ValueIn;
+import net.openhft.chronicle.wire.WireIn;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates a predicate such as {@code newOrder.symbol == "VOD.L"} or {@code price > 100} directly on the wire of an excerpt,
+ * without converting it to text. The path is a chain of field names, the first usually being the method name of an event.
+ * Field names and text values are read into reused {@link StringBuilder}s, so nothing is allocated per excerpt.
+ * <p>
+ * Text values can be compared with {@code ==} and {@code !=}, numbers with any of {@code == != > >= < <=}.
+ * An excerpt without the path doesn't match.
+ */
+public final class InternalWireFieldPredicate implements Predicate<WireIn>, ReadMarshallable {
+    private static final Pattern EXPRESSION = Pattern.compile("\\s*([\\w.]+)\\s*(==|!=|>=|<=|>|<)\\s*(.+?)\\s*");
+
+    private final String[] path;
+    private final String op;
+    private final String text;
+    private final double number;
+    private final StringBuilder name = new StringBuilder();
+    private final StringBuilder value = new StringBuilder();
+    private int depth;
+    private boolean result;
+
+    public InternalWireFieldPredicate(@NotNull String expression) {
+        final Matcher matcher = EXPRESSION.matcher(expression);
+        if (!matcher.matches())
+            throw new IllegalArgumentException("Expected <field.path> <op> <value> but was " + expression);
+        path = matcher.group(1).split("\\.");
+        op = matcher.group(2);
+        String v = matcher.group(3);
+        final boolean quoted = v.length() >= 2 && v.charAt(0) == '"' && v.charAt(v.length() - 1) == '"';
+        if (quoted)
+            v = v.substring(1, v.length() - 1);
+        text = v;
+        number = quoted ? Double.NaN : parseNumber(v);
+        if (Double.isNaN(number) && !op.equals("==") && !op.equals("!="))
+            throw new IllegalArgumentException("Only == and != can be used with text, was " + expression);
+    }
+
+    private static double parseNumber(String v) {
+        try {
+            return Double.parseDouble(v);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public boolean test(@NotNull WireIn wire) {
+        final Bytes<?> bytes = wire.bytes();
+        final long readPosition = bytes.readPosition();
+        final long readLimit = bytes.readLimit();
+        try {
+            depth = 0;
+            result = false;
+            readMarshallable(wire);
+            return result;
+        } catch (RuntimeException e) {
+            // not the expected structure or type
+            return false;
+        } finally {
+            bytes.readLimit(readLimit);
+            bytes.readPosition(readPosition);
+        }
+    }
+
+    /**
+     * Finds the field at the current depth of the path, and either compares it or descends into it.
+     */
+    @Override
+    public void readMarshallable(@NotNull WireIn wire) {
+        while (wire.hasMore()) {
+            final ValueIn in = wire.readEventName(name);
+            if (!StringUtils.isEqual(name, path[depth])) {
+                in.skipValue();
+                continue;
+            }
+            if (depth == path.length - 1) {
+                result = compare(in);
+            } else {
+                depth++;
+                in.marshallable(this);
+            }
+            return;
+        }
+    }
+
+    private boolean compare(ValueIn in) {
+        if (Double.isNaN(number)) {
+            in.textTo(value);
+            final boolean equal = StringUtils.isEqual(value, text);
+            return op.equals("==") == equal;
+        }
+        final double d = in.float64();
+        switch (op) {
+            case "==":
+                return d == number;
+            case "!=":
+                return d != number;
+            case ">":
+                return d > number;
+            case ">=":
+                return d >= number;
+            case "<":
+                return d < number;
+            default:
+                return d <= number;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.join(".", path) + " " + op + " " + text;
+    }
+}
@@ -24,13 +24,17 @@ import net.openhft.chronicle.bytes.MethodWriterBuilder;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.queue.ChronicleQueue;
 import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycle;
 import net.openhft.chronicle.queue.TailerDirection;
 import net.openhft.chronicle.queue.impl.single.BinarySearch;
+import net.openhft.chronicle.queue.internal.reader.InternalRawSubstringPredicate;
+import net.openhft.chronicle.queue.internal.reader.InternalWireFieldPredicate;
 import net.openhft.chronicle.queue.impl.single.NotComparableException;
 import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
 import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
 import net.openhft.chronicle.queue.reader.comparator.BinarySearchComparator;
 import net.openhft.chronicle.queue.util.ToolsUtil;
+import net.openhft.chronicle.threads.NamedThreadFactory;
 import net.openhft.chronicle.threads.Pauser;
 import net.openhft.chronicle.wire.*;
 import org.jetbrains.annotations.NotNull;
@@ -41,12 +45,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.ParseException;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -56,12 +69,20 @@ import static net.openhft.chronicle.queue.impl.StoreFileListener.NO_OP;
 
 public class ChronicleReader implements Reader {
     private static final long UNSET_VALUE = Long.MIN_VALUE;
+    private static final long MAX_SEGMENT_SIZE = 1 << 20;
+    // per segment being read ahead of the output, when in index order
+    private static final int MAX_BUFFERED_MATCHES = 1024;
+    private static final Match END_OF_SEGMENT = new Match(-1, null);
 
     private final List<Pattern> inclusionRegex = new ArrayList<>();
     private final List<Pattern> exclusionRegex = new ArrayList<>();
+    private final List<Supplier<Predicate<WireIn>>> wireFilterFactories = new ArrayList<>();
+    // the filters keep state to avoid allocating, so each thread has its own
+    private final ThreadLocal<List<Predicate<WireIn>>> wireFilters = ThreadLocal.withInitial(this::createWireFilters);
     private final Pauser pauser = Pauser.millis(1, 100);
     private Path basePath;
     private long startIndex = UNSET_VALUE;
+    private long startTimeNanos = UNSET_VALUE;
     private boolean tailInputSource = false;
     private long maxHistoryRecords = UNSET_VALUE;
     private boolean readOnly = true;
@@ -78,6 +99,8 @@ public class ChronicleReader implements Reader {
     private volatile boolean running = true;
     private TailerDirection tailerDirection = TailerDirection.FORWARD;
     private long matchLimit = 0;
+    private int parallelism = 1;
+    private boolean unordered = false;
 
     static {
         ToolsUtil.warnIfResourceTracing();
@@ -100,6 +123,12 @@ public class ChronicleReader implements Reader {
     private ThreadLocal<ExcerptTailer> tlTailer;
 
     public void execute() {
+        if (methodReaderInterface != null && !wireFilterFactories.isEmpty())
+            throw new IllegalArgumentException("Field and raw filters can't be combined with as-method-reader");
+        if (parallelism > 1) {
+            executeInParallel();
+            return;
+        }
         long lastObservedTailIndex;
         long highestReachedIndex = 0L;
         boolean isFirstIteration = true;
@@ -199,6 +228,8 @@ public class ChronicleReader implements Reader {
             if (!dc.isPresent()) {
                 return false;
             }
+            if (!matchesWireFilters(dc.wire()))
+                return true;
 
             if (customPlugin == null) {
                 messageConverter.accept(dc.wire(), messageConsumer);
@@ -243,16 +274,98 @@ public class ChronicleReader implements Reader {
         return this;
     }
 
+    /**
+     * Only display records where this predicate holds, evaluated on the wire before the record is converted to text, e.g.
+     * {@code newOrder.symbol == "VOD.L"} or {@code newOrder.price > 100}
+     *
+     * @param expression of a field path, an operator ({@code == != > >= < <=}) and a number or quoted text
+     * @return this
+     */
+    public ChronicleReader withFieldFilter(final @NotNull String expression) {
+        // fail fast on an invalid expression
+        new InternalWireFieldPredicate(expression);
+        this.wireFilterFactories.add(() -> new InternalWireFieldPredicate(expression));
+        return this;
+    }
+
+    /**
+     * Only display records containing this text in their raw bytes, checked before the record is converted to text.
+     * This matches text values and field names, but not numbers stored in binary.
+     *
+     * @param substring to search for
+     * @return this
+     */
+    public ChronicleReader withRawInclusion(final @NotNull String substring) {
+        final InternalRawSubstringPredicate predicate = new InternalRawSubstringPredicate(substring);
+        // stateless so it can be shared between threads
+        this.wireFilterFactories.add(() -> predicate);
+        return this;
+    }
+
+    private List<Predicate<WireIn>> createWireFilters() {
+        final List<Predicate<WireIn>> filters = new ArrayList<>();
+        for (Supplier<Predicate<WireIn>> factory : wireFilterFactories)
+            filters.add(factory.get());
+        return filters;
+    }
+
+    private boolean matchesWireFilters(final WireIn wire) {
+        if (wireFilterFactories.isEmpty())
+            return true;
+        final List<Predicate<WireIn>> filters = wireFilters.get();
+        for (int i = 0; i < filters.size(); i++)
+            if (!filters.get(i).test(wire))
+                return false;
+        return true;
+    }
+
     public ChronicleReader withCustomPlugin(final @NotNull ChronicleReaderPlugin customPlugin) {
         this.customPlugin = customPlugin;
         return this;
     }
 
+    /**
+     * Read the queue with this many threads, each reading a range of indexes, split by cycle and within large cycles.
+     * <p>
+     * The output is in index order unless {@link #withUnorderedOutput()} is used.
+     * This can't be combined with tailing, reading in reverse, max history, binary search or a method reader.
+     *
+     * @param parallelism the number of threads, 1 to read sequentially
+     * @return this
+     */
+    public ChronicleReader withParallelism(final int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * When reading in parallel, output matches as soon as they are found rather than in index order.
+     *
+     * @return this
+     */
+    public ChronicleReader withUnorderedOutput() {
+        this.unordered = true;
+        return this;
+    }
+
     public ChronicleReader withStartIndex(final long index) {
         this.startIndex = index;
         return this;
     }
 
+    /**
+     * Start reading from the excerpts appended at this time, using the queue's time index
+     *
+     * @param epochNanos the wall clock time
+     * @return this
+     */
+    public ChronicleReader withStartTime(final long epochNanos) {
+        this.startTimeNanos = epochNanos;
+        return this;
+    }
+
     public ChronicleReader tail() {
         this.tailInputSource = true;
         return this;
@@ -363,6 +476,9 @@ public class ChronicleReader implements Reader {
                     }
                     Jvm.pause(100);
                 }
+            } else if (isSet(startTimeNanos)) {
+                if (!tailer.moveToTime(startTimeNanos))
+                    throw new IllegalArgumentException("No time index for " + basePath + ", enable it with SingleChronicleQueueBuilder.timeIndex(true)");
             } else if (binarySearch != null) {
                 seekBinarySearch(tailer);
             }
@@ -492,17 +608,187 @@ public class ChronicleReader implements Reader {
     }
 
     protected void applyFiltersAndLog(final String text, final long index, AtomicLong matches) {
-        if (inclusionRegex.isEmpty() || checkForMatches(inclusionRegex, text, true)) {
-            if (exclusionRegex.isEmpty() || checkForMatches(exclusionRegex, text, false)) {
-                matches.incrementAndGet();
-                if (displayIndex)
-                    messageSink.accept("0x" + Long.toHexString(index) + ": ");
-                messageSink.accept(text);
+        if (matchesFilters(text)) {
+            matches.incrementAndGet();
+            log(text, index);
+        }
+    }
+
+    private boolean matchesFilters(final String text) {
+        return (inclusionRegex.isEmpty() || checkForMatches(inclusionRegex, text, true))
+                && (exclusionRegex.isEmpty() || checkForMatches(exclusionRegex, text, false));
+    }
+
+    private void log(final String text, final long index) {
+        if (displayIndex)
+            messageSink.accept("0x" + Long.toHexString(index) + ": ");
+        messageSink.accept(text);
+    }
+
+    private void executeInParallel() {
+        if (tailInputSource || tailerDirection == BACKWARD || isSet(maxHistoryRecords) || binarySearch != null || methodReaderInterface != null)
+            throw new IllegalArgumentException("Reading in parallel can't be combined with follow, reverse, max-history, binary-search or as-method-reader");
+
+        final AtomicLong matchCounter = new AtomicLong();
+        // segments are started in the order they are submitted, so the one being logged is always being read
+        final ExecutorService pool = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory("chronicle-reader", true));
+        try (final SingleChronicleQueue queue = (SingleChronicleQueue) createQueue()) {
+            // bound how far the readers get ahead of the output
+            final Deque<Segment> pending = new ArrayDeque<>();
+            for (long[] range : segments(queue)) {
+                if (!running || matchLimitReached(matchCounter.get()))
+                    break;
+                final BlockingQueue<Match> matches = unordered ? null : new ArrayBlockingQueue<>(MAX_BUFFERED_MATCHES);
+                pending.add(new Segment(pool.submit(() -> readSegment(queue, range[0], range[1], matchCounter, matches)), matches));
+                if (pending.size() >= 2 * parallelism)
+                    logInOrder(pending.poll(), matchCounter);
             }
+            while (!pending.isEmpty())
+                logInOrder(pending.poll(), matchCounter);
+        } finally {
+            // interrupts the readers waiting for the output to catch up
+            pool.shutdownNow();
         }
     }
 
+    // logs the matches of a segment as they are read, then waits for it to finish
+    private void logInOrder(final Segment segment, final AtomicLong matchCounter) {
+        try {
+            if (segment.matches != null) {
+                for (Match match; (match = segment.matches.take()) != END_OF_SEGMENT; ) {
+                    if (matchLimitReached(matchCounter.get()))
+                        return;
+                    matchCounter.incrementAndGet();
+                    log(match.text, match.index);
+                }
+            }
+            segment.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw Jvm.rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Splits the queue, from the start index or time, into ranges of whole cycles or, for large cycles, multiples of the index spacing.
+     *
+     * @return the ranges as [from index inclusive, to index exclusive]
+     */
+    @NotNull
+    private List<long[]> segments(final SingleChronicleQueue queue) {
+        final List<long[]> segments = new ArrayList<>();
+        final int lastCycle = queue.lastCycle();
+        if (lastCycle == Integer.MIN_VALUE)
+            return segments;
+
+        long start = queue.firstIndex();
+        if (isSet(startIndex)) {
+            start = Math.max(start, startIndex);
+        } else if (isSet(startTimeNanos)) {
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                if (!tailer.moveToTime(startTimeNanos))
+                    throw new IllegalArgumentException("No time index for " + basePath + ", enable it with SingleChronicleQueueBuilder.timeIndex(true)");
+                start = tailer.index();
+            }
+        }
+
+        final RollCycle rollCycle = queue.rollCycle();
+        final int startCycle = rollCycle.toCycle(start);
+        final long spacing = queue.indexSpacing();
+        try {
+            for (Long c : queue.listCyclesBetween(startCycle, lastCycle)) {
+                final int cycle = (int) (long) c;
+                // recorded when the cycle was rolled, so only the current cycle is read
+                final long count = queue.excerptsInCycle(cycle);
+                final long perReader = Math.min(MAX_SEGMENT_SIZE, count / parallelism);
+                final long step = Math.max(spacing, (perReader + spacing - 1) / spacing * spacing);
+                for (long seq = cycle == startCycle ? rollCycle.toSequenceNumber(start) : 0; seq < count; ) {
+                    final long next = Math.min(count, (seq / step + 1) * step);
+                    segments.add(new long[]{rollCycle.toIndex(cycle, seq), rollCycle.toIndex(cycle, next)});
+                    seq = next;
+                }
+            }
+        } catch (ParseException e) {
+            throw Jvm.rethrow(e);
+        }
+        return segments;
+    }
+
+    /**
+     * Passes the matches to {@code matches} when in index order, waiting while it is full, otherwise they are logged and counted as
+     * they are found.
+     */
+    private Void readSegment(final SingleChronicleQueue queue, final long fromIndex, final long toIndex, final AtomicLong matchCounter,
+                             @Nullable final BlockingQueue<Match> matches) throws InterruptedException {
+        MessageHistory.set(new VanillaMessageHistory());
+        try (final ExcerptTailer tailer = queue.createTailer();
+             final QueueEntryHandler messageConverter = entryHandlerFactory.get()) {
+            if (!tailer.moveToIndex(fromIndex))
+                return null;
+            final long[] index = {fromIndex};
+            final Consumer<String> messageConsumer = text -> {
+                if (!matchesFilters(text))
+                    return;
+                if (unordered) {
+                    if (matchLimitReached(matchCounter.getAndIncrement()))
+                        return;
+                    synchronized (this) {
+                        log(text, index[0]);
+                    }
+                } else {
+                    try {
+                        matches.put(new Match(index[0], text));
+                    } catch (InterruptedException e) {
+                        // the output has stopped
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            while (running && !matchLimitReached(matchCounter.get()) && !Thread.currentThread().isInterrupted()) {
+                try (DocumentContext dc = pollMethod.apply(tailer)) {
+                    if (!dc.isPresent() || dc.index() >= toIndex)
+                        break;
+                    if (!matchesWireFilters(dc.wire()))
+                        continue;
+                    index[0] = dc.index();
+                    if (customPlugin == null) {
+                        messageConverter.accept(dc.wire(), messageConsumer);
+                    } else {
+                        customPlugin.onReadDocument(dc, messageConsumer);
+                    }
+                }
+            }
+        } finally {
+            if (matches != null && !Thread.currentThread().isInterrupted())
+                matches.put(END_OF_SEGMENT);
+        }
+        return null;
+    }
+
     public void stop() {
         running = false;
     }
+
+    private static final class Segment {
+        final Future<Void> future;
+        @Nullable
+        final BlockingQueue<Match> matches;
+
+        Segment(Future<Void> future, @Nullable BlockingQueue<Match> matches) {
+            this.future = future;
+            this.matches = matches;
+        }
+    }
+
+    private static final class Match {
+        final long index;
+        final String text;
+
+        Match(long index, String text) {
+            this.index = index;
+            this.text = text;
+        }
+    }
 }
\ No newline at end of file
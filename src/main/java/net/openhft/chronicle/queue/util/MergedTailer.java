@@ -0,0 +1,260 @@
+package net.openhft.chronicle.queue.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.queue.ChronicleQueue;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.NoDocumentContext;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reads several queues as one stream ordered by a timestamp in each excerpt, e.g. to replay the feeds recorded into separate queues in
+ * the order they happened.
+ * <p>
+ * Each queue has a tailer whose next excerpt is held open, already read by the {@link TimestampExtractor}, and the queues are kept in a
+ * binary heap of their timestamps in primitive arrays. {@link #readingDocument()} returns the held document of the queue with the
+ * earliest timestamp, so each excerpt is read once and nothing is allocated. Excerpts with the same timestamp are returned in the order
+ * the queues were given.
+ * <p>
+ * A queue with nothing more to read is tried again on every call, so excerpts appended while merging are picked up, though an excerpt
+ * appended with a timestamp earlier than one already returned is returned late rather than in order.
+ */
+public final class MergedTailer extends AbstractCloseable {
+    private final ChronicleQueue[] queues;
+    private final ExcerptTailer[] tailers;
+    private final TimestampExtractor extractor;
+    // the open document and its timestamp for each queue in the heap
+    private final DocumentContext[] heads;
+    private final long[] timestamps;
+    // queue numbers ordered by timestamp
+    private final int[] heap;
+    private int heapSize;
+    // queue numbers with nothing to read
+    private final int[] idle;
+    private int idleSize;
+    // the queue whose document was returned last, and has to be refilled
+    private int returned = -1;
+    private long index = -1;
+
+    /**
+     * @param extractor to read the timestamp of each excerpt by.
+     * @param queues    to merge, each read from the start.
+     */
+    public MergedTailer(@NotNull TimestampExtractor extractor, @NotNull ChronicleQueue... queues) {
+        if (queues.length == 0)
+            throw new IllegalArgumentException("No queues to merge");
+        this.queues = queues.clone();
+        this.extractor = extractor;
+        final int n = queues.length;
+        tailers = new ExcerptTailer[n];
+        heads = new DocumentContext[n];
+        timestamps = new long[n];
+        heap = new int[n];
+        idle = new int[n];
+        for (int i = 0; i < n; i++)
+            tailers[i] = queues[i].createTailer();
+        for (int i = 0; i < n; i++)
+            idle[idleSize++] = i;
+        disableThreadSafetyCheck(true);
+    }
+
+    /**
+     * Returns the next excerpt by timestamp, from whichever queue has it. It has to be closed before this is called again,
+     * and is only advanced past if it isn't rolled back.
+     *
+     * @return the document context, which isn't present if none of the queues have anything more to read.
+     */
+    @NotNull
+    public DocumentContext readingDocument() {
+        throwExceptionIfClosed();
+        if (returned >= 0) {
+            final int number = returned;
+            returned = -1;
+            // it is still at the top of the heap
+            if (fill(number))
+                siftDown(0);
+            else
+                removeTop();
+        }
+        for (int i = idleSize - 1; i >= 0; i--) {
+            final int number = idle[i];
+            if (fill(number)) {
+                idle[i] = idle[--idleSize];
+                heap[heapSize] = number;
+                siftUp(heapSize++);
+            }
+        }
+        if (heapSize == 0)
+            return NoDocumentContext.INSTANCE;
+        final int top = heap[0];
+        returned = top;
+        index = heads[top].index();
+        return heads[top];
+    }
+
+    /**
+     * @return the number of the queue the last excerpt returned came from, in the order they were given, or -1 if none has been.
+     */
+    public int sourceNumber() {
+        return returned;
+    }
+
+    /**
+     * @return the queue the last excerpt returned came from, or null if none has been.
+     */
+    public ChronicleQueue source() {
+        return returned < 0 ? null : queues[returned];
+    }
+
+    /**
+     * @return the index in its queue of the last excerpt returned.
+     */
+    public long index() {
+        return index;
+    }
+
+    /**
+     * Moves every queue to the start.
+     *
+     * @return this
+     */
+    @NotNull
+    public MergedTailer toStart() {
+        throwExceptionIfClosed();
+        releaseHeads();
+        for (int i = 0; i < tailers.length; i++) {
+            tailers[i].toStart();
+            idle[idleSize++] = i;
+        }
+        return this;
+    }
+
+    /**
+     * Moves every queue to its first excerpt with a timestamp at or after {@code epochNanos}, so this assumes the timestamps are
+     * nanoseconds since the epoch. Queues with a time index move with {@link ExcerptTailer#moveToTime(long)} and skip forward from
+     * there, others skip forward from the start.
+     *
+     * @param epochNanos to move to.
+     * @return this
+     */
+    @NotNull
+    public MergedTailer moveToTime(long epochNanos) {
+        throwExceptionIfClosed();
+        releaseHeads();
+        for (int i = 0; i < tailers.length; i++) {
+            final ExcerptTailer tailer = tailers[i];
+            if (!tailer.moveToTime(epochNanos))
+                tailer.toStart();
+            while (fill(i)) {
+                if (timestamps[i] >= epochNanos) {
+                    heap[heapSize] = i;
+                    siftUp(heapSize++);
+                    break;
+                }
+                heads[i].close();
+                heads[i] = null;
+            }
+            if (heads[i] == null)
+                idle[idleSize++] = i;
+        }
+        return this;
+    }
+
+    // rolls back the documents held open, so the queues are where they were before they were read
+    private void releaseHeads() {
+        for (int i = 0; i < heapSize; i++) {
+            final int number = heap[i];
+            final DocumentContext dc = heads[number];
+            // the caller has closed the one returned
+            if (dc != null && number != returned) {
+                dc.rollbackOnClose();
+                dc.close();
+            }
+            heads[number] = null;
+        }
+        returned = -1;
+        heapSize = 0;
+        idleSize = 0;
+    }
+
+    private boolean fill(int number) {
+        final DocumentContext dc = tailers[number].readingDocument();
+        if (!dc.isPresent()) {
+            dc.close();
+            heads[number] = null;
+            return false;
+        }
+        final Bytes<?> bytes = dc.wire().bytes();
+        final long readPosition = bytes.readPosition();
+        timestamps[number] = extractor.timestamp(dc);
+        bytes.readPosition(readPosition);
+        heads[number] = dc;
+        return true;
+    }
+
+    private void removeTop() {
+        idle[idleSize++] = heap[0];
+        if (--heapSize > 0) {
+            heap[0] = heap[heapSize];
+            siftDown(0);
+        }
+    }
+
+    private boolean before(int a, int b) {
+        final long ta = timestamps[a];
+        final long tb = timestamps[b];
+        return ta < tb || (ta == tb && a < b);
+    }
+
+    private void siftUp(int i) {
+        final int number = heap[i];
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (!before(number, heap[parent]))
+                break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = number;
+    }
+
+    private void siftDown(int i) {
+        final int number = heap[i];
+        for (; ; ) {
+            int child = 2 * i + 1;
+            if (child >= heapSize)
+                break;
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child]))
+                child++;
+            if (!before(heap[child], number))
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = number;
+    }
+
+    @Override
+    protected void performClose() {
+        releaseHeads();
+        Closeable.closeQuietly(tailers);
+    }
+
+    /**
+     * Reads the timestamp an excerpt is ordered by. The excerpt's read position is restored afterwards.
+     */
+    @FunctionalInterface
+    public interface TimestampExtractor {
+        long timestamp(@NotNull DocumentContext dc);
+
+        /**
+         * @return an extractor which reads a field written first in each excerpt, e.g. with {@code wire.write(name).int64(timestamp)}.
+         */
+        @NotNull
+        static TimestampExtractor field(@NotNull String name) {
+            return dc -> dc.wire().read(name).int64();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package net.openhft.chronicle.queue.util;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.queue.ChronicleQueue;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.threads.NamedThreadFactory;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Publishes the excerpts of a queue to any number of subscribers, each of which reads with its own tailer from the start of the queue
+ * as it signals demand.
+ * <p>
+ * The {@link Subscriber} and {@link Subscription} interfaces follow {@code java.util.concurrent.Flow} and Reactive Streams, so they can be
+ * bridged to either with a one line adapter. Each subscriber is served by a loop on a thread from the {@link ThreadFactory}, which reads
+ * up to {@link #maxBatch(int)} excerpts at a time while there is demand and otherwise parks: waiting for demand, or in
+ * {@link ExcerptTailer#awaitNext(long, TimeUnit)} for something to be appended. Where the queue has
+ * {@code appendNotifications(true)} every idle loop parks on the same notification word, rather than polling.
+ * <p>
+ * On Java 21 or later, pass {@code Thread.ofVirtual().factory()} to serve thousands of subscribers with virtual threads.
+ *
+ * @param <T> the type each excerpt is read as.
+ */
+public final class TailerPublisher<T> extends AbstractCloseable {
+    // how often a loop waiting for an append checks whether it was cancelled
+    private static final long AWAIT_MS = 100;
+
+    private final ChronicleQueue queue;
+    private final Function<? super DocumentContext, ? extends T> reader;
+    private final ThreadFactory threadFactory;
+    private final Set<SubscriberLoop> loops = ConcurrentHashMap.newKeySet();
+    private volatile int maxBatch = 256;
+
+    /**
+     * @param queue         to publish.
+     * @param reader        to read each excerpt as the item passed to {@link Subscriber#onNext(Object)}.
+     * @param threadFactory to create the thread for each subscriber's loop.
+     */
+    public TailerPublisher(@NotNull ChronicleQueue queue,
+                           @NotNull Function<? super DocumentContext, ? extends T> reader,
+                           @NotNull ThreadFactory threadFactory) {
+        this.queue = queue;
+        this.reader = reader;
+        this.threadFactory = threadFactory;
+        disableThreadSafetyCheck(true);
+    }
+
+    /**
+     * Publishes with a daemon platform thread per subscriber.
+     */
+    public TailerPublisher(@NotNull ChronicleQueue queue, @NotNull Function<? super DocumentContext, ? extends T> reader) {
+        this(queue, reader, new NamedThreadFactory("tailer-publisher", true));
+    }
+
+    public int maxBatch() {
+        return maxBatch;
+    }
+
+    /**
+     * @param maxBatch the most excerpts a subscriber is sent before its loop checks for cancellation and further demand, default 256.
+     * @return this
+     */
+    public TailerPublisher<T> maxBatch(int maxBatch) {
+        if (maxBatch < 1)
+            throw new IllegalArgumentException("maxBatch: " + maxBatch);
+        this.maxBatch = maxBatch;
+        return this;
+    }
+
+    /**
+     * Starts a loop which calls {@link Subscriber#onSubscribe(Subscription)} and then sends the excerpts from the start of the queue as they are requested.
+     */
+    public void subscribe(@NotNull Subscriber<? super T> subscriber) {
+        throwExceptionIfClosed();
+        final SubscriberLoop loop = new SubscriberLoop(subscriber);
+        loops.add(loop);
+        final Thread thread = threadFactory.newThread(loop);
+        loop.thread = thread;
+        thread.start();
+    }
+
+    /**
+     * Completes every subscriber once it has finished its current batch.
+     */
+    @Override
+    protected void performClose() {
+        for (SubscriberLoop loop : loops)
+            loop.wake();
+    }
+
+    /**
+     * Receives the items, following {@code java.util.concurrent.Flow.Subscriber}.
+     */
+    public interface Subscriber<T> {
+        void onSubscribe(@NotNull Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(@NotNull Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * Signals demand, following {@code java.util.concurrent.Flow.Subscription}.
+     */
+    public interface Subscription {
+        /**
+         * Adds to the number of items the subscriber will accept, the demand being unbounded once it reaches {@code Long.MAX_VALUE}.
+         */
+        void request(long n);
+
+        /**
+         * Stops sending items, eventually.
+         */
+        void cancel();
+    }
+
+    private final class SubscriberLoop implements Runnable, Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile Thread thread;
+
+        SubscriberLoop(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive request: " + n);
+                cancelled = true;
+            } else {
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            wake();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            wake();
+        }
+
+        void wake() {
+            final Thread thread = this.thread;
+            if (thread != null)
+                LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            try {
+                subscriber.onSubscribe(this);
+                try (ExcerptTailer tailer = queue.createTailer()) {
+                    while (!cancelled && !isClosing()) {
+                        final long requested = demand.get();
+                        if (requested == 0) {
+                            LockSupport.park(this);
+                            continue;
+                        }
+                        final int delivered = deliver(tailer, (int) Math.min(requested, maxBatch));
+                        if (delivered == 0)
+                            tailer.awaitNext(AWAIT_MS, TimeUnit.MILLISECONDS);
+                        else if (requested != Long.MAX_VALUE)
+                            demand.addAndGet(-delivered);
+                    }
+                }
+                if (error != null)
+                    subscriber.onError(error);
+                else if (!cancelled)
+                    subscriber.onComplete();
+            } catch (Throwable t) {
+                if (cancelled)
+                    Jvm.debug().on(TailerPublisher.class, "Failed after cancel", t);
+                else
+                    subscriber.onError(t);
+            } finally {
+                loops.remove(this);
+            }
+        }
+
+        private int deliver(ExcerptTailer tailer, int batch) {
+            int delivered = 0;
+            while (delivered < batch && !cancelled) {
+                final T item;
+                try (DocumentContext dc = tailer.readingDocument()) {
+                    if (!dc.isPresent())
+                        break;
+                    item = reader.apply(dc);
+                }
+                subscriber.onNext(item);
+                delivered++;
+            }
+            return delivered;
+        }
+    }
+}
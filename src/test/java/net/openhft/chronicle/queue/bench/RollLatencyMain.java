@@ -0,0 +1,78 @@
+package net.openhft.chronicle.queue.bench;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.core.util.Histogram;
+import net.openhft.chronicle.core.util.Time;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.impl.QueueMetricsListener;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import net.openhft.chronicle.wire.DocumentContext;
+
+/**
+ * Measures the latency of the excerpt which rolls the queue to a new cycle, with and without the next cycle prepared ahead,
+ * see {@link SingleChronicleQueueBuilder#rollAheadMs(long)}.
+ * <p>
+ * The time is set so each roll is at a cycle boundary, after leaving the roll-ahead thread time to prepare the next file.
+ */
+public class RollLatencyMain {
+    static final int rolls = Integer.getInteger("rolls", 200);
+    static final int perCycle = Integer.getInteger("perCycle", 1000);
+    static final int size = Integer.getInteger("size", 256);
+    static final long blockSize = Long.getLong("blockSize", 64L << 20);
+    static final long rollAheadMs = Long.getLong("rollAheadMs", 400);
+    static final String path = System.getProperty("path", OS.TMP);
+
+    public static void main(String[] args) {
+        run("inline", 0);
+        run("rollAhead", rollAheadMs);
+    }
+
+    static void run(String name, long rollAheadMs) {
+        final String base = path + "/roll-" + Time.uniqueId() + ".me";
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final Histogram rollHisto = new Histogram(30, 7);
+        final Histogram writeHisto = new Histogram(30, 7);
+        final QueueMetricsListener listener = new QueueMetricsListener() {
+            @Override
+            public void onRoll(int cycle, long nanos) {
+                rollHisto.sample(nanos);
+            }
+        };
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(base)
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .blockSize(blockSize)
+                .timeProvider(timeProvider)
+                .metricsListener(listener)
+                .rollAheadMs(rollAheadMs)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int r = 0; r < rolls; r++) {
+                for (int i = 0; i < perCycle; i++)
+                    write(appender);
+                // within the roll-ahead, then give it time to prepare the next cycle
+                timeProvider.advanceMillis(1000 - rollAheadMs / 2);
+                Jvm.pause(Math.max(rollAheadMs / 2, 10));
+                timeProvider.advanceMillis(rollAheadMs / 2);
+
+                final long start = System.nanoTime();
+                write(appender);
+                writeHisto.sample(System.nanoTime() - start);
+            }
+        } finally {
+            IOTools.deleteDirWithFiles(base, 2);
+        }
+        System.out.println(name + " roll latencies " + rollHisto.toMicrosFormat());
+        System.out.println(name + " rolling write latencies " + writeHisto.toMicrosFormat());
+    }
+
+    private static void write(ExcerptAppender appender) {
+        try (DocumentContext dc = appender.writingDocument()) {
+            dc.wire().bytes().writeSkip(size);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package net.openhft.chronicle.queue.impl;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class QueueMetricsTest extends ChronicleQueueTestBase {
+
+    @Test
+    public void listenerSeesEachOperation() {
+        final CountingListener listener = new CountingListener();
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .indexSpacing(4)
+                .timeProvider(timeProvider)
+                .metricsListener(listener)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 8; i++) {
+                try (DocumentContext dc = appender.writingDocument()) {
+                    dc.wire().bytes().append("msg-").append(i);
+                }
+            }
+            timeProvider.advanceMillis(1000);
+            appender.writeBytes(Bytes.from("msg-8"));
+
+            assertEquals(9, listener.writeLocks);
+            assertEquals(9, listener.writes);
+            assertEquals(9 * 5, listener.bytesWritten);
+            assertEquals(1, listener.rolls);
+            // every 4th excerpt, in two cycles
+            assertEquals(3, listener.indexWrites);
+
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                final long index = queue.firstIndex();
+                while (tailer.readBytes(Bytes.allocateElasticOnHeap())) {
+                    // read all
+                }
+                assertEquals(9, listener.reads);
+                assertEquals(9 * 5, listener.bytesRead);
+
+                assertTrue(tailer.moveToIndex(index + 6));
+                assertEquals(1, (long) listener.moves.get(QueueMetricsListener.MoveToIndexPath.INDEX_LOOKUP));
+                assertTrue(tailer.moveToIndex(index + 6));
+                assertEquals(1, (long) listener.moves.get(QueueMetricsListener.MoveToIndexPath.REUSE));
+                assertTrue(tailer.moveToIndex(index + 7));
+                assertEquals(1, (long) listener.moves.get(QueueMetricsListener.MoveToIndexPath.LINEAR_SCAN));
+            }
+        }
+    }
+
+    @Test
+    public void summaryByThread() {
+        final QueueMetrics metrics = new QueueMetrics();
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .metricsListener(metrics)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 100; i++)
+                appender.writeBytes(Bytes.from("msg-" + i));
+
+            final String summary = metrics.summary();
+            assertTrue(summary, summary.startsWith(Thread.currentThread().getName() + "\n"));
+            assertTrue(summary, summary.contains("\twriteLockWait count: 100, "));
+            assertTrue(summary, summary.contains("\twrite count: 100, "));
+            assertTrue(summary, summary.contains(" bytes/s\n"));
+            assertFalse(summary, summary.contains("\tread count:"));
+
+            metrics.reset();
+            assertFalse(metrics.summary().contains("count:"));
+        }
+    }
+
+    @Test
+    public void eachThreadClearsItsOwnMetricsAndDeadThreadsAreDropped() throws InterruptedException {
+        final QueueMetrics metrics = new QueueMetrics();
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .metricsListener(metrics)
+                .build()) {
+            final Thread writer = new Thread(() -> {
+                try (ExcerptAppender appender = queue.acquireAppender()) {
+                    appender.writeBytes(Bytes.from("from another thread"));
+                }
+            }, "metrics-writer");
+            writer.start();
+            writer.join();
+
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 10; i++)
+                appender.writeBytes(Bytes.from("msg-" + i));
+            assertTrue(metrics.summary(), metrics.summary().contains("metrics-writer\n"));
+
+            metrics.reset();
+            appender.writeBytes(Bytes.from("after reset"));
+            final String summary = metrics.summary();
+            assertFalse(summary, summary.contains("metrics-writer"));
+            assertTrue(summary, summary.contains("\twrite count: 1, "));
+        }
+    }
+
+        static final class CountingListener implements QueueMetricsListener {
+        final Map<MoveToIndexPath, Long> moves = new EnumMap<>(MoveToIndexPath.class);
+        int writeLocks, writes, rolls, indexWrites, reads;
+        long bytesWritten, bytesRead;
+
+        @Override
+        public void onWriteLockAcquired(long waitNanos) {
+            assertTrue(waitNanos >= 0);
+            writeLocks++;
+        }
+
+        @Override
+        public void onWritten(long bytes, long nanos) {
+            assertTrue(nanos >= 0);
+            writes++;
+            bytesWritten += bytes;
+        }
+
+        @Override
+        public void onRoll(int cycle, long nanos) {
+            rolls++;
+        }
+
+        @Override
+        public void onIndexWritten(long nanos) {
+            indexWrites++;
+        }
+
+        @Override
+        public void onRead(long bytes, long nanos) {
+            reads++;
+            bytesRead += bytes;
+        }
+
+        @Override
+        public void onMoveToIndex(MoveToIndexPath path, long nanos) {
+            moves.merge(path, 1L, Long::sum);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class RollingResourcesCacheTest extends QueueTestCommon {
     private static final long SEED = 2983472039423847L;
@@ -284,6 +285,30 @@ public class RollingResourcesCacheTest extends QueueTestCommon {
 
     }
 
+    @Test
+    public void codecMatchesFormatter() {
+        final Random random = new Random(SEED);
+        for (RollCycles rollCycle : RollCycles.values()) {
+            final CycleNameCodec codec = CycleNameCodec.forFormat(rollCycle.format());
+            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(rollCycle.format()).withZone(ZoneId.of("UTC"));
+            final RollingResourcesCache cache = new RollingResourcesCache(rollCycle, 0, File::new, File::getName);
+            for (int i = 0; i < 1_000; i++) {
+                final long millis = random.nextLong() % TimeUnit.DAYS.toMillis(200 * 365);
+                final String name = formatter.format(Instant.ofEpochMilli(millis));
+                assertEquals(rollCycle + " " + millis, name, codec.format(millis));
+                final long parsed = codec.parse(name);
+                assertEquals(name, name, codec.format(parsed));
+                assertTrue(name, parsed <= millis && millis - parsed < TimeUnit.DAYS.toMillis(1));
+
+                final int cycle = random.nextInt(1 << 20);
+                assertEquals(cycle, cache.parseCount(cache.resourceFor(cycle).text));
+            }
+            assertEquals(CycleNameCodec.NOT_PARSED, codec.parse("foobar-qux"));
+        }
+        // falls back to the formatter
+        assertEquals(null, CycleNameCodec.forFormat(WeeklyRollCycle.INSTANCE.format()));
+    }
+
     public void doTestToLong(RollCycle rollCycle, long epoch, long cycle, Long expectedLong) {
         RollingResourcesCache cache =
                 new RollingResourcesCache(rollCycle, epoch, File::new, File::getName);
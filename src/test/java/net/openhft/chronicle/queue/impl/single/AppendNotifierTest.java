@@ -0,0 +1,105 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AppendNotifierTest extends ChronicleQueueTestBase {
+
+    private static SingleChronicleQueueBuilder builder(File dir) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_DAILY)
+                .appendNotifications(true);
+    }
+
+    @Test
+    public void awaitNextTimesOutWhenNothingIsAppended() {
+        try (SingleChronicleQueue queue = builder(getTmpDir()).build()) {
+            final ExcerptTailer tailer = queue.createTailer();
+            try (DocumentContext dc = tailer.readingDocument()) {
+                assertFalse(dc.isPresent());
+            }
+            final long start = System.nanoTime();
+            assertFalse(tailer.awaitNext(50, TimeUnit.MILLISECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    @Test
+    public void awaitNextReturnsIfAppendedSinceLastRead() {
+        try (SingleChronicleQueue queue = builder(getTmpDir()).build()) {
+            final ExcerptTailer tailer = queue.createTailer();
+            try (DocumentContext dc = tailer.readingDocument()) {
+                assertFalse(dc.isPresent());
+            }
+            queue.acquireAppender().writeText("hello");
+            assertTrue(tailer.awaitNext(0, TimeUnit.MILLISECONDS));
+            assertEquals("hello", tailer.readText());
+        }
+    }
+
+    @Test
+    public void tailerInAnotherQueueIsWoken() throws Exception {
+        final File dir = getTmpDir();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (SingleChronicleQueue writeQueue = builder(dir).build();
+             SingleChronicleQueue readQueue = builder(dir).build()) {
+            final Future<String> read = executor.submit(() -> {
+                final ExcerptTailer tailer = readQueue.createTailer();
+                try (DocumentContext dc = tailer.readingDocument(10, TimeUnit.SECONDS)) {
+                    return dc.isPresent() ? dc.wire().getValueIn().text() : null;
+                }
+            });
+            Thread.sleep(100);
+            assertFalse(read.isDone());
+            writeQueue.acquireAppender().writeText("hello");
+            assertEquals("hello", read.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void batchAppendWakesTailer() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (SingleChronicleQueue queue = builder(getTmpDir()).build()) {
+            final Future<Boolean> read = executor.submit(() -> {
+                final ExcerptTailer tailer = queue.createTailer();
+                try (DocumentContext dc = tailer.readingDocument(10, TimeUnit.SECONDS)) {
+                    return dc.isPresent();
+                }
+            });
+            Thread.sleep(100);
+            queue.acquireAppender().writeBytes(new Bytes[]{Bytes.from("a"), Bytes.from("b")}, 0, 2);
+            assertTrue(read.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void aRolledBackWriteDoesNotNotify() {
+        try (SingleChronicleQueue queue = builder(getTmpDir()).build()) {
+            final long seen = queue.appendNotifier().sequence();
+            try (DocumentContext dc = queue.acquireAppender().writingDocument()) {
+                dc.wire().write("hello").text("world");
+                dc.rollbackOnClose();
+            }
+            assertEquals(seen, queue.appendNotifier().sequence());
+            queue.acquireAppender().writeText("hello");
+            assertNotEquals(seen, queue.appendNotifier().sequence());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BackpressureTest extends ChronicleQueueTestBase {
+
+    private SingleChronicleQueue queue(BackpressurePolicy policy) {
+        return SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_DAILY)
+                .backpressure(5, policy)
+                .build();
+    }
+
+    @Test
+    public void failsWhenANamedTailerIsTooFarBehind() {
+        try (SingleChronicleQueue queue = queue(BackpressurePolicy.FAIL)) {
+            final ExcerptTailer tailer = queue.createTailer("slow");
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 5; i++)
+                appender.writeText("msg-" + i);
+            try {
+                appender.writeText("msg-5");
+                fail();
+            } catch (IllegalStateException expected) {
+                // the tailer hasn't read anything
+            }
+
+            for (int i = 0; i < 3; i++)
+                assertEquals("msg-" + i, tailer.readText());
+            appender.writeText("msg-5");
+            appender.writeText("msg-6");
+            for (int i = 3; i < 7; i++)
+                assertEquals("msg-" + i, tailer.readText());
+            assertNull(tailer.readText());
+        }
+    }
+
+    @Test
+    public void dropsWhenANamedTailerIsTooFarBehind() {
+        try (SingleChronicleQueue queue = queue(BackpressurePolicy.DROP)) {
+            final ExcerptTailer tailer = queue.createTailer("slow");
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 6; i++)
+                appender.writeText("msg-" + i);
+
+            for (int i = 0; i < 5; i++)
+                assertEquals("msg-" + i, tailer.readText());
+            assertNull(tailer.readText());
+        }
+    }
+
+    @Test
+    public void anonymousTailersDontHoldBackAppenders() {
+        try (SingleChronicleQueue queue = queue(BackpressurePolicy.FAIL)) {
+            final ExcerptTailer tailer = queue.createTailer();
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 20; i++)
+                appender.writeText("msg-" + i);
+            assertEquals("msg-0", tailer.readText());
+        }
+    }
+
+    @Test
+    public void countsTheRestOfACycleWhoseCountWasntRecorded() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            final long[] indexes = new long[15];
+            for (int i = 0; i < indexes.length; i++) {
+                if (i == 10)
+                    timeProvider.advanceMillis(1000);
+                appender.writeText("msg-" + i);
+                indexes[i] = appender.lastIndexAppended();
+            }
+            // e.g. rolled by the Pretoucher
+            queue.cycleExcerptCounts().remove(queue.rollCycle().toCycle(indexes[0]));
+
+            assertEquals(9, Backpressure.excerptsBetween(queue, indexes[2], indexes[11]));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class CompressedCycleTest extends ChronicleQueueTestBase {
+    private static final int CYCLES = 3;
+    private static final int PER_CYCLE = 200;
+
+    private static SingleChronicleQueue createQueue(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build();
+    }
+
+    private static long[] writeCycles(SingleChronicleQueue queue, SetTimeProvider timeProvider) {
+        final long[] indexes = new long[CYCLES * PER_CYCLE];
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (int i = 0; i < indexes.length; i++) {
+            appender.writeBytes(Bytes.from("message number " + i));
+            indexes[i] = appender.lastIndexAppended();
+            if (i % PER_CYCLE == PER_CYCLE - 1)
+                timeProvider.advanceMillis(1000);
+        }
+        return indexes;
+    }
+
+    @Test
+    public void compressedCyclesLeaveTheQueueUntilRestored() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final long[] indexes = writeCycles(queue, timeProvider);
+            final int firstCycle = queue.firstCycle();
+
+            final CycleCompressor compressor = new CycleCompressor(queue, 0, 12);
+            // the last cycle is still being written to
+            assertEquals(CYCLES - 1, compressor.compressRolledCycles());
+            for (int i = 0; i < CYCLES - 1; i++) {
+                final File cycleFile = queue.fileForCycle(firstCycle + i);
+                assertFalse(cycleFile.exists());
+                assertTrue(CompressedCycle.fileFor(cycleFile).exists());
+            }
+            assertEquals(queue.lastCycle(), queue.firstCycle());
+
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+                assertTrue(tailer.readBytes(bytes));
+                assertEquals("message number " + (CYCLES - 1) * PER_CYCLE, bytes.toString());
+            }
+
+            assertTrue(queue.restoreCompressedCycle(firstCycle));
+            assertFalse(queue.restoreCompressedCycle(firstCycle));
+            assertEquals(firstCycle, queue.firstCycle());
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                assertTrue(tailer.moveToIndex(indexes[123]));
+                final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+                assertTrue(tailer.readBytes(bytes));
+                assertEquals("message number 123", bytes.toString());
+            }
+
+            // a restored cycle isn't compressed again
+            assertEquals(0, compressor.compressRolledCycles());
+            assertTrue(queue.fileForCycle(firstCycle).exists());
+            compressor.close();
+        }
+    }
+
+    @Test
+    public void cyclesANamedTailerNeedsArentCompressed() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = createQueue(getTmpDir(), timeProvider)) {
+            writeCycles(queue, timeProvider);
+            final int firstCycle = queue.firstCycle();
+            final ExcerptTailer tailer = queue.createTailer("slow");
+            // partway through the second cycle
+            for (int i = 0; i < PER_CYCLE + 1; i++)
+                assertTrue(tailer.readBytes(Bytes.allocateElasticOnHeap()));
+
+            final CycleCompressor compressor = new CycleCompressor(queue, 0, 12);
+            assertEquals(1, compressor.compressRolledCycles());
+            assertFalse(queue.fileForCycle(firstCycle).exists());
+            assertTrue(queue.fileForCycle(firstCycle + 1).exists());
+            compressor.close();
+        }
+    }
+
+    @Test
+    public void restoresTheCycleFileAsItWas() throws IOException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final File cycleFile;
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            writeCycles(queue, timeProvider);
+            cycleFile = queue.fileForCycle(queue.firstCycle());
+        }
+        CompressedCycle.compress(cycleFile, 12);
+        final byte[] raw = Files.readAllBytes(cycleFile.toPath());
+        assertTrue(CompressedCycle.fileFor(cycleFile).length() < raw.length / 10);
+
+        assertTrue(cycleFile.delete());
+        CompressedCycle.restore(cycleFile);
+        assertArrayEquals(raw, Files.readAllBytes(cycleFile.toPath()));
+    }
+}
@@ -0,0 +1,155 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class CycleCatalogTest extends ChronicleQueueTestBase {
+    private static final int CYCLES = 5;
+
+    private static SingleChronicleQueue createQueue(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build();
+    }
+
+    private static int writeCycles(SingleChronicleQueue queue, SetTimeProvider timeProvider) {
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (int i = 0; i < CYCLES; i++) {
+            if (i > 0)
+                timeProvider.advanceMillis(1000);
+            // i + 1 excerpts in the i-th cycle
+            for (int j = 0; j <= i; j++)
+                appender.writeBytes(Bytes.from("msg-" + i + "-" + j));
+        }
+        return queue.firstCycle();
+    }
+
+    @Test
+    public void cyclesAreRecordedWhenCreatedAndRolled() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final int firstCycle;
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            firstCycle = writeCycles(queue, timeProvider);
+            assertCatalog(queue.cycleCatalog(), firstCycle);
+        }
+
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            assertCatalog(queue.cycleCatalog(), firstCycle);
+            assertEquals(firstCycle, queue.firstCycle());
+            assertEquals(firstCycle + CYCLES - 1, queue.lastCycle());
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                int read = 0;
+                while (tailer.readBytes(Bytes.allocateElasticOnHeap()))
+                    read++;
+                assertEquals(CYCLES * (CYCLES + 1) / 2, read);
+            }
+        }
+    }
+
+    private static void assertCatalog(CycleCatalog catalog, int firstCycle) {
+        assertEquals(firstCycle, catalog.firstCycle());
+        assertEquals(firstCycle + CYCLES - 1, catalog.lastCycle());
+        assertEquals(CYCLES, catalog.cycles(firstCycle, catalog.lastCycle()).size());
+        for (int i = 0; i < CYCLES - 1; i++) {
+            assertEquals(CycleCatalog.ROLLED, catalog.state(firstCycle + i));
+            assertTrue(catalog.size(firstCycle + i) > 0);
+            assertEquals(i, catalog.finalSequence(firstCycle + i));
+        }
+        final int lastCycle = firstCycle + CYCLES - 1;
+        assertEquals(CycleCatalog.CREATED, catalog.state(lastCycle));
+        assertEquals(-1, catalog.size(lastCycle));
+        assertEquals(-1, catalog.finalSequence(lastCycle));
+        assertEquals(CycleCatalog.UNKNOWN, catalog.state(lastCycle + 1));
+    }
+
+    @Test
+    public void deletedCyclesAreFoundOnOpen() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final int firstCycle;
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            firstCycle = writeCycles(queue, timeProvider);
+        }
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            assertTrue(queue.fileForCycle(firstCycle).delete());
+        }
+
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final CycleCatalog catalog = queue.cycleCatalog();
+            assertEquals(CycleCatalog.UNKNOWN, catalog.state(firstCycle));
+            assertEquals(firstCycle + 1, catalog.firstCycle());
+            assertEquals(firstCycle + 1, queue.firstCycle());
+        }
+    }
+
+    @Test
+    public void gapsAreKeptAsRuns() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final int firstCycle;
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeText("first");
+            firstCycle = queue.firstCycle();
+            timeProvider.advanceMillis(1000);
+            appender.writeText("second");
+            timeProvider.advanceMillis(3000);
+            appender.writeText("third");
+        }
+
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final CycleCatalog catalog = queue.cycleCatalog();
+            assertEquals("[" + firstCycle + ", " + (firstCycle + 1) + ", " + (firstCycle + 4) + "]",
+                    catalog.cycles(Integer.MIN_VALUE, Integer.MAX_VALUE).toString());
+            assertEquals("[" + (firstCycle + 1) + "]", catalog.cycles(firstCycle + 1, firstCycle + 3).toString());
+            assertEquals(firstCycle + 1, catalog.nextCycle(firstCycle, true));
+            assertEquals(firstCycle + 4, catalog.nextCycle(firstCycle + 1, true));
+            assertEquals(-1, catalog.nextCycle(firstCycle + 4, true));
+            assertEquals(firstCycle + 1, catalog.nextCycle(firstCycle + 4, false));
+            assertEquals(-1, catalog.nextCycle(firstCycle, false));
+            assertEquals(CycleCatalog.ROLLED, catalog.state(firstCycle + 1));
+            assertEquals(CycleCatalog.UNKNOWN, catalog.state(firstCycle + 2));
+            assertEquals(CycleCatalog.CREATED, catalog.state(firstCycle + 4));
+            assertEquals(queue.fileForCycle(firstCycle).length(), catalog.size(firstCycle));
+        }
+    }
+
+    @Test
+    public void listsTheDirectoryOnceOverflowed() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final int cycles = CycleCatalog.RUNS + 1;
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < cycles; i++) {
+                // a gap after each cycle
+                appender.writeText("msg-" + i);
+                timeProvider.advanceMillis(2000);
+            }
+            assertTrue(queue.cycleCatalog().isEmpty());
+        }
+
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            assertTrue(queue.cycleCatalog().isEmpty());
+            assertEquals(2 * (cycles - 1), queue.lastCycle() - queue.firstCycle());
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                int read = 0;
+                while (tailer.readBytes(Bytes.allocateElasticOnHeap()))
+                    read++;
+                assertEquals(cycles, read);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.core.values.LongArrayValues;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class CycleExcerptCountsTest extends ChronicleQueueTestBase {
+    private static final int CYCLES = 20;
+
+    private static SingleChronicleQueue createQueue(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build();
+    }
+
+    @Test
+    public void countsRecordedWhenRolled() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final long[] indexes = new long[CYCLES * (CYCLES + 1) / 2];
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            int n = 0;
+            // i + 1 excerpts in the i-th cycle
+            for (int i = 0; i < CYCLES; i++) {
+                for (int j = 0; j <= i; j++) {
+                    appender.writeBytes(Bytes.from("msg-" + n));
+                    indexes[n++] = appender.lastIndexAppended();
+                }
+                timeProvider.advanceMillis(1000);
+            }
+
+            final int firstCycle = queue.firstCycle();
+            final CycleExcerptCounts counts = queue.cycleExcerptCounts();
+            // all but the last cycle have been rolled
+            assertEquals(CYCLES - 2, counts.cyclesBetween(firstCycle, queue.lastCycle()));
+            for (int i = 0; i < CYCLES - 1; i++)
+                assertEquals(i + 1, counts.count(firstCycle + i));
+            assertEquals(-1, counts.count(queue.lastCycle()));
+
+            assertEquals(indexes.length, queue.entryCount());
+            assertCounts(queue, indexes);
+        }
+
+        // the counts are persisted in the metadata
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            assertEquals(1, queue.cycleExcerptCounts().count(queue.firstCycle()));
+            assertEquals(CYCLES - 1, queue.cycleExcerptCounts().count(queue.lastCycle() - 1));
+            assertEquals(indexes.length, queue.entryCount());
+            assertCounts(queue, indexes);
+        }
+    }
+
+    @Test
+    public void countsMissingFromMetadataAreFilledIn() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final long[] indexes = new long[CYCLES * 3];
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < indexes.length; i++) {
+                appender.writeBytes(Bytes.from("msg-" + i));
+                indexes[i] = appender.lastIndexAppended();
+                if (i % 3 == 2)
+                    timeProvider.advanceMillis(1000);
+            }
+            // as if written by a version which didn't record the counts
+            final LongArrayValues slots = queue.metaStore.acquireArrayFor(CycleExcerptCounts.KEY, 2 * CycleExcerptCounts.SLOTS);
+            for (int i = 0; i < 2 * CycleExcerptCounts.SLOTS; i++)
+                slots.setOrderedValueAt(i, 0);
+            Closeable.closeQuietly(slots);
+        }
+
+        try (SingleChronicleQueue queue = createQueue(dir, timeProvider)) {
+            final CycleExcerptCounts counts = queue.cycleExcerptCounts();
+            assertEquals(0, counts.cyclesBetween(queue.firstCycle(), queue.lastCycle()));
+
+            assertEquals(indexes.length, queue.entryCount());
+            assertEquals(CYCLES - 2, counts.cyclesBetween(queue.firstCycle(), queue.lastCycle()));
+            assertEquals(3, counts.count(queue.firstCycle() + 1));
+            assertCounts(queue, indexes);
+        }
+    }
+
+    @Test
+    public void countsKeptInOneRecord() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = createQueue(getTmpDir(), timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < CycleExcerptCounts.SLOTS + CYCLES; i++) {
+                appender.writeBytes(Bytes.from("msg-" + i));
+                timeProvider.advanceMillis(1000);
+            }
+            appender.writeBytes(Bytes.from("last"));
+
+            queue.metaStore.forEachKey(null, (r, key, value) ->
+                    assertFalse(key.toString(), key.toString().startsWith("chronicle.excerptCount.")));
+
+            // older than the slots, so counted again when reopened
+            final int firstCycle = queue.firstCycle();
+            try (SingleChronicleQueue reopened = createQueue(queue.file(), timeProvider)) {
+                final CycleExcerptCounts counts = reopened.cycleExcerptCounts();
+                assertEquals(-1, counts.count(firstCycle));
+                assertEquals(1, counts.count(reopened.lastCycle() - 1));
+                assertEquals(1, counts.rolledCount(firstCycle));
+                assertEquals(1, counts.count(firstCycle));
+                assertEquals(CycleExcerptCounts.SLOTS + CYCLES - 1, counts.sumBetween(firstCycle, reopened.lastCycle()));
+            }
+        }
+    }
+
+    private static void assertCounts(SingleChronicleQueue queue, long[] indexes) {
+        for (int from = 0; from < indexes.length; from += 7)
+            for (int to = from; to < indexes.length; to += 5)
+                assertEquals(from + "-" + to, to - from, queue.countExcerpts(indexes[from], indexes[to]));
+    }
+}
@@ -0,0 +1,118 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.function.IntSupplier;
+
+import static org.junit.Assert.*;
+
+public class CycleWatcherTest extends ChronicleQueueTestBase {
+
+    private static SingleChronicleQueueBuilder builder(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .watchDirectory(true);
+    }
+
+    // the events are delivered asynchronously
+    private static void assertEventually(int expected, IntSupplier actual) {
+        final long end = System.currentTimeMillis() + 10_000;
+        while (actual.getAsInt() != expected && System.currentTimeMillis() < end)
+            Jvm.pause(10);
+        assertEquals(expected, actual.getAsInt());
+    }
+
+    @Test
+    public void tailerCrossesCycles() throws ParseException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = builder(getTmpDir(), timeProvider).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            final ExcerptTailer tailer = queue.createTailer();
+            final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+            for (int i = 0; i < 10; i++) {
+                appender.writeBytes(Bytes.from("msg-" + i));
+                timeProvider.advanceMillis(1000);
+            }
+            for (int i = 0; i < 10; i++) {
+                bytes.clear();
+                assertTrue(tailer.readBytes(bytes));
+                assertEquals("msg-" + i, bytes.toString());
+            }
+            assertFalse(tailer.readBytes(bytes));
+            assertEquals(10, queue.listCyclesBetween(queue.firstCycle(), queue.lastCycle()).size());
+        }
+    }
+
+    @Test
+    public void readOnlyQueueSeesCyclesCreatedAndDeleted() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = builder(dir, timeProvider).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeBytes(Bytes.from("first"));
+            final int firstCycle = queue.lastCycle();
+
+            try (SingleChronicleQueue reader = builder(dir, timeProvider).readOnly(true).build()) {
+                assertEquals(firstCycle, reader.firstCycle());
+                assertEquals(firstCycle, reader.lastCycle());
+
+                timeProvider.advanceMillis(2000);
+                appender.writeBytes(Bytes.from("second"));
+                assertEventually(firstCycle + 2, reader::lastCycle);
+
+                assertTrue(queue.fileForCycle(firstCycle).delete());
+                assertEventually(firstCycle + 2, reader::firstCycle);
+
+                try (ExcerptTailer tailer = reader.createTailer()) {
+                    final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+                    assertTrue(tailer.readBytes(bytes));
+                    assertEquals("second", bytes.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void watchesAColdTierCreatedLater() throws IOException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final File cold = new File(dir, "cold");
+        try (SingleChronicleQueue queue = builder(dir, timeProvider).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeBytes(Bytes.from("first"));
+            final int firstCycle = queue.lastCycle();
+            timeProvider.advanceMillis(1000);
+            appender.writeBytes(Bytes.from("second"));
+
+            try (SingleChronicleQueue reader = builder(dir, timeProvider).coldTiers(cold).readOnly(true).build()) {
+                assertEquals(firstCycle, reader.firstCycle());
+
+                // moved to a tier which didn't exist when the reader was opened
+                final File cycleFile = queue.fileForCycle(firstCycle);
+                assertTrue(cold.mkdirs());
+                Files.move(cycleFile.toPath(), new File(cold, cycleFile.getName()).toPath());
+                final long end = System.currentTimeMillis() + 1500;
+                while (System.currentTimeMillis() < end) {
+                    assertEquals(firstCycle, reader.firstCycle());
+                    Jvm.pause(10);
+                }
+
+                assertTrue(new File(cold, cycleFile.getName()).delete());
+                assertEventually(firstCycle + 1, reader::firstCycle);
+            }
+        }
+    }
+}
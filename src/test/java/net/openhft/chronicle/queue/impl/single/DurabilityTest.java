@@ -0,0 +1,66 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class DurabilityTest extends ChronicleQueueTestBase {
+
+    private SingleChronicleQueueBuilder builder(DurabilityPolicy durability) {
+        return SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_DAILY)
+                .durability(durability);
+    }
+
+    @Test
+    public void syncOnDemand() {
+        try (SingleChronicleQueue queue = builder(DurabilityPolicy.ON_DEMAND).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeText("hello");
+            final long index = appender.lastIndexAppended();
+            assertFalse(appender.awaitDurable(index, 10, TimeUnit.MILLISECONDS));
+
+            appender.sync();
+            assertTrue(queue.syncer().durableIndex() >= index);
+            assertTrue(appender.awaitDurable(index, 0, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void syncPeriodically() {
+        try (SingleChronicleQueue queue = builder(DurabilityPolicy.PERIODIC).syncIntervalMicros(500).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 10; i++)
+                appender.writeText("msg-" + i);
+            assertTrue(appender.awaitDurable(appender.lastIndexAppended(), 5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void syncEveryNMessages() {
+        try (SingleChronicleQueue queue = builder(DurabilityPolicy.EVERY_N).syncEveryMessages(4).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 3; i++)
+                appender.writeText("msg-" + i);
+            assertFalse(appender.awaitDurable(appender.lastIndexAppended(), 50, TimeUnit.MILLISECONDS));
+
+            appender.writeText("msg-3");
+            assertTrue(appender.awaitDurable(appender.lastIndexAppended(), 5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noPolicyToSyncWith() {
+        try (SingleChronicleQueue queue = builder(DurabilityPolicy.NONE).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeText("hello");
+            appender.sync();
+        }
+    }
+}
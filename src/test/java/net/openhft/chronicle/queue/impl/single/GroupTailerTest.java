@@ -0,0 +1,126 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.core.values.LongArrayValues;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class GroupTailerTest extends ChronicleQueueTestBase {
+
+    private static SingleChronicleQueue queue(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build();
+    }
+
+    private static String read(GroupTailer tailer) {
+        try (DocumentContext dc = tailer.readingDocument()) {
+            return dc.isPresent() ? dc.wire().getValueIn().text() : null;
+        }
+    }
+
+    @Test
+    public void membersShareTheQueue() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = queue(getTmpDir(), timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            // three cycles of uneven length
+            for (int cycle = 0, n = 0; cycle < 3; cycle++) {
+                for (int i = 0; i < 7 + cycle * 3; i++)
+                    appender.writeText("msg-" + n++);
+                timeProvider.advanceMillis(1000);
+            }
+
+            final GroupTailer a = queue.createGroupTailer("g", "a", 4);
+            final GroupTailer b = queue.createGroupTailer("g", "b", 4);
+            final List<String> readByA = new ArrayList<>();
+            final List<String> readByB = new ArrayList<>();
+            for (boolean more = true; more; ) {
+                final String fromA = read(a);
+                final String fromB = read(b);
+                if (fromA != null)
+                    readByA.add(fromA);
+                if (fromB != null)
+                    readByB.add(fromB);
+                more = fromA != null || fromB != null;
+            }
+            assertFalse(readByA.isEmpty());
+            assertFalse(readByB.isEmpty());
+
+            final Set<String> all = new TreeSet<>(readByA);
+            for (String text : readByB)
+                assertTrue(text, all.add(text));
+            assertEquals(7 + 10 + 13, all.size());
+            a.close();
+            b.close();
+        }
+    }
+
+    @Test
+    public void replacementResumesTheRange() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = queue(dir, timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 10; i++)
+                appender.writeText("msg-" + i);
+
+            try (GroupTailer member = queue.createGroupTailer("g", "m", 5)) {
+                assertEquals("msg-0", read(member));
+                assertEquals("msg-1", read(member));
+            }
+        }
+        try (SingleChronicleQueue queue = queue(dir, timeProvider);
+             GroupTailer replacement = queue.createGroupTailer("g", "m", 5);
+             GroupTailer other = queue.createGroupTailer("g", "o", 5)) {
+            // the rest of the first range goes to the replacement, the next range to whoever claims it
+            assertEquals("msg-5", read(other));
+            assertEquals("msg-2", read(replacement));
+            assertEquals("msg-3", read(replacement));
+            assertEquals("msg-4", read(replacement));
+            assertNull(read(replacement));
+            assertEquals("msg-6", read(other));
+        }
+    }
+
+    @Test
+    public void movesPastCyclesWithoutACount() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = queue(dir, timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int cycle = 0, n = 0; cycle < 3; cycle++) {
+                for (int i = 0; i < 3; i++)
+                    appender.writeText("msg-" + n++);
+                timeProvider.advanceMillis(1000);
+            }
+            // as if written before the counts were recorded
+            final LongArrayValues slots = queue.metaStore.acquireArrayFor(CycleExcerptCounts.KEY, 2 * CycleExcerptCounts.SLOTS);
+            for (int i = 0; i < 2 * CycleExcerptCounts.SLOTS; i++)
+                slots.setOrderedValueAt(i, 0);
+            Closeable.closeQuietly(slots);
+        }
+
+        try (SingleChronicleQueue queue = queue(dir, timeProvider);
+             GroupTailer member = queue.createGroupTailer("g", "m", 2)) {
+            assertEquals(-1, queue.cycleExcerptCounts().count(queue.firstCycle()));
+            for (int n = 0; n < 9; n++)
+                assertEquals("msg-" + n, read(member));
+            assertNull(read(member));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class HousekeeperTest extends ChronicleQueueTestBase {
+
+    @Test
+    public void runsHandlersOnItsOwnThreadUntilTheyAreInvalid() throws InterruptedException {
+        final AtomicReference<String> threadName = new AtomicReference<>();
+        final AtomicInteger actions = new AtomicInteger();
+        try (Housekeeper housekeeper = new Housekeeper("test")) {
+            housekeeper.addHandler(() -> {
+                threadName.set(Thread.currentThread().getName());
+                if (actions.incrementAndGet() == 3)
+                    throw new InvalidEventHandlerException("done");
+                return true;
+            });
+            for (int i = 0; i < 500 && actions.get() < 3; i++)
+                Thread.sleep(10);
+            Thread.sleep(50);
+        }
+        assertEquals(3, actions.get());
+        assertTrue(threadName.get(), threadName.get().startsWith("queue-housekeeper~test"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refusesHandlersOnceClosed() {
+        final Housekeeper housekeeper = new Housekeeper("test");
+        housekeeper.close();
+        housekeeper.addHandler(() -> false);
+    }
+}
@@ -0,0 +1,161 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MirrorTest extends ChronicleQueueTestBase {
+
+    private static SingleChronicleQueueBuilder builder(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider);
+    }
+
+    private static SingleChronicleQueue mirrorOf(File dir, SetTimeProvider timeProvider) {
+        return builder(dir, timeProvider).readOnly(true).build();
+    }
+
+    // the mirror has the same excerpts at the same indices
+    private static void assertMirrored(SingleChronicleQueue queue, SingleChronicleQueue mirror) {
+        final ExcerptTailer expected = queue.createTailer();
+        final ExcerptTailer actual = mirror.createTailer();
+        int count = 0;
+        while (true) {
+            try (DocumentContext edc = expected.readingDocument();
+                 DocumentContext adc = actual.readingDocument()) {
+                assertEquals(edc.isPresent(), adc.isPresent());
+                if (!edc.isPresent())
+                    break;
+                assertEquals(Long.toHexString(edc.index()), Long.toHexString(adc.index()));
+                assertEquals(edc.wire().bytes().toString(), adc.wire().bytes().toString());
+                count++;
+            }
+        }
+        assertTrue(count > 0);
+    }
+
+    @Test
+    public void mirrorsBeforeTheAppenderReturns() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File mirrorDir = new File(getTmpDir(), "mirror");
+        try (SingleChronicleQueue queue = builder(getTmpDir(), timeProvider).mirrorPath(mirrorDir).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeText("first");
+            try (DocumentContext dc = appender.writingDocument()) {
+                dc.wire().write("second").int32(2);
+            }
+            assertEquals(appender.lastIndexAppended(), queue.mirroredIndex());
+            timeProvider.advanceMillis(1000);
+            appender.writeText("third");
+            assertEquals(appender.lastIndexAppended(), queue.mirroredIndex());
+
+            try (SingleChronicleQueue mirror = mirrorOf(mirrorDir, timeProvider)) {
+                assertMirrored(queue, mirror);
+            }
+        }
+    }
+
+    @Test
+    public void mirrorsWithinTheMaxLag() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File mirrorDir = new File(getTmpDir(), "mirror");
+        try (SingleChronicleQueue queue = builder(getTmpDir(), timeProvider)
+                .mirrorPath(mirrorDir)
+                .mirrorMaxLag(10)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 100; i++) {
+                appender.writeText("msg-" + i);
+                final long lastIndex = appender.lastIndexAppended();
+                assertTrue(Backpressure.excerptsBetween(queue, queue.mirroredIndex(), lastIndex) <= 10);
+            }
+            final long lastIndex = appender.lastIndexAppended();
+            assertTrue(queue.awaitMirrored(lastIndex, 5, TimeUnit.SECONDS));
+            assertEquals(lastIndex, queue.mirroredIndex());
+            assertFalse(queue.isMirrorFailing());
+
+            try (SingleChronicleQueue mirror = mirrorOf(mirrorDir, timeProvider)) {
+                assertMirrored(queue, mirror);
+            }
+        }
+    }
+
+    @Test
+    public void copiesRolledCyclesWhenReopened() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final File mirrorDir = new File(dir, "mirror");
+        final int firstCycle;
+        try (SingleChronicleQueue queue = builder(dir, timeProvider).build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 3; i++) {
+                appender.writeText("msg-" + i);
+                timeProvider.advanceMillis(1000);
+            }
+            appender.writeText("last");
+            firstCycle = queue.firstCycle();
+        }
+
+        try (SingleChronicleQueue queue = builder(dir, timeProvider).mirrorPath(mirrorDir).build()) {
+            for (int cycle = firstCycle; cycle < firstCycle + 3; cycle++)
+                assertTrue(new File(mirrorDir, queue.fileForCycle(cycle).getName()).exists());
+            assertEquals(queue.lastIndex(), queue.mirroredIndex());
+
+            queue.acquireAppender().writeText("after");
+            try (SingleChronicleQueue mirror = mirrorOf(mirrorDir, timeProvider)) {
+                assertMirrored(queue, mirror);
+            }
+        }
+    }
+
+    @Test
+    public void aFailingMirrorDoesNotFailOrRepeatAppends() throws ReflectiveOperationException {
+        expectException("Unable to mirror");
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File mirrorDir = new File(getTmpDir(), "mirror");
+        try (SingleChronicleQueue queue = builder(getTmpDir(), timeProvider)
+                .mirrorPath(mirrorDir)
+                .stagingBufferCapacity(64 << 10)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeText("mirrored");
+            final long mirroredIndex = queue.mirroredIndex();
+
+            // the mirror's disk fails
+            final Field field = Mirror.class.getDeclaredField("appender");
+            Jvm.setAccessible(field);
+            ((StoreAppender) field.get(queue.mirror())).close();
+
+            appender.writeText("direct");
+            final StagingAppender staging = queue.stagingAppender();
+            for (int i = 0; i < 10; i++)
+                staging.writeBytes(Bytes.from("staged-" + i));
+            staging.flush();
+            assertEquals(mirroredIndex, queue.mirroredIndex());
+            assertTrue(queue.isMirrorFailing());
+            assertFalse(queue.awaitMirrored(appender.lastIndexAppended(), 10, TimeUnit.MILLISECONDS));
+
+            // the staged batch was written once
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                int read = 0;
+                while (tailer.readBytes(Bytes.allocateElasticOnHeap()))
+                    read++;
+                assertEquals(12, read);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.values.LongValue;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class NamedTailerCheckpointTest extends ChronicleQueueTestBase {
+
+    private static SingleChronicleQueueBuilder builder(File dir) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_DAILY);
+    }
+
+    private static void append(SingleChronicleQueue queue, int count) {
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (int i = 0; i < count; i++)
+            appender.writeText("msg-" + i);
+    }
+
+    @Test
+    public void writesTheIndexEveryNExcerpts() {
+        try (SingleChronicleQueue queue = builder(getTmpDir()).namedTailerCheckpointEvery(4).build()) {
+            append(queue, 10);
+            final ExcerptTailer tailer = queue.createTailer("named");
+            final LongValue checkpoint = queue.indexForId("named");
+            for (int i = 0; i < 10; i++)
+                assertEquals("msg-" + i, tailer.readText());
+
+            final RollCycles rollCycle = RollCycles.TEST_DAILY;
+            final long written = rollCycle.toSequenceNumber(checkpoint.getVolatileValue());
+            assertTrue("written=" + written, written >= 10 - 4 && written <= 10);
+
+            tailer.commit();
+            assertEquals(tailer.index(), checkpoint.getVolatileValue());
+            checkpoint.close();
+        }
+    }
+
+    @Test
+    public void resumesFromTheLastCheckpoint() {
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = builder(dir).namedTailerCheckpointEvery(0).build()) {
+            append(queue, 10);
+            final ExcerptTailer tailer = queue.createTailer("named");
+            assertEquals("msg-0", tailer.readText());
+            assertEquals("msg-1", tailer.readText());
+            tailer.commit();
+            assertEquals("msg-2", tailer.readText());
+            // as though the process died before the next checkpoint, the tailer isn't closed
+            try (SingleChronicleQueue other = builder(dir).build()) {
+                assertEquals("msg-2", other.createTailer("named").readText());
+            }
+        }
+    }
+
+    @Test
+    public void closeWritesTheIndex() {
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = builder(dir).namedTailerCheckpointEvery(0).build()) {
+            append(queue, 10);
+            final ExcerptTailer tailer = queue.createTailer("named");
+            for (int i = 0; i < 3; i++)
+                assertEquals("msg-" + i, tailer.readText());
+            tailer.close();
+            assertEquals("msg-3", queue.createTailer("named").readText());
+        }
+    }
+
+    @Test
+    public void anIdleTailerWritesTheIndexOnceTheIntervalHasPassed() throws InterruptedException {
+        try (SingleChronicleQueue queue = builder(getTmpDir())
+                .namedTailerCheckpointEvery(0)
+                .namedTailerCheckpointIntervalMicros(10_000)
+                .build()) {
+            append(queue, 3);
+            final ExcerptTailer tailer = queue.createTailer("named");
+            final LongValue checkpoint = queue.indexForId("named");
+            for (int i = 0; i < 3; i++)
+                assertEquals("msg-" + i, tailer.readText());
+
+            // nothing more to read
+            Thread.sleep(20);
+            assertNull(tailer.readText());
+            assertEquals(tailer.index(), checkpoint.getVolatileValue());
+            checkpoint.close();
+        }
+    }
+}
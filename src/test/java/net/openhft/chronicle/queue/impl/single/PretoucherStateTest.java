@@ -19,6 +19,7 @@ package net.openhft.chronicle.queue.impl.single;
 
 import net.openhft.chronicle.bytes.MappedBytes;
 import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.queue.QueueTestCommon;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Assume;
@@ -29,6 +30,7 @@ import java.util.function.LongSupplier;
 
 import static net.openhft.chronicle.core.Jvm.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class PretoucherStateTest extends QueueTestCommon {
     @Test
@@ -172,6 +174,62 @@ public class PretoucherStateTest extends QueueTestCommon {
 
     }
 
+    @Test
+    public void headRoomCoversLookAheadAtTheWriteRate() {
+        final long[] pos = {0};
+        final long[] nanos = {0};
+        final PretoucherState ps = new PretoucherState(() -> pos[0], 16 << 10, 100, false, () -> nanos[0]) {
+            @Override
+            protected boolean touchPage(MappedBytes bytes, long offset) {
+                return true;
+            }
+
+            @Override
+            protected void debug(String message) {
+            }
+        };
+        ps.pretouch(null); // reset
+
+        // 64 KB in 1 ms is 6.4 MB in the next 100 ms
+        pos[0] += 64 << 10;
+        nanos[0] += 1_000_000;
+        ps.pretouch(null);
+        assertEquals(65_536_000, ps.bytesPerSecond() * PretoucherState.FACTOR, PretoucherState.FACTOR);
+        assertTrue(ps.headRoom() >= 100 * (64 << 10));
+        assertEquals((ps.headRoom() + (64 << 10)) / OS.pageSize(), ps.pagesTouched());
+        assertEquals(0, ps.timesBehind());
+
+        // the writer overtakes the pretoucher
+        // 8 MB in 10 ms is 80 MB in the next 100 ms
+        pos[0] += 8 << 20;
+        nanos[0] += 10_000_000;
+        ps.pretouch(null);
+        assertEquals(1, ps.timesBehind());
+        assertTrue(ps.headRoom() >= 10 * (8 << 20));
+    }
+
+    @Test
+    public void headRoomWithoutLookAhead() {
+        final long[] pos = {0};
+        final long[] nanos = {0};
+        final PretoucherState ps = new PretoucherState(() -> pos[0], 16 << 10, 0, false, () -> nanos[0]) {
+            @Override
+            protected boolean touchPage(MappedBytes bytes, long offset) {
+                return true;
+            }
+
+            @Override
+            protected void debug(String message) {
+            }
+        };
+        ps.pretouch(null);
+        pos[0] += 64 << 10;
+        nanos[0] += 1_000_000;
+        ps.pretouch(null);
+        assertEquals(0, ps.bytesPerSecond());
+        assertTrue(ps.headRoom() < 1 << 20);
+    }
+
     class DummyPretoucherState extends PretoucherState {
         private final BooleanSupplier touched;
         StringBuilder record;
@@ -0,0 +1,121 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.core.values.LongArrayValues;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class RetentionManagerTest extends ChronicleQueueTestBase {
+
+    private static SingleChronicleQueueBuilder builder(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider);
+    }
+
+    // one excerpt in each cycle
+    private static void appendCycles(SingleChronicleQueue queue, SetTimeProvider timeProvider, int cycles) {
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (int i = 0; i < cycles; i++) {
+            appender.writeText("msg-" + i);
+            timeProvider.advanceMillis(1000);
+        }
+        appender.writeText("last");
+    }
+
+    @Test
+    public void keepsTheLatestCycles() throws IOException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = builder(getTmpDir(), timeProvider).retentionMaxCycles(3).build()) {
+            appendCycles(queue, timeProvider, 6);
+            final int firstCycle = queue.firstCycle();
+            final File timeIndex = TimeIndex.fileFor(queue, firstCycle);
+            assertTrue(timeIndex.exists() || timeIndex.createNewFile());
+
+            final RetentionManager retention = queue.retentionManager();
+            assertNotNull(retention);
+            retention.removeExpiredCycles();
+            assertEquals(4, retention.cyclesRemoved());
+            assertFalse(queue.fileForCycle(firstCycle).exists());
+            assertFalse(timeIndex.exists());
+            assertEquals(firstCycle + 4, queue.firstCycle());
+            assertEquals(-1, queue.cycleExcerptCounts().count(firstCycle));
+
+            final ExcerptTailer tailer = queue.createTailer();
+            assertEquals("msg-4", tailer.readText());
+            assertEquals("msg-5", tailer.readText());
+            assertEquals("last", tailer.readText());
+        }
+    }
+
+    @Test
+    public void keepsWhatANamedTailerNeeds() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = builder(getTmpDir(), timeProvider).retentionMaxAgeMs(0).build()) {
+            appendCycles(queue, timeProvider, 6);
+            final int firstCycle = queue.firstCycle();
+            final ExcerptTailer tailer = queue.createTailer("slow");
+            for (int i = 0; i < 3; i++)
+                assertEquals("msg-" + i, tailer.readText());
+            final int neededCycle = queue.rollCycle().toCycle(tailer.index());
+            assertTrue(neededCycle > firstCycle);
+
+            final RetentionManager retention = queue.retentionManager();
+            retention.removeExpiredCycles();
+            assertEquals(neededCycle - firstCycle, retention.cyclesRemoved());
+            assertEquals(6 - (neededCycle - firstCycle), retention.cyclesHeldForTailers());
+            assertEquals(neededCycle, queue.firstCycle());
+            assertEquals("msg-3", tailer.readText());
+        }
+    }
+
+    @Test
+    public void archivesRatherThanDeletes() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File archive = new File(getTmpDir(), "archive");
+        try (SingleChronicleQueue queue = builder(getTmpDir(), timeProvider)
+                .retentionMaxCycles(2)
+                .retentionArchivePath(archive)
+                .build()) {
+            appendCycles(queue, timeProvider, 3);
+            final File first = queue.fileForCycle(queue.firstCycle());
+            queue.retentionManager().removeExpiredCycles();
+            assertFalse(first.exists());
+            assertTrue(new File(archive, first.getName()).exists());
+        }
+    }
+
+    @Test
+    public void removesCyclesWithoutACount() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = builder(dir, timeProvider).build()) {
+            appendCycles(queue, timeProvider, 4);
+            // as if written before the counts were recorded
+            final LongArrayValues slots = queue.metaStore.acquireArrayFor(CycleExcerptCounts.KEY, 2 * CycleExcerptCounts.SLOTS);
+            for (int i = 0; i < 2 * CycleExcerptCounts.SLOTS; i++)
+                slots.setOrderedValueAt(i, 0);
+            Closeable.closeQuietly(slots);
+        }
+
+        try (SingleChronicleQueue queue = builder(dir, timeProvider).retentionMaxCycles(2).build()) {
+            final int firstCycle = queue.firstCycle();
+            assertEquals(-1, queue.cycleExcerptCounts().count(firstCycle));
+            final RetentionManager retention = queue.retentionManager();
+            retention.removeExpiredCycles();
+            assertEquals(3, retention.cyclesRemoved());
+            assertFalse(queue.fileForCycle(firstCycle).exists());
+            assertEquals("msg-3", queue.createTailer().readText());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class RollAheadTest extends ChronicleQueueTestBase {
+
+    private static SingleChronicleQueue queue(File dir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .rollAheadMs(500)
+                .build();
+    }
+
+    private static void awaitExists(File file) throws InterruptedException {
+        for (int i = 0; i < 500 && !file.exists(); i++)
+            Thread.sleep(10);
+        assertTrue(file.toString(), file.exists());
+    }
+
+    @Test
+    public void rollsToThePreparedFile() throws InterruptedException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = queue(getTmpDir(), timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeText("first");
+            final int cycle = queue.cycle();
+
+            timeProvider.advanceMillis(600);
+            final File next = queue.fileForCycle(cycle + 1);
+            final File precreated = PrecreatedFiles.preCreatedFile(next);
+            awaitExists(precreated);
+            // not visible until it is rolled to
+            assertFalse(next.exists());
+            assertEquals(cycle, queue.lastCycle());
+
+            timeProvider.advanceMillis(400);
+            appender.writeText("second");
+            assertEquals(cycle + 1, queue.lastCycle());
+            assertTrue(next.exists());
+            assertFalse(precreated.exists());
+
+            final ExcerptTailer tailer = queue.createTailer();
+            assertEquals("first", tailer.readText());
+            assertEquals("second", tailer.readText());
+            assertNull(tailer.readText());
+        }
+    }
+
+    @Test
+    public void closeRemovesAnUnusedFile() throws InterruptedException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File precreated;
+        try (SingleChronicleQueue queue = queue(getTmpDir(), timeProvider)) {
+            queue.acquireAppender().writeText("first");
+            timeProvider.advanceMillis(600);
+            precreated = PrecreatedFiles.preCreatedFile(queue.fileForCycle(queue.cycle() + 1));
+            awaitExists(precreated);
+        }
+        assertFalse(precreated.exists());
+    }
+
+    @Test
+    public void removesTheFileOfAnIdleCycleOnceItHasPassed() throws InterruptedException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        try (SingleChronicleQueue queue = queue(getTmpDir(), timeProvider)) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            appender.writeText("first");
+            final int cycle = queue.cycle();
+            final File idle = PrecreatedFiles.preCreatedFile(queue.fileForCycle(cycle + 1));
+            timeProvider.advanceMillis(600);
+            awaitExists(idle);
+
+            // nothing is appended in the next cycle
+            timeProvider.advanceMillis(1000);
+            awaitExists(PrecreatedFiles.preCreatedFile(queue.fileForCycle(cycle + 2)));
+            assertTrue(idle.exists());
+
+            timeProvider.advanceMillis(1000);
+            awaitExists(PrecreatedFiles.preCreatedFile(queue.fileForCycle(cycle + 3)));
+            for (int i = 0; i < 500 && idle.exists(); i++)
+                Thread.sleep(10);
+            assertFalse(idle.exists());
+
+            appender.writeText("second");
+            assertEquals(cycle + 2, queue.lastCycle());
+        }
+    }
+}
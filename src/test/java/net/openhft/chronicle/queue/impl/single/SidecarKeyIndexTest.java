@@ -0,0 +1,127 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.KeyIndex;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class SidecarKeyIndexTest extends ChronicleQueueTestBase {
+
+    private static final KeyIndex.KeyExtractor ORDER_ID = wire -> {
+        final long id = wire.bytes().readLong();
+        return id < 0 ? KeyIndex.KeyExtractor.NO_KEY : id;
+    };
+
+    private static void writeOrder(ExcerptAppender appender, long id) {
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap(8);
+        bytes.writeLong(id);
+        appender.writeBytes(bytes);
+    }
+
+    @Test
+    public void moveToKeyOnUnsortedQueueAcrossCyclesAndRestarts() {
+        final SetTimeProvider timeProvider = new SetTimeProvider();
+        final File dir = getTmpDir();
+        // more than 3/4 of the initial capacity so the table is resized.
+        final int perCycle = (int) (SidecarKeyIndex.KeyTable.INITIAL_CAPACITY * 3 / 4 + 10);
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < perCycle; i++)
+                writeOrder(appender, (i * 7919L) % perCycle);
+            writeOrder(appender, -1);
+            timeProvider.advanceMillis(1000);
+            for (int i = 0; i < 10; i++)
+                writeOrder(appender, 1_000_000 + i);
+
+            try (KeyIndex keyIndex = queue.keyIndex("orderId", ORDER_ID, false);
+                 ExcerptTailer tailer = queue.createTailer()) {
+                assertTrue(tailer.moveToKey(keyIndex, 12345));
+                try (DocumentContext dc = tailer.readingDocument()) {
+                    assertEquals(12345, dc.wire().bytes().readLong());
+                }
+
+                assertTrue(tailer.moveToKey(keyIndex, 1_000_005));
+                assertEquals(5, queue.rollCycle().toSequenceNumber(tailer.index()));
+
+                assertFalse(tailer.moveToKey(keyIndex, 2_000_000));
+                assertEquals(-1, keyIndex.indexOf(-1));
+            }
+            assertTrue(new File(dir, queue.fileForCycle(queue.lastCycle()).getName().replace(".cq4", ".orderId.cq4k")).exists());
+
+            // appended after the index was closed
+            writeOrder(appender, 2_000_000);
+        }
+
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build();
+             KeyIndex keyIndex = queue.keyIndex("orderId", ORDER_ID, false)) {
+            // only the new excerpt is indexed on reopening
+            assertEquals(1, keyIndex.update());
+            final long index = keyIndex.indexOf(2_000_000);
+            assertEquals(10, queue.rollCycle().toSequenceNumber(index));
+            assertNotEquals(-1, keyIndex.indexOf(42));
+        }
+    }
+
+    @Test
+    public void findsKeysInMoreCyclesThanItKeepsOpen() {
+        final SetTimeProvider timeProvider = new SetTimeProvider();
+        final File dir = getTmpDir();
+        final int cycles = 40;
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int c = 0; c < cycles; c++) {
+                // even keys only, so odd ones within a cycle's range are misses
+                for (int i = 0; i < 10; i++)
+                    writeOrder(appender, c * 100 + i * 2);
+                timeProvider.advanceMillis(1000);
+            }
+            try (KeyIndex keyIndex = queue.keyIndex("orderId", ORDER_ID, false)) {
+                keyIndex.update();
+            }
+        }
+
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .build();
+             KeyIndex keyIndex = queue.keyIndex("orderId", ORDER_ID, false)) {
+            final int firstCycle = queue.firstCycle();
+            for (int c = 0; c < cycles; c++) {
+                final long index = keyIndex.indexOf(c * 100 + 6);
+                assertEquals(firstCycle + c, queue.rollCycle().toCycle(index));
+                assertEquals(3, queue.rollCycle().toSequenceNumber(index));
+                assertEquals(-1, keyIndex.indexOf(c * 100 + 7));
+            }
+            assertEquals(-1, keyIndex.indexOf(1_000_000));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidName() {
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir()).testBlockSize().build()) {
+            queue.keyIndex("../orders", ORDER_ID, false);
+        }
+    }
+}
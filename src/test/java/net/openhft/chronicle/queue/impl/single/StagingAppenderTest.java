@@ -0,0 +1,84 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StagingAppenderTest extends ChronicleQueueTestBase {
+    private static final int PRODUCERS = 4;
+    private static final int MESSAGES = 20_000;
+
+    @Test
+    public void concurrentProducersAreWrittenInOrderPerProducer() throws InterruptedException {
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .stagingBufferCapacity(64 << 10)
+                .build()) {
+            final StagingAppender appender = queue.stagingAppender();
+
+            final List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                final int producer = p;
+                threads.add(new Thread(() -> {
+                    final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+                    for (int i = 0; i < MESSAGES; i++) {
+                        bytes.clear().append(producer).append(':').append(i);
+                        appender.writeBytes(bytes);
+                    }
+                }, "producer-" + p));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads)
+                thread.join();
+            appender.flush();
+
+            final int[] next = new int[PRODUCERS];
+            final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                while (tailer.readBytes(bytes.clear())) {
+                    final String[] parts = bytes.toString().split(":");
+                    final int producer = Integer.parseInt(parts[0]);
+                    assertEquals(next[producer]++, Integer.parseInt(parts[1]));
+                }
+            }
+            for (int n : next)
+                assertEquals(MESSAGES, n);
+        }
+    }
+
+    @Test
+    public void stagedExcerptsAreWrittenOnClose() {
+        final String path = getTmpDir().getAbsolutePath();
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(path)
+                .testBlockSize()
+                .stagingBufferCapacity(64 << 10)
+                .build()) {
+            final StagingAppender appender = queue.stagingAppender();
+            appender.writeBytes(Bytes.from(""));
+            appender.writeBytes(b -> b.append("marshallable"));
+        }
+
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(path).testBlockSize().build();
+             ExcerptTailer tailer = queue.createTailer()) {
+            final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+            assertTrue(tailer.readBytes(bytes.clear()));
+            assertEquals(0, bytes.readRemaining());
+            assertTrue(tailer.readBytes(bytes.clear()));
+            assertEquals("marshallable", bytes.toString());
+            assertFalse(tailer.readBytes(bytes.clear()));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void notEnabled() {
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir()).testBlockSize().build()) {
+            queue.stagingAppender();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StoreAppenderBatchTest extends ChronicleQueueTestBase {
+
+    @Test
+    public void writeBatchesAreReadInOrderAndIndexed() {
+        final SetTimeProvider timeProvider = new SetTimeProvider();
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .indexSpacing(4)
+                .timeProvider(timeProvider)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            final BytesStore[] batch = new BytesStore[40];
+            for (int i = 0; i < batch.length; i++)
+                batch[i] = Bytes.from("msg-" + i);
+
+            appender.writeBytes(batch, 0, 10);
+            appender.writeBytes(batch, 10, 30);
+            final long lastIndex = appender.lastIndexAppended();
+            assertEquals(39, queue.rollCycle().toSequenceNumber(lastIndex));
+
+            // a batch rolls at most once, before its first excerpt
+            timeProvider.advanceMillis(1000);
+            appender.writeBytes(batch, 0, batch.length);
+            assertNotEquals(queue.rollCycle().toCycle(lastIndex), queue.rollCycle().toCycle(appender.lastIndexAppended()));
+
+            final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                for (int n = 0; n < 2; n++) {
+                    for (int i = 0; i < batch.length; i++) {
+                        assertTrue(tailer.readBytes(bytes.clear()));
+                        assertEquals("msg-" + i, bytes.toString());
+                    }
+                }
+                assertFalse(tailer.readBytes(bytes.clear()));
+
+                // moves via the index entries written inside the batch
+                assertTrue(tailer.moveToIndex(lastIndex - 17));
+                assertTrue(tailer.readBytes(bytes.clear()));
+                assertEquals("msg-22", bytes.toString());
+            }
+        }
+    }
+
+    @Test
+    public void aBatchCrossingSecondaryIndexesCanBeMovedToThroughout() {
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .indexCount(8)
+                .indexSpacing(2)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            // each secondary index covers 16 excerpts, so the batch needs several
+            final BytesStore[] batch = new BytesStore[100];
+            for (int i = 0; i < batch.length; i++)
+                batch[i] = Bytes.from("msg-" + i);
+            appender.writeBytes(batch, 0, 3);
+            appender.writeBytes(batch, 3, batch.length - 3);
+            final long firstIndex = queue.firstIndex();
+
+            final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                for (int i = 0; i < batch.length; i++) {
+                    assertTrue(tailer.readBytes(bytes.clear()));
+                    assertEquals("msg-" + i, bytes.toString());
+                }
+                assertFalse(tailer.readBytes(bytes.clear()));
+
+                for (int i = batch.length - 1; i >= 0; i--) {
+                    assertTrue(tailer.moveToIndex(firstIndex + i));
+                    assertTrue(tailer.readBytes(bytes.clear()));
+                    assertEquals("msg-" + i, bytes.toString());
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRangeOutsideTheBatch() {
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir()).testBlockSize().build()) {
+            queue.acquireAppender().writeBytes(new BytesStore[]{Bytes.from("a")}, 0, 2);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+import java.text.ParseException;
+
+import static org.junit.Assert.*;
+
+public class TierMoverTest extends ChronicleQueueTestBase {
+    private static final int CYCLES = 4;
+    private static final int PER_CYCLE = 10;
+
+    private static SingleChronicleQueue createQueue(File dir, File coldDir, SetTimeProvider timeProvider) {
+        return SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .timeProvider(timeProvider)
+                .coldTiers(coldDir)
+                .build();
+    }
+
+    private static void writeCycles(SingleChronicleQueue queue, SetTimeProvider timeProvider) {
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (int i = 0; i < CYCLES * PER_CYCLE; i++) {
+            if (i > 0 && i % PER_CYCLE == 0)
+                timeProvider.advanceMillis(1000);
+            appender.writeBytes(Bytes.from("msg-" + i));
+        }
+    }
+
+    private static void assertReadsAll(SingleChronicleQueue queue) {
+        try (ExcerptTailer tailer = queue.createTailer()) {
+            final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+            for (int i = 0; i < CYCLES * PER_CYCLE; i++) {
+                bytes.clear();
+                assertTrue(tailer.readBytes(bytes));
+                assertEquals("msg-" + i, bytes.toString());
+            }
+            assertFalse(tailer.readBytes(bytes));
+        }
+    }
+
+    @Test
+    public void oldCyclesAreMovedAndStillRead() throws ParseException {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final File coldDir = getTmpDir();
+        try (SingleChronicleQueue queue = createQueue(dir, coldDir, timeProvider)) {
+            writeCycles(queue, timeProvider);
+            final int firstCycle = queue.firstCycle();
+
+            final TierMover mover = new TierMover(queue, 0, Long.MAX_VALUE);
+            // the last cycle hasn't been rolled
+            assertEquals(CYCLES - 1, mover.moveRolledCycles());
+            for (int i = 0; i < CYCLES - 1; i++) {
+                final File cycleFile = queue.fileForCycle(firstCycle + i);
+                assertFalse(cycleFile.exists());
+                assertTrue(new File(coldDir, cycleFile.getName()).exists());
+            }
+            assertTrue(queue.fileForCycle(queue.lastCycle()).exists());
+            mover.close();
+
+            assertEquals(firstCycle, queue.firstCycle());
+            assertEquals(CYCLES, queue.listCyclesBetween(firstCycle, queue.lastCycle()).size());
+            assertEquals(CYCLES * PER_CYCLE, queue.entryCount());
+            assertReadsAll(queue);
+        }
+
+        try (SingleChronicleQueue queue = createQueue(dir, coldDir, timeProvider)) {
+            assertEquals(CYCLES * PER_CYCLE, queue.entryCount());
+            assertReadsAll(queue);
+        }
+    }
+
+    @Test
+    public void oldestCyclesAreMovedWhenTheHotTierIsFull() {
+        final SetTimeProvider timeProvider = new SetTimeProvider("2021/10/18T00:00:00");
+        final File dir = getTmpDir();
+        final File coldDir = getTmpDir();
+        try (SingleChronicleQueue queue = createQueue(dir, coldDir, timeProvider)) {
+            writeCycles(queue, timeProvider);
+            final int firstCycle = queue.firstCycle();
+            final long cycleFileSize = queue.fileForCycle(firstCycle).length();
+
+            final TierMover mover = new TierMover(queue, Long.MAX_VALUE, 2 * cycleFileSize);
+            assertEquals(CYCLES - 2, mover.moveRolledCycles());
+            assertFalse(queue.fileForCycle(firstCycle).exists());
+            assertTrue(queue.fileForCycle(firstCycle + CYCLES - 2).exists());
+            assertEquals(0, mover.moveRolledCycles());
+            mover.close();
+
+            assertReadsAll(queue);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package net.openhft.chronicle.queue.impl.single;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.queue.RollCycles;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimeIndexTest extends ChronicleQueueTestBase {
+    private static final long START_MS = 1_600_000_000_000L;
+
+    private static long timeOf(int message) {
+        return TimeUnit.MILLISECONDS.toNanos(START_MS + message * 10L);
+    }
+
+    private static String readNext(ExcerptTailer tailer) {
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        assertTrue(tailer.readBytes(bytes));
+        return bytes.toString();
+    }
+
+    @Test
+    public void moveToTimeAcrossCycles() {
+        final SetTimeProvider timeProvider = new SetTimeProvider(START_MS * 1_000_000);
+        final File dir = getTmpDir();
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(dir)
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_SECONDLY)
+                .indexSpacing(4)
+                .timeIndex(true)
+                .timeProvider(timeProvider)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            // 100 messages per cycle
+            for (int i = 0; i < 250; i++) {
+                appender.writeBytes(Bytes.from("msg-" + i));
+                timeProvider.advanceMillis(10);
+            }
+            assertTrue(TimeIndex.fileFor(queue, queue.firstCycle()).exists());
+
+            try (ExcerptTailer tailer = queue.createTailer()) {
+                // the last indexed message at or before
+                assertTrue(tailer.moveToTime(timeOf(157)));
+                assertEquals("msg-156", readNext(tailer));
+
+                assertTrue(tailer.moveToTime(timeOf(104)));
+                assertEquals("msg-104", readNext(tailer));
+
+                assertTrue(tailer.moveToTime(timeOf(-1)));
+                assertEquals("msg-0", readNext(tailer));
+
+                assertTrue(tailer.moveToTime(timeOf(1000)));
+                assertEquals("msg-248", readNext(tailer));
+            }
+        }
+    }
+
+    @Test
+    public void noTimeIndex() {
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir()).testBlockSize().build();
+             ExcerptTailer tailer = queue.createTailer()) {
+            queue.acquireAppender().writeBytes(Bytes.from("hello"));
+            assertFalse(tailer.moveToTime(System.currentTimeMillis() * 1_000_000));
+        }
+    }
+
+    @Test
+    public void timestampsStaySortedWhenTheClockGoesBackwards() {
+        final SetTimeProvider timeProvider = new SetTimeProvider(START_MS * 1_000_000);
+        try (SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .timeProvider(timeProvider)
+                .build()) {
+            final TimeIndex timeIndex = TimeIndex.open(queue, queue.cycle(), true);
+            try {
+                timeIndex.append(0, 100);
+                timeIndex.append(0, 200);
+                timeIndex.append(4, 50);
+                timeIndex.append(8, 300);
+                assertEquals(3, timeIndex.count());
+                assertEquals(100, timeIndex.timestampAt(1));
+                assertEquals(-1, timeIndex.floorEntry(99));
+                assertEquals(1, timeIndex.floorEntry(299));
+                assertEquals(2, timeIndex.floorEntry(300));
+            } finally {
+                timeIndex.close();
+            }
+        }
+    }
+}
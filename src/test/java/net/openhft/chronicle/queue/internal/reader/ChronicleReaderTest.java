@@ -182,6 +182,33 @@ public class ChronicleReaderTest extends ChronicleQueueTestBase {
         assertFalse(capturedOutput.isEmpty());
     }
 
+    @Test(timeout = 10_000L)
+    public void shouldStartFromTimeUsingTheTimeIndex() {
+        final Path path = getTmpDir().toPath();
+        final SetTimeProvider timeProvider = new SetTimeProvider(1_600_000_000_000_000_000L);
+        try (final ChronicleQueue queue = SingleChronicleQueueBuilder.binary(path)
+                .testBlockSize()
+                .sourceId(1)
+                .timeIndex(true)
+                .timeProvider(timeProvider)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 200; i++) {
+                appender.writeText("msg-" + i);
+                timeProvider.advanceMillis(1);
+            }
+        }
+
+        new ChronicleReader().withBasePath(path)
+                .withMessageSink(capturedOutput::add)
+                .suppressDisplayIndex()
+                .withStartTime(1_600_000_000_000_000_000L + TimeUnit.MILLISECONDS.toNanos(130))
+                .execute();
+        // the time index is sparse, so reading starts from the last indexed message before the time.
+        final int spacing = RollCycles.DEFAULT.defaultIndexSpacing();
+        assertEquals("\"msg-" + 130 / spacing * spacing + "\"\n", capturedOutput.poll());
+    }
+
     @Test(timeout = 10_000L)
     public void shouldReadQueueWithNonDefaultRollCycleWhenMetadataDeleted() throws IOException {
         if (!OS.isWindows())
@@ -454,6 +481,84 @@ public class ChronicleReaderTest extends ChronicleQueueTestBase {
         assertTrue(matchedMessages.stream().allMatch(s -> s.contains("goodbye")));
     }
 
+    @Test
+    public void shouldFilterOnTheWireBeforeConvertingToText() {
+        basicReader().withFieldFilter("say == \"goodbye\"").execute();
+        List<String> matched = capturedOutput.stream().filter(msg -> !msg.startsWith("0x")).collect(Collectors.toList());
+        assertEquals(TOTAL_EXCERPTS_IN_QUEUE / 2, matched.size());
+        assertTrue(matched.stream().allMatch(s -> s.contains("goodbye")));
+
+        capturedOutput.clear();
+        basicReader().withRawInclusion("hello").withParallelism(2).execute();
+        matched = capturedOutput.stream().filter(msg -> !msg.startsWith("0x")).collect(Collectors.toList());
+        assertEquals(TOTAL_EXCERPTS_IN_QUEUE / 2, matched.size());
+        assertTrue(matched.stream().allMatch(s -> s.contains("hello")));
+    }
+
+    @Test(timeout = 20_000L)
+    public void parallelReadIsTheSameAsSequentialRead() {
+        final Path path = getTmpDir().toPath();
+        try (final ChronicleQueue queue = SingleChronicleQueueBuilder.binary(path)
+                .testBlockSize()
+                .sourceId(1)
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 1000; i++)
+                appender.writeText((i % 3 == 0 ? "fizz-" : "buzz-") + i);
+        }
+
+        new ChronicleReader().withBasePath(path).withMessageSink(capturedOutput::add).withInclusionRegex("fizz").execute();
+        final List<String> sequential = new ArrayList<>(capturedOutput);
+        assertEquals(2 * 334, sequential.size());
+
+        capturedOutput.clear();
+        new ChronicleReader().withBasePath(path).withMessageSink(capturedOutput::add).withInclusionRegex("fizz")
+                .withParallelism(4).execute();
+        assertEquals(sequential, new ArrayList<>(capturedOutput));
+
+        capturedOutput.clear();
+        new ChronicleReader().withBasePath(path).withMessageSink(capturedOutput::add).withInclusionRegex("fizz")
+                .withParallelism(4).withMatchLimit(10).execute();
+        assertEquals(sequential.subList(0, 20), new ArrayList<>(capturedOutput));
+
+        capturedOutput.clear();
+        new ChronicleReader().withBasePath(path).withMessageSink(capturedOutput::add).withInclusionRegex("fizz")
+                .suppressDisplayIndex().withParallelism(4).withUnorderedOutput().execute();
+        final List<String> expected = sequential.stream().filter(m -> !m.startsWith("0x")).sorted().collect(Collectors.toList());
+        assertEquals(expected, capturedOutput.stream().sorted().collect(Collectors.toList()));
+
+        capturedOutput.clear();
+        new ChronicleReader().withBasePath(path).withMessageSink(capturedOutput::add).withInclusionRegex("fizz")
+                .suppressDisplayIndex().withParallelism(4).withUnorderedOutput().withMatchLimit(10).execute();
+        assertEquals(10, capturedOutput.size());
+        assertTrue(expected.containsAll(capturedOutput));
+    }
+
+    @Test(timeout = 20_000L)
+    public void parallelReadStreamsMoreMatchesThanItBuffers() {
+        final Path path = getTmpDir().toPath();
+        final int excerpts = 5000;
+        try (final ChronicleQueue queue = SingleChronicleQueueBuilder.binary(path)
+                .testBlockSize()
+                .build()) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < excerpts; i++)
+                appender.writeText("msg-" + i);
+        }
+
+        new ChronicleReader().withBasePath(path).withMessageSink(capturedOutput::add)
+                .suppressDisplayIndex().withParallelism(2).execute();
+        final List<String> read = new ArrayList<>(capturedOutput);
+        assertEquals(excerpts, read.size());
+        for (int i = 0; i < excerpts; i++)
+            assertTrue(read.get(i), read.get(i).contains("msg-" + i));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelReadCannotFollow() {
+        basicReader().withParallelism(2).tail().execute();
+    }
+
     private void assertTimesAreInZone(File queueDir, ZoneId zoneId, List<Long> timestamps) {
         ChronicleReader reader = new ChronicleReader()
                 .asMethodReader(SayWhen.class.getName())
@@ -0,0 +1,64 @@
+package net.openhft.chronicle.queue.internal.reader;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.QueueTestCommon;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InternalWireFieldPredicateTest extends QueueTestCommon {
+
+    private static Wire newOrder(String symbol, double price) {
+        final Wire wire = WireType.BINARY.apply(Bytes.allocateElasticOnHeap());
+        wire.write("newOrder").marshallable(w -> w
+                .write("symbol").text(symbol)
+                .write("price").float64(price));
+        return wire;
+    }
+
+    @Test
+    public void nestedFields() {
+        final Wire wire = newOrder("VOD.L", 101.5);
+        final long readPosition = wire.bytes().readPosition();
+
+        assertTrue(new InternalWireFieldPredicate("newOrder.symbol == \"VOD.L\"").test(wire));
+        assertFalse(new InternalWireFieldPredicate("newOrder.symbol != \"VOD.L\"").test(wire));
+        assertFalse(new InternalWireFieldPredicate("newOrder.symbol == \"BP.L\"").test(wire));
+        assertTrue(new InternalWireFieldPredicate("newOrder.price > 100").test(wire));
+        assertTrue(new InternalWireFieldPredicate("newOrder.price<=101.5").test(wire));
+        assertFalse(new InternalWireFieldPredicate("newOrder.price < 100").test(wire));
+        // no such path
+        assertFalse(new InternalWireFieldPredicate("cancel.price < 100").test(wire));
+        assertFalse(new InternalWireFieldPredicate("newOrder.qty < 100").test(wire));
+
+        assertEquals(readPosition, wire.bytes().readPosition());
+    }
+
+    @Test
+    public void predicateIsReusable() {
+        final InternalWireFieldPredicate predicate = new InternalWireFieldPredicate("newOrder.symbol == \"VOD.L\"");
+        assertTrue(predicate.test(newOrder("VOD.L", 1)));
+        assertFalse(predicate.test(newOrder("BP.L", 1)));
+        assertTrue(predicate.test(newOrder("VOD.L", 2)));
+    }
+
+    @Test
+    public void rawSubstring() {
+        final Wire wire = newOrder("VOD.L", 101.5);
+        assertTrue(new InternalRawSubstringPredicate("VOD").test(wire));
+        assertTrue(new InternalRawSubstringPredicate("symbol").test(wire));
+        assertFalse(new InternalRawSubstringPredicate("BP.L").test(wire));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void textOnlySupportsEquality() {
+        new InternalWireFieldPredicate("newOrder.symbol > \"VOD.L\"");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidExpression() {
+        new InternalWireFieldPredicate("newOrder.symbol");
+    }
+}
@@ -0,0 +1,104 @@
+package net.openhft.chronicle.queue.util;
+
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import net.openhft.chronicle.wire.DocumentContext;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MergedTailerTest extends ChronicleQueueTestBase {
+
+    private SingleChronicleQueue queue(long... timestamps) {
+        final SingleChronicleQueue queue = SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_DAILY)
+                .build();
+        final ExcerptAppender appender = queue.acquireAppender();
+        for (long timestamp : timestamps)
+            append(appender, timestamp);
+        return queue;
+    }
+
+    private static void append(ExcerptAppender appender, long timestamp) {
+        try (DocumentContext dc = appender.writingDocument()) {
+            dc.wire().write("ts").int64(timestamp);
+            dc.wire().write("text").text("t" + timestamp);
+        }
+    }
+
+    private static List<String> readAll(MergedTailer tailer, List<Integer> sources) {
+        final List<String> texts = new ArrayList<>();
+        for (; ; ) {
+            try (DocumentContext dc = tailer.readingDocument()) {
+                if (!dc.isPresent())
+                    return texts;
+                // the timestamp was read to order the excerpt, but is still there to be read
+                final long timestamp = dc.wire().read("ts").int64();
+                final String text = dc.wire().read("text").text();
+                assertEquals("t" + timestamp, text);
+                texts.add(text);
+                sources.add(tailer.sourceNumber());
+            }
+        }
+    }
+
+    @Test
+    public void mergesByTimestamp() {
+        try (SingleChronicleQueue q0 = queue(1, 4, 7, 10);
+             SingleChronicleQueue q1 = queue(2, 3, 8);
+             SingleChronicleQueue q2 = queue(5, 6, 9, 11, 12);
+             MergedTailer tailer = new MergedTailer(MergedTailer.TimestampExtractor.field("ts"), q0, q1, q2)) {
+            final List<Integer> sources = new ArrayList<>();
+            assertEquals("[t1, t2, t3, t4, t5, t6, t7, t8, t9, t10, t11, t12]", readAll(tailer, sources).toString());
+            assertEquals("[0, 1, 1, 0, 2, 2, 0, 1, 2, 0, 2, 2]", sources.toString());
+
+            // picks up what is appended later
+            append(q1.acquireAppender(), 13);
+            assertEquals("[t13]", readAll(tailer, sources).toString());
+            assertSame(q1, tailer.source());
+            assertEquals(3, q1.rollCycle().toSequenceNumber(tailer.index()));
+        }
+    }
+
+    @Test
+    public void equalTimestampsInQueueOrder() {
+        try (SingleChronicleQueue q0 = queue(1, 2);
+             SingleChronicleQueue q1 = queue(1, 2);
+             MergedTailer tailer = new MergedTailer(MergedTailer.TimestampExtractor.field("ts"), q0, q1)) {
+            final List<Integer> sources = new ArrayList<>();
+            assertEquals(4, readAll(tailer, sources).size());
+            assertEquals("[0, 1, 0, 1]", sources.toString());
+        }
+    }
+
+    @Test
+    public void rolledBackExcerptIsReadAgain() {
+        try (SingleChronicleQueue q0 = queue(1, 3);
+             SingleChronicleQueue q1 = queue(2);
+             MergedTailer tailer = new MergedTailer(MergedTailer.TimestampExtractor.field("ts"), q0, q1)) {
+            try (DocumentContext dc = tailer.readingDocument()) {
+                assertTrue(dc.isPresent());
+                dc.rollbackOnClose();
+            }
+            assertEquals("[t1, t2, t3]", readAll(tailer, new ArrayList<>()).toString());
+        }
+    }
+
+    @Test
+    public void moveToTimeAndToStart() {
+        try (SingleChronicleQueue q0 = queue(1, 4, 7);
+             SingleChronicleQueue q1 = queue(2, 5, 8);
+             MergedTailer tailer = new MergedTailer(MergedTailer.TimestampExtractor.field("ts"), q0, q1)) {
+            assertEquals("[t4, t5, t7, t8]", readAll(tailer.moveToTime(4), new ArrayList<>()).toString());
+            assertEquals("[]", readAll(tailer.moveToTime(9), new ArrayList<>()).toString());
+            assertEquals(6, readAll(tailer.toStart(), new ArrayList<>()).size());
+        }
+    }
+}
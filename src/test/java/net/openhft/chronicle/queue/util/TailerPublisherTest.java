@@ -0,0 +1,119 @@
+package net.openhft.chronicle.queue.util;
+
+import net.openhft.chronicle.queue.ChronicleQueueTestBase;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.RollCycles;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TailerPublisherTest extends ChronicleQueueTestBase {
+
+    private SingleChronicleQueue queue() {
+        return SingleChronicleQueueBuilder.binary(getTmpDir())
+                .testBlockSize()
+                .rollCycle(RollCycles.TEST_DAILY)
+                .appendNotifications(true)
+                .build();
+    }
+
+    @Test
+    public void sendsOnlyWhatWasRequested() throws InterruptedException {
+        try (SingleChronicleQueue queue = queue();
+             TailerPublisher<String> publisher = new TailerPublisher<>(queue, dc -> dc.wire().getValueIn().text())) {
+            final ExcerptAppender appender = queue.acquireAppender();
+            for (int i = 0; i < 10; i++)
+                appender.writeText("msg-" + i);
+
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+            assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+            subscriber.subscription.request(3);
+            for (int i = 0; i < 3; i++)
+                assertEquals("msg-" + i, subscriber.items.poll(5, TimeUnit.SECONDS));
+            assertNull(subscriber.items.poll(100, TimeUnit.MILLISECONDS));
+
+            subscriber.subscription.request(Long.MAX_VALUE);
+            for (int i = 3; i < 10; i++)
+                assertEquals("msg-" + i, subscriber.items.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void waitsForAppends() throws InterruptedException {
+        try (SingleChronicleQueue queue = queue();
+             TailerPublisher<String> publisher = new TailerPublisher<>(queue, dc -> dc.wire().getValueIn().text())) {
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+            assertTrue(subscriber.subscribed.await(5, TimeUnit.SECONDS));
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertNull(subscriber.items.poll(100, TimeUnit.MILLISECONDS));
+
+            queue.acquireAppender().writeText("hello");
+            assertEquals("hello", subscriber.items.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void completesOnCloseAndErrorsOnBadRequest() throws InterruptedException {
+        try (SingleChronicleQueue queue = queue()) {
+            final TailerPublisher<String> publisher = new TailerPublisher<>(queue, dc -> dc.wire().getValueIn().text());
+            final RecordingSubscriber completed = new RecordingSubscriber();
+            final RecordingSubscriber failed = new RecordingSubscriber();
+            publisher.subscribe(completed);
+            publisher.subscribe(failed);
+            assertTrue(completed.subscribed.await(5, TimeUnit.SECONDS));
+            assertTrue(failed.subscribed.await(5, TimeUnit.SECONDS));
+
+            failed.subscription.request(0);
+            assertTrue(failed.done.await(5, TimeUnit.SECONDS));
+            assertTrue(failed.signals.get(0) instanceof IllegalArgumentException);
+
+            completed.subscription.request(1);
+            publisher.close();
+            assertTrue(completed.done.await(5, TimeUnit.SECONDS));
+            assertEquals("complete", completed.signals.get(0));
+        }
+    }
+
+    static final class RecordingSubscriber implements TailerPublisher.Subscriber<String> {
+        final CountDownLatch subscribed = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final BlockingQueue<String> items = new LinkedBlockingQueue<>();
+        final List<Object> signals = new CopyOnWriteArrayList<>();
+        volatile TailerPublisher.Subscription subscription;
+
+        @Override
+        public void onSubscribe(@NotNull TailerPublisher.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(@NotNull Throwable throwable) {
+            signals.add(throwable);
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add("complete");
+            done.countDown();
+        }
+    }
+}